@@ -16,12 +16,16 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointProperties.Snapshot;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.HealthIndicatorSnapshotScheduler;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,9 +43,26 @@ class HealthEndpointConfiguration {
 	@ConditionalOnMissingBean
 	@ConditionalOnEnabledEndpoint
 	public HealthEndpoint healthEndpoint(HealthAggregator healthAggregator,
-			HealthIndicatorRegistry registry) {
+			HealthIndicatorRegistry registry,
+			ObjectProvider<HealthIndicatorSnapshotScheduler> snapshotScheduler) {
+		HealthIndicatorSnapshotScheduler scheduler = snapshotScheduler.getIfAvailable();
+		if (scheduler != null) {
+			registry = scheduler.snapshot(registry);
+		}
 		return new HealthEndpoint(
 				new CompositeHealthIndicator(healthAggregator, registry));
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty("management.endpoint.health.snapshot.refresh-interval")
+	public HealthIndicatorSnapshotScheduler healthIndicatorSnapshotScheduler(
+			HealthEndpointProperties properties) {
+		Snapshot snapshot = properties.getSnapshot();
+		return new HealthIndicatorSnapshotScheduler(snapshot.getPoolSize(),
+				(name) -> snapshot.getRefreshIntervals().getOrDefault(name,
+						snapshot.getRefreshInterval()),
+				snapshot.getTimeout());
+	}
+
 }
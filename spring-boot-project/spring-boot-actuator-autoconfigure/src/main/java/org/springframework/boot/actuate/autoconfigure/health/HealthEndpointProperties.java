@@ -16,7 +16,10 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.actuate.health.HealthEndpoint;
@@ -42,6 +45,8 @@ public class HealthEndpointProperties {
 	 */
 	private Set<String> roles = new HashSet<>();
 
+	private final Snapshot snapshot = new Snapshot();
+
 	public ShowDetails getShowDetails() {
 		return this.showDetails;
 	}
@@ -58,4 +63,70 @@ public class HealthEndpointProperties {
 		this.roles = roles;
 	}
 
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Background snapshot properties.
+	 */
+	public static class Snapshot {
+
+		/**
+		 * Interval at which health indicators are refreshed in the background. When
+		 * set, the endpoint serves the most recent snapshot instead of invoking health
+		 * indicators on each request.
+		 */
+		private Duration refreshInterval;
+
+		/**
+		 * Refresh intervals of specific health indicators, keyed by indicator name.
+		 */
+		private Map<String, Duration> refreshIntervals = new LinkedHashMap<>();
+
+		/**
+		 * Maximum time that a single refresh of a health indicator may take before it
+		 * is cancelled and the indicator is reported as down.
+		 */
+		private Duration timeout = Duration.ofSeconds(10);
+
+		/**
+		 * Number of threads used to schedule health indicator refreshes.
+		 */
+		private int poolSize = 1;
+
+		public Duration getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(Duration refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+		public Map<String, Duration> getRefreshIntervals() {
+			return this.refreshIntervals;
+		}
+
+		public void setRefreshIntervals(Map<String, Duration> refreshIntervals) {
+			this.refreshIntervals = refreshIntervals;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public int getPoolSize() {
+			return this.poolSize;
+		}
+
+		public void setPoolSize(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+	}
+
 }
@@ -16,12 +16,19 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProperties.Sampling;
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -29,6 +36,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplicat
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for HTTP tracing.
@@ -48,6 +56,15 @@ public class HttpTraceAutoConfiguration {
 		return new InMemoryHttpTraceRepository();
 	}
 
+	@Bean
+	@Primary
+	@ConditionalOnProperty(prefix = "management.trace.http.async", name = "queue-capacity")
+	public AsyncHttpTraceRepository asyncTraceRepository(HttpTraceRepository repository,
+			HttpTraceProperties traceProperties) {
+		return new AsyncHttpTraceRepository(repository,
+				traceProperties.getAsync().getQueueCapacity());
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public HttpExchangeTracer httpExchangeTracer(HttpTraceProperties traceProperties) {
@@ -60,8 +77,10 @@ public class HttpTraceAutoConfiguration {
 		@Bean
 		@ConditionalOnMissingBean
 		public HttpTraceFilter httpTraceFilter(HttpTraceRepository repository,
-				HttpExchangeTracer tracer) {
-			return new HttpTraceFilter(repository, tracer);
+				HttpExchangeTracer tracer, HttpTraceProperties traceProperties) {
+			HttpTraceFilter filter = new HttpTraceFilter(repository, tracer);
+			filter.setSampler(getSampler(traceProperties));
+			return filter;
 		}
 
 	}
@@ -73,10 +92,39 @@ public class HttpTraceAutoConfiguration {
 		@ConditionalOnMissingBean
 		public HttpTraceWebFilter httpTraceWebFilter(HttpTraceRepository repository,
 				HttpExchangeTracer tracer, HttpTraceProperties traceProperties) {
-			return new HttpTraceWebFilter(repository, tracer,
+			HttpTraceWebFilter filter = new HttpTraceWebFilter(repository, tracer,
 					traceProperties.getInclude());
+			filter.setSampler(getSampler(traceProperties));
+			return filter;
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnProperty(prefix = "management.trace.http.async", name = "queue-capacity")
+	static class AsyncTraceRepositoryMetricsConfiguration {
+
+		@Bean
+		public MeterBinder asyncTraceRepositoryMeterBinder(
+				AsyncHttpTraceRepository repository) {
+			return (registry) -> FunctionCounter
+					.builder("http.trace.dropped", repository,
+							AsyncHttpTraceRepository::getDroppedCount)
+					.description("Number of HTTP traces dropped because the "
+							+ "hand-off queue was full")
+					.register(registry);
 		}
 
 	}
 
+	private static HttpTraceSampler getSampler(HttpTraceProperties traceProperties) {
+		Sampling sampling = traceProperties.getSampling();
+		if (sampling.getRate() >= 1) {
+			return null;
+		}
+		return new HttpTraceSampler(sampling.getRate(), sampling.isTraceErrors(),
+				sampling.getSlowThreshold());
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -42,6 +43,10 @@ public class HttpTraceProperties {
 	 */
 	private Set<Include> include = new HashSet<>(Include.defaultIncludes());
 
+	private final Sampling sampling = new Sampling();
+
+	private final Async async = new Async();
+
 	public Set<Include> getInclude() {
 		return this.include;
 	}
@@ -50,4 +55,82 @@ public class HttpTraceProperties {
 		this.include = include;
 	}
 
+	public Sampling getSampling() {
+		return this.sampling;
+	}
+
+	public Async getAsync() {
+		return this.async;
+	}
+
+	/**
+	 * Sampling properties.
+	 */
+	public static class Sampling {
+
+		/**
+		 * Proportion of exchanges that are traced, between 0.0 and 1.0.
+		 */
+		private double rate = 1.0;
+
+		/**
+		 * Whether exchanges that result in a server error are traced even when they have
+		 * not been sampled.
+		 */
+		private boolean traceErrors = true;
+
+		/**
+		 * Time taken above which exchanges are traced even when they have not been
+		 * sampled.
+		 */
+		private Duration slowThreshold;
+
+		public double getRate() {
+			return this.rate;
+		}
+
+		public void setRate(double rate) {
+			this.rate = rate;
+		}
+
+		public boolean isTraceErrors() {
+			return this.traceErrors;
+		}
+
+		public void setTraceErrors(boolean traceErrors) {
+			this.traceErrors = traceErrors;
+		}
+
+		public Duration getSlowThreshold() {
+			return this.slowThreshold;
+		}
+
+		public void setSlowThreshold(Duration slowThreshold) {
+			this.slowThreshold = slowThreshold;
+		}
+
+	}
+
+	/**
+	 * Asynchronous hand-off properties.
+	 */
+	public static class Async {
+
+		/**
+		 * Maximum number of traces waiting to be handed off to the repository on a
+		 * background thread. When set, traces that arrive while the queue is full are
+		 * dropped. By default, traces are added to the repository on the request thread.
+		 */
+		private Integer queueCapacity;
+
+		public Integer getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(Integer queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+	}
+
 }
@@ -22,6 +22,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorSnapshotScheduler;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -31,6 +32,7 @@ import org.springframework.context.annotation.Configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -102,6 +104,42 @@ public class HealthEndpointAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void healthEndpointDoesNotUseSnapshotsByDefault() {
+		this.contextRunner.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context)
+							.doesNotHaveBean(HealthIndicatorSnapshotScheduler.class);
+					HealthIndicator indicator = context.getBean("simpleHealthIndicator",
+							HealthIndicator.class);
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					endpoint.health();
+					endpoint.health();
+					verify(indicator, times(2)).health();
+				});
+	}
+
+	@Test
+	public void healthEndpointWithSnapshotRefreshIntervalServesSnapshots() {
+		this.contextRunner
+				.withPropertyValues(
+						"management.endpoint.health.snapshot.refresh-interval=1h")
+				.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context)
+							.hasSingleBean(HealthIndicatorSnapshotScheduler.class);
+					HealthIndicator indicator = context.getBean("simpleHealthIndicator",
+							HealthIndicator.class);
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					for (int i = 0; i < 10; i++) {
+						assertThat(endpoint.health().getStatus()).isEqualTo(Status.UP);
+						assertThat(endpoint.healthForComponent("simple").getStatus())
+								.isEqualTo(Status.UP);
+					}
+					verify(indicator, atMost(2)).health();
+				});
+	}
+
 	@Configuration
 	static class HealthIndicatorConfiguration {
 
@@ -19,13 +19,19 @@ package org.springframework.boot.actuate.autoconfigure.web.trace;
 import java.util.List;
 import java.util.Set;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.Test;
 
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProperties;
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.Include;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
@@ -35,6 +41,7 @@ import org.springframework.boot.test.context.runner.ReactiveWebApplicationContex
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -119,6 +126,88 @@ public class HttpTraceAutoConfigurationTests {
 						.hasSingleBean(HttpTraceFilter.class));
 	}
 
+	@Test
+	public void servletFilterTracesAllExchangesByDefault() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.run((context) -> assertThat(ReflectionTestUtils.getField(
+						context.getBean(HttpTraceFilter.class), "sampler")).isNull());
+	}
+
+	@Test
+	public void servletFilterUsesSampling() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.sampling.rate=0.1",
+						"management.trace.http.sampling.slow-threshold=2s")
+				.run((context) -> {
+					HttpTraceSampler sampler = (HttpTraceSampler) ReflectionTestUtils
+							.getField(context.getBean(HttpTraceFilter.class), "sampler");
+					assertThat(sampler).isNotNull();
+					assertThat(sampler.isNotable(500, 0)).isTrue();
+					assertThat(sampler.isNotable(200, 2000)).isTrue();
+					assertThat(sampler.isNotable(200, 1999)).isFalse();
+				});
+	}
+
+	@Test
+	public void wrapsRepositoryWhenAsyncQueueCapacityIsSet() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.async.queue-capacity=10")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(InMemoryHttpTraceRepository.class)
+							.hasSingleBean(AsyncHttpTraceRepository.class);
+					AsyncHttpTraceRepository repository = context
+							.getBean(AsyncHttpTraceRepository.class);
+					assertThat(context.getBean(HttpTraceRepository.class))
+							.isSameAs(repository);
+					assertThat(ReflectionTestUtils.getField(repository, "delegate"))
+							.isSameAs(context.getBean(InMemoryHttpTraceRepository.class));
+					assertThat(ReflectionTestUtils.getField(
+							context.getBean(HttpTraceFilter.class), "repository"))
+									.isSameAs(repository);
+				});
+	}
+
+	@Test
+	public void wrapsUserProvidedRepositoryWhenAsyncQueueCapacityIsSet() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withUserConfiguration(CustomRepositoryConfiguration.class)
+				.withPropertyValues("management.trace.http.async.queue-capacity=10")
+				.run((context) -> assertThat(ReflectionTestUtils.getField(
+						context.getBean(AsyncHttpTraceRepository.class), "delegate"))
+								.isInstanceOf(CustomHttpTraceRepository.class));
+	}
+
+	@Test
+	public void doesNotWrapRepositoryByDefault() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.run((context) -> assertThat(context)
+						.doesNotHaveBean(AsyncHttpTraceRepository.class));
+	}
+
+	@Test
+	public void publishesDroppedCountWhenAsyncQueueCapacityIsSet() {
+		new WebApplicationContextRunner()
+				.withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+						CompositeMeterRegistryAutoConfiguration.class,
+						SimpleMetricsExportAutoConfiguration.class,
+						HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.metrics.use-global-registry=false",
+						"management.trace.http.async.queue-capacity=10")
+				.run((context) -> assertThat(context.getBean(MeterRegistry.class)
+						.get("http.trace.dropped").functionCounter().count())
+								.isEqualTo(0));
+	}
+
 	@Test
 	public void usesUserProvidedServletFilter() {
 		new WebApplicationContextRunner()
@@ -16,8 +16,13 @@
 
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.endpoint.InvocationContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
@@ -26,18 +31,27 @@ import org.springframework.util.ObjectUtils;
 
 /**
  * An {@link OperationInvoker} that caches the response of an operation with a
- * configurable time to live.
+ * configurable time to live. Responses are cached separately for each combination of
+ * arguments. Invocations made on behalf of a principal always invoke the target as
+ * their response may depend on the principal's authorizations. Only one caller
+ * recomputes a missing or stale response:
+ * concurrent callers are served the stale response if there is one or wait for the
+ * recomputed response otherwise.
  *
  * @author Stephane Nicoll
  * @since 2.0.0
  */
 public class CachingOperationInvoker implements OperationInvoker {
 
+	private static final int MAX_CACHED_RESPONSES = 128;
+
 	private final OperationInvoker invoker;
 
 	private final long timeToLive;
 
-	private volatile CachedResponse cachedResponse;
+	private final Map<CacheKey, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
+
+	private final Map<CacheKey, CompletableFuture<Object>> pendingResponses = new ConcurrentHashMap<>();
 
 	/**
 	 * Create a new instance with the target {@link OperationInvoker} to use to compute
@@ -61,28 +75,72 @@ public class CachingOperationInvoker implements OperationInvoker {
 
 	@Override
 	public Object invoke(InvocationContext context) {
-		if (hasInput(context)) {
+		if (context.getSecurityContext().getPrincipal() != null) {
 			return this.invoker.invoke(context);
 		}
+		CacheKey key = new CacheKey(context);
 		long accessTime = System.currentTimeMillis();
-		CachedResponse cached = this.cachedResponse;
-		if (cached == null || cached.isStale(accessTime, this.timeToLive)) {
-			Object response = this.invoker.invoke(context);
-			this.cachedResponse = new CachedResponse(response, accessTime);
+		CachedResponse cached = this.cachedResponses.get(key);
+		if (cached != null && !cached.isStale(accessTime, this.timeToLive)) {
+			return cached.getResponse();
+		}
+		CompletableFuture<Object> pending = new CompletableFuture<>();
+		CompletableFuture<Object> existing = this.pendingResponses.putIfAbsent(key,
+				pending);
+		if (existing != null) {
+			return (cached != null ? cached.getResponse() : join(existing));
+		}
+		try {
+			Object response = getResponse(key, context, accessTime);
+			pending.complete(response);
 			return response;
 		}
-		return cached.getResponse();
+		catch (Throwable ex) {
+			pending.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.pendingResponses.remove(key, pending);
+		}
 	}
 
-	private boolean hasInput(InvocationContext context) {
-		if (context.getSecurityContext().getPrincipal() != null) {
-			return true;
+	private Object getResponse(CacheKey key, InvocationContext context,
+			long accessTime) {
+		CachedResponse cached = this.cachedResponses.get(key);
+		if (cached != null && !cached.isStale(accessTime, this.timeToLive)) {
+			return cached.getResponse();
+		}
+		Object response = this.invoker.invoke(context);
+		cache(key, new CachedResponse(response, accessTime));
+		return response;
+	}
+
+	private void cache(CacheKey key, CachedResponse response) {
+		if (this.cachedResponses.size() >= MAX_CACHED_RESPONSES
+				&& !this.cachedResponses.containsKey(key)) {
+			long now = System.currentTimeMillis();
+			this.cachedResponses.values()
+					.removeIf((cached) -> cached.isStale(now, this.timeToLive));
+			if (this.cachedResponses.size() >= MAX_CACHED_RESPONSES) {
+				return;
+			}
+		}
+		this.cachedResponses.put(key, response);
+	}
+
+	private Object join(CompletableFuture<Object> pending) {
+		try {
+			return pending.join();
 		}
-		Map<String, Object> arguments = context.getArguments();
-		if (!ObjectUtils.isEmpty(arguments)) {
-			return arguments.values().stream().anyMatch(Objects::nonNull);
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error) ex.getCause();
+			}
+			throw ex;
 		}
-		return false;
 	}
 
 	/**
@@ -124,4 +182,47 @@ public class CachingOperationInvoker implements OperationInvoker {
 
 	}
 
+	/**
+	 * Key used to cache the response of an invocation with specific arguments.
+	 */
+	static final class CacheKey {
+
+		private final Map<String, Object> arguments;
+
+		CacheKey(InvocationContext context) {
+			this.arguments = getArguments(context.getArguments());
+		}
+
+		private static Map<String, Object> getArguments(Map<String, Object> arguments) {
+			if (ObjectUtils.isEmpty(arguments)
+					|| arguments.values().stream().noneMatch(Objects::nonNull)) {
+				return Collections.emptyMap();
+			}
+			Map<String, Object> nonNullArguments = new LinkedHashMap<>();
+			arguments.forEach((name, value) -> {
+				if (value != null) {
+					nonNullArguments.put(name, value);
+				}
+			});
+			return nonNullArguments;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			return this.arguments.equals(((CacheKey) obj).arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.arguments.hashCode();
+		}
+
+	}
+
 }
@@ -18,9 +18,22 @@ package org.springframework.boot.actuate.health;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * Delegates are invoked sequentially unless a
+ * {@link #concurrentStrategy(Executor, long, long, Health) concurrent strategy} has been
+ * specified, in which case an alternative {@link Health} is provided for a delegate that
+ * reaches a timeout.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
@@ -33,6 +46,14 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator aggregator;
 
+	private Executor executor;
+
+	private long timeout;
+
+	private long overallTimeout;
+
+	private Health timeoutHealth;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator}.
 	 * @param healthAggregator the health aggregator
@@ -93,8 +114,38 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		return this.registry;
 	}
 
+	/**
+	 * Specify an {@link Executor} used to invoke delegates concurrently and an
+	 * alternative {@link Health} for a delegate that fails to reply in time. A delegate
+	 * times out if it takes longer than {@code timeout} once started or if it hasn't
+	 * replied when {@code overallTimeout} has elapsed. A delegate that cannot be
+	 * submitted to the {@code executor} is also reported with the {@code timeoutHealth}.
+	 * @param executor the executor used to invoke delegates
+	 * @param timeout number of milliseconds to wait for a single delegate
+	 * @param overallTimeout number of milliseconds to wait for all delegates
+	 * @param timeoutHealth the {@link Health} to use if a health indicator reached a
+	 * timeout
+	 * @return this instance
+	 * @since 2.1.0
+	 */
+	public CompositeHealthIndicator concurrentStrategy(Executor executor, long timeout,
+			long overallTimeout, Health timeoutHealth) {
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(timeout > 0, "Timeout must be positive");
+		Assert.isTrue(overallTimeout > 0, "OverallTimeout must be positive");
+		this.executor = executor;
+		this.timeout = timeout;
+		this.overallTimeout = overallTimeout;
+		this.timeoutHealth = (timeoutHealth != null ? timeoutHealth
+				: Health.unknown().build());
+		return this;
+	}
+
 	@Override
 	public Health health() {
+		if (this.executor != null) {
+			return this.aggregator.aggregate(getConcurrentHealths());
+		}
 		Map<String, Health> healths = new LinkedHashMap<>();
 		for (Map.Entry<String, HealthIndicator> entry : this.registry.getAll()
 				.entrySet()) {
@@ -103,4 +154,102 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		return this.aggregator.aggregate(healths);
 	}
 
+	private Map<String, Health> getConcurrentHealths() {
+		long deadline = System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(this.overallTimeout);
+		Map<String, HealthTask> tasks = new LinkedHashMap<>();
+		for (Map.Entry<String, HealthIndicator> entry : this.registry.getAll()
+				.entrySet()) {
+			HealthTask task = new HealthTask(entry.getValue());
+			try {
+				this.executor.execute(task);
+				tasks.put(entry.getKey(), task);
+			}
+			catch (RejectedExecutionException ex) {
+				tasks.put(entry.getKey(), null);
+			}
+		}
+		Map<String, Health> healths = new LinkedHashMap<>();
+		try {
+			for (Map.Entry<String, HealthTask> entry : tasks.entrySet()) {
+				HealthTask task = entry.getValue();
+				healths.put(entry.getKey(),
+						(task != null ? task.getHealth(deadline) : this.timeoutHealth));
+			}
+		}
+		finally {
+			tasks.values().stream().filter((task) -> task != null)
+					.forEach((task) -> task.cancel(true));
+		}
+		return healths;
+	}
+
+	/**
+	 * {@link FutureTask} used to invoke a single delegate and record when it started.
+	 */
+	private class HealthTask extends FutureTask<Health> {
+
+		private final long timeout = TimeUnit.MILLISECONDS
+				.toNanos(CompositeHealthIndicator.this.timeout);
+
+		private volatile boolean started;
+
+		private volatile long startTime;
+
+		HealthTask(HealthIndicator indicator) {
+			super(indicator::health);
+		}
+
+		@Override
+		public void run() {
+			this.startTime = System.nanoTime();
+			this.started = true;
+			super.run();
+		}
+
+		public Health getHealth(long overallDeadline) {
+			try {
+				while (true) {
+					long remaining = Math.max(getRemaining(overallDeadline), 0);
+					try {
+						return get(Math.min(remaining, this.timeout),
+								TimeUnit.NANOSECONDS);
+					}
+					catch (TimeoutException ex) {
+						// Check again since the task may have started in the meantime
+						if (getRemaining(overallDeadline) <= 0) {
+							return CompositeHealthIndicator.this.timeoutHealth;
+						}
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return CompositeHealthIndicator.this.timeoutHealth;
+			}
+			catch (CancellationException ex) {
+				return CompositeHealthIndicator.this.timeoutHealth;
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+
+		private long getRemaining(long overallDeadline) {
+			long deadline = overallDeadline;
+			if (this.started) {
+				deadline = Math.min(deadline, this.startTime + this.timeout);
+			}
+			return deadline - System.nanoTime();
+		}
+
+	}
+
 }
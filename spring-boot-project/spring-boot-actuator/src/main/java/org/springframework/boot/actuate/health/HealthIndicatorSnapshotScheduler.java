@@ -0,0 +1,360 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Schedules background refreshes of {@link HealthIndicator HealthIndicators} so that
+ * callers are served the most recent {@link Health} snapshot rather than invoking the
+ * indicators themselves. Each indicator is refreshed on its own schedule and a
+ * {@link Health} may therefore be up to one refresh interval old. The time at which a
+ * snapshot was taken is available as its {@code snapshotTime} detail.
+ * <p>
+ * Refreshes run on their own threads so that a slow indicator cannot delay the others.
+ * A refresh that does not complete within the timeout is cancelled and recorded as
+ * {@link Status#DOWN DOWN}. No new refresh of an indicator is started while the thread
+ * of its previous refresh is still running, so an indicator that hangs and ignores the
+ * cancellation holds at most one thread and stays {@code DOWN} until it returns. A
+ * snapshot that is older than twice the refresh interval of its indicator is served as
+ * {@link Status#UNKNOWN UNKNOWN}.
+ *
+ * @author Phillip Webb
+ * @since 2.1.0
+ * @see #snapshot(HealthIndicatorRegistry)
+ */
+public class HealthIndicatorSnapshotScheduler implements DisposableBean {
+
+	private static final String SNAPSHOT_TIME = "snapshotTime";
+
+	private final ScheduledExecutorService executor;
+
+	private final ExecutorService refreshExecutor;
+
+	private final Function<String, Duration> refreshIntervals;
+
+	private final Duration timeout;
+
+	/**
+	 * Create a new {@link HealthIndicatorSnapshotScheduler} instance.
+	 * @param poolSize the number of threads used to schedule refreshes
+	 * @param refreshIntervals function used to get the refresh interval of an indicator
+	 * from its name
+	 * @param timeout the maximum time that a single refresh may take
+	 */
+	public HealthIndicatorSnapshotScheduler(int poolSize,
+			Function<String, Duration> refreshIntervals, Duration timeout) {
+		Assert.isTrue(poolSize > 0, "PoolSize must be positive");
+		Assert.notNull(refreshIntervals, "RefreshIntervals must not be null");
+		Assert.isTrue(timeout != null && !timeout.isNegative() && !timeout.isZero(),
+				"Timeout must be positive");
+		this.executor = Executors.newScheduledThreadPool(poolSize,
+				createThreadFactory("health-snapshot-"));
+		this.refreshExecutor = Executors
+				.newCachedThreadPool(createThreadFactory("health-snapshot-refresh-"));
+		this.refreshIntervals = refreshIntervals;
+		this.timeout = timeout;
+	}
+
+	private static CustomizableThreadFactory createThreadFactory(String prefix) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	/**
+	 * Return a {@link HealthIndicatorRegistry} view of the given {@code registry} whose
+	 * indicators serve background refreshed snapshots. Indicators that are registered
+	 * or unregistered later are picked up when they are first requested.
+	 * @param registry the source registry
+	 * @return a snapshot registry backed by the source registry
+	 */
+	public HealthIndicatorRegistry snapshot(HealthIndicatorRegistry registry) {
+		Assert.notNull(registry, "Registry must not be null");
+		HealthIndicatorRegistry snapshot = new SnapshotHealthIndicatorRegistry(registry);
+		snapshot.getAll();
+		return snapshot;
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+		this.refreshExecutor.shutdownNow();
+	}
+
+	/**
+	 * {@link HealthIndicatorRegistry} that wraps indicators from a source registry in
+	 * {@link SnapshotHealthIndicator SnapshotHealthIndicators}.
+	 */
+	private class SnapshotHealthIndicatorRegistry implements HealthIndicatorRegistry {
+
+		private final HealthIndicatorRegistry registry;
+
+		private final Map<String, SnapshotHealthIndicator> snapshots = new ConcurrentHashMap<>();
+
+		SnapshotHealthIndicatorRegistry(HealthIndicatorRegistry registry) {
+			this.registry = registry;
+		}
+
+		@Override
+		public void register(String name, HealthIndicator healthIndicator) {
+			this.registry.register(name, healthIndicator);
+		}
+
+		@Override
+		public HealthIndicator unregister(String name) {
+			SnapshotHealthIndicator snapshot = this.snapshots.remove(name);
+			if (snapshot != null) {
+				snapshot.cancel();
+			}
+			return this.registry.unregister(name);
+		}
+
+		@Override
+		public HealthIndicator get(String name) {
+			HealthIndicator healthIndicator = this.registry.get(name);
+			return (healthIndicator != null ? getSnapshot(name, healthIndicator)
+					: null);
+		}
+
+		@Override
+		public Map<String, HealthIndicator> getAll() {
+			Map<String, HealthIndicator> all = new LinkedHashMap<>();
+			this.registry.getAll().forEach(
+					(name, indicator) -> all.put(name, getSnapshot(name, indicator)));
+			return Collections.unmodifiableMap(all);
+		}
+
+		private SnapshotHealthIndicator getSnapshot(String name,
+				HealthIndicator healthIndicator) {
+			SnapshotHealthIndicator snapshot = this.snapshots.get(name);
+			if (snapshot != null && snapshot.isFor(healthIndicator)) {
+				return snapshot;
+			}
+			return this.snapshots.compute(name, (key, existing) -> {
+				if (existing != null && existing.isFor(healthIndicator)) {
+					return existing;
+				}
+				if (existing != null) {
+					existing.cancel();
+				}
+				return new SnapshotHealthIndicator(name, healthIndicator);
+			});
+		}
+
+	}
+
+	/**
+	 * {@link HealthIndicator} that returns the last {@link Health} of a delegate that is
+	 * periodically refreshed in the background.
+	 */
+	private class SnapshotHealthIndicator implements HealthIndicator {
+
+		private final HealthIndicator delegate;
+
+		private final Duration maxAge;
+
+		private final ScheduledFuture<?> schedule;
+
+		private Future<?> refresh;
+
+		private boolean refreshing;
+
+		private volatile Snapshot snapshot;
+
+		SnapshotHealthIndicator(String name, HealthIndicator delegate) {
+			this.delegate = delegate;
+			Duration interval = HealthIndicatorSnapshotScheduler.this.refreshIntervals
+					.apply(name);
+			Assert.state(interval != null && !interval.isNegative() && !interval.isZero(),
+					() -> "Invalid refresh interval for health indicator '" + name
+							+ "'");
+			this.maxAge = interval.multipliedBy(2);
+			this.schedule = HealthIndicatorSnapshotScheduler.this.executor
+					.scheduleWithFixedDelay(this::refresh, 0, interval.toMillis(),
+							TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public Health health() {
+			Snapshot snapshot = this.snapshot;
+			if (snapshot == null) {
+				awaitRefresh(refresh());
+				snapshot = this.snapshot;
+				if (snapshot == null) {
+					return Health.unknown().build();
+				}
+			}
+			if (snapshot.isOlderThan(this.maxAge)) {
+				return new Health.Builder(Status.UNKNOWN)
+						.withDetail(SNAPSHOT_TIME, snapshot.getTime().toString())
+						.withDetail("snapshotStatus",
+								snapshot.getHealth().getStatus().getCode())
+						.build();
+			}
+			return snapshot.getHealth();
+		}
+
+		private synchronized Future<?> refresh() {
+			if (this.refreshing) {
+				if (this.refresh.isCancelled()) {
+					setTimedOut();
+				}
+				return this.refresh;
+			}
+			FutureTask<Health> refresh = new FutureTask<Health>(this::invoke) {
+
+				@Override
+				public void run() {
+					try {
+						super.run();
+					}
+					finally {
+						refreshed();
+					}
+				}
+
+				@Override
+				protected void set(Health health) {
+					if (!isCancelled()) {
+						setSnapshot(health);
+					}
+					super.set(health);
+				}
+
+			};
+			HealthIndicatorSnapshotScheduler.this.refreshExecutor.execute(refresh);
+			this.refreshing = true;
+			this.refresh = refresh;
+			HealthIndicatorSnapshotScheduler.this.executor.schedule(
+					() -> timeout(refresh),
+					HealthIndicatorSnapshotScheduler.this.timeout.toMillis(),
+					TimeUnit.MILLISECONDS);
+			return refresh;
+		}
+
+		private synchronized void refreshed() {
+			this.refreshing = false;
+		}
+
+		private void awaitRefresh(Future<?> refresh) {
+			try {
+				refresh.get(HealthIndicatorSnapshotScheduler.this.timeout.toMillis(),
+						TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			catch (ExecutionException | CancellationException ex) {
+				// Recorded by the refresh or its timeout
+			}
+			catch (TimeoutException ex) {
+				timeout(refresh);
+			}
+		}
+
+		private Health invoke() {
+			try {
+				return this.delegate.health();
+			}
+			catch (Throwable ex) {
+				return new Health.Builder(Status.DOWN).withException(ex).build();
+			}
+		}
+
+		private void timeout(Future<?> refresh) {
+			if (refresh.cancel(true)) {
+				setTimedOut();
+			}
+		}
+
+		private void setTimedOut() {
+			TimeoutException ex = new TimeoutException(
+					"Health indicator did not respond within "
+							+ HealthIndicatorSnapshotScheduler.this.timeout);
+			setSnapshot(Health.down(ex).build());
+		}
+
+		private void setSnapshot(Health health) {
+			Instant time = Instant.now();
+			Health snapshot = new Health.Builder(health.getStatus(), health.getDetails())
+					.withDetail(SNAPSHOT_TIME, time.toString()).build();
+			this.snapshot = new Snapshot(snapshot, time);
+		}
+
+		boolean isFor(HealthIndicator healthIndicator) {
+			return this.delegate == healthIndicator;
+		}
+
+		synchronized void cancel() {
+			this.schedule.cancel(false);
+			if (this.refresh != null) {
+				this.refresh.cancel(true);
+			}
+		}
+
+	}
+
+	/**
+	 * A {@link Health} and the time at which it was taken.
+	 */
+	private static final class Snapshot {
+
+		private final Health health;
+
+		private final Instant time;
+
+		Snapshot(Health health, Instant time) {
+			this.health = health;
+			this.time = time;
+		}
+
+		Health getHealth() {
+			return this.health;
+		}
+
+		Instant getTime() {
+			return this.time;
+		}
+
+		boolean isOlderThan(Duration age) {
+			return this.time.plus(age).isBefore(Instant.now());
+		}
+
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HttpTraceRepository} that hands traces off to a delegate repository on a
+ * background thread. Traces are held in a bounded queue and are dropped rather than
+ * blocking the caller when the queue is full. The thread is started by
+ * {@link #afterPropertiesSet()} and stopped by {@link #destroy()}.
+ *
+ * @author Andy Wilkinson
+ * @since 2.1.0
+ */
+public class AsyncHttpTraceRepository
+		implements HttpTraceRepository, InitializingBean, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(AsyncHttpTraceRepository.class);
+
+	private final HttpTraceRepository delegate;
+
+	private final BlockingQueue<HttpTrace> queue;
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private Thread thread;
+
+	/**
+	 * Create a new {@link AsyncHttpTraceRepository} instance.
+	 * @param delegate the repository that traces are handed off to
+	 * @param queueCapacity the maximum number of traces waiting to be handed off
+	 */
+	public AsyncHttpTraceRepository(HttpTraceRepository delegate, int queueCapacity) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(queueCapacity > 0, "QueueCapacity must be positive");
+		this.delegate = delegate;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+	}
+
+	@Override
+	public synchronized void afterPropertiesSet() {
+		if (this.thread == null) {
+			this.thread = new Thread(this::run, "http-trace");
+			this.thread.setDaemon(true);
+			this.thread.start();
+		}
+	}
+
+	@Override
+	public List<HttpTrace> findAll() {
+		return this.delegate.findAll();
+	}
+
+	@Override
+	public void add(HttpTrace trace) {
+		if (!this.queue.offer(trace)) {
+			this.droppedCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Return the number of traces that were dropped because the queue was full.
+	 * @return the number of dropped traces
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (this.thread != null) {
+			this.thread.interrupt();
+			this.thread = null;
+		}
+	}
+
+	private void run() {
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				this.delegate.add(this.queue.take());
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Failed to add HTTP trace", ex);
+			}
+		}
+	}
+
+}
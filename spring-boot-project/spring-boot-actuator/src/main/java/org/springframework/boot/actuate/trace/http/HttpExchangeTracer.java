@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.net.URI;
 import java.security.Principal;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -58,6 +59,19 @@ public class HttpExchangeTracer {
 		return new HttpTrace(new FilteredTraceableRequest(request));
 	}
 
+	/**
+	 * Begins the tracing of the exchange that was initiated by the given {@code request}
+	 * being received at the given {@code timestamp}. Used when the decision to trace an
+	 * exchange is only made once it has been handled.
+	 * @param request the received request
+	 * @param timestamp the time at which the request was received
+	 * @return the HTTP trace for the exchange
+	 * @since 2.1.0
+	 */
+	public final HttpTrace receivedRequest(TraceableRequest request, Instant timestamp) {
+		return new HttpTrace(new FilteredTraceableRequest(request), timestamp);
+	}
+
 	/**
 	 * Ends the tracing of the exchange that is being concluded by sending the given
 	 * {@code response}.
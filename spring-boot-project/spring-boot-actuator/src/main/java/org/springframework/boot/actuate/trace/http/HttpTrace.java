@@ -33,7 +33,7 @@ import org.springframework.util.StringUtils;
  */
 public final class HttpTrace {
 
-	private final Instant timestamp = Instant.now();
+	private final Instant timestamp;
 
 	private volatile Principal principal;
 
@@ -46,7 +46,12 @@ public final class HttpTrace {
 	private volatile Long timeTaken;
 
 	HttpTrace(TraceableRequest request) {
+		this(request, Instant.now());
+	}
+
+	HttpTrace(TraceableRequest request, Instant timestamp) {
 		this.request = new Request(request);
+		this.timestamp = timestamp;
 	}
 
 	public Instant getTimestamp() {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.util.Assert;
+
+/**
+ * Determines which HTTP exchanges are traced. A configurable proportion of exchanges is
+ * sampled when a request is received. Exchanges that were not sampled can still be
+ * traced once handled if they failed with a server error or were slow.
+ *
+ * @author Andy Wilkinson
+ * @since 2.1.0
+ */
+public class HttpTraceSampler {
+
+	private final double rate;
+
+	private final boolean traceErrors;
+
+	private final Duration slowThreshold;
+
+	/**
+	 * Create a new {@link HttpTraceSampler} instance.
+	 * @param rate the proportion of exchanges to sample, between {@code 0.0} and
+	 * {@code 1.0}
+	 * @param traceErrors whether exchanges that result in a server error are always
+	 * traced
+	 * @param slowThreshold the time taken above which an exchange is always traced or
+	 * {@code null}
+	 */
+	public HttpTraceSampler(double rate, boolean traceErrors, Duration slowThreshold) {
+		Assert.isTrue(rate >= 0 && rate <= 1, "Rate must be between 0.0 and 1.0");
+		this.rate = rate;
+		this.traceErrors = traceErrors;
+		this.slowThreshold = slowThreshold;
+	}
+
+	/**
+	 * Return whether the exchange for a request that has just been received should be
+	 * traced.
+	 * @return {@code true} if the exchange is sampled
+	 */
+	public boolean isSampled() {
+		if (this.rate >= 1) {
+			return true;
+		}
+		return (this.rate > 0 && ThreadLocalRandom.current().nextDouble() < this.rate);
+	}
+
+	/**
+	 * Return whether an exchange that was not sampled should be traced now that it has
+	 * been handled.
+	 * @param status the status of the response
+	 * @param timeTaken the time taken to handle the exchange in milliseconds
+	 * @return {@code true} if the exchange should be traced
+	 */
+	public boolean isNotable(int status, long timeTaken) {
+		return (this.traceErrors && status >= 500) || (this.slowThreshold != null
+				&& timeTaken >= this.slowThreshold.toMillis());
+	}
+
+}
@@ -18,11 +18,13 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * In-memory implementation of {@link HttpTraceRepository}.
+ * In-memory implementation of {@link HttpTraceRepository}. Traces are held in a
+ * lock-free ring buffer so that adding a trace never blocks.
  *
  * @author Dave Syer
  * @author Olivier Bourgain
@@ -30,52 +32,98 @@ import java.util.List;
  */
 public class InMemoryHttpTraceRepository implements HttpTraceRepository {
 
-	private int capacity = 100;
+	private volatile boolean reverse = true;
 
-	private boolean reverse = true;
-
-	private final List<HttpTrace> traces = new LinkedList<>();
+	private volatile Buffer buffer = new Buffer(100);
 
 	/**
 	 * Flag to say that the repository lists traces in reverse order.
 	 * @param reverse flag value (default true)
 	 */
 	public void setReverse(boolean reverse) {
-		synchronized (this.traces) {
-			this.reverse = reverse;
-		}
+		this.reverse = reverse;
 	}
 
 	/**
 	 * Set the capacity of the in-memory repository.
 	 * @param capacity the capacity
 	 */
-	public void setCapacity(int capacity) {
-		synchronized (this.traces) {
-			this.capacity = capacity;
-		}
+	public synchronized void setCapacity(int capacity) {
+		Buffer buffer = new Buffer(capacity);
+		this.buffer.getAll().forEach(buffer::add);
+		this.buffer = buffer;
 	}
 
 	@Override
 	public List<HttpTrace> findAll() {
-		synchronized (this.traces) {
-			return Collections.unmodifiableList(new ArrayList<>(this.traces));
+		List<HttpTrace> traces = this.buffer.getAll();
+		if (this.reverse) {
+			Collections.reverse(traces);
 		}
+		return Collections.unmodifiableList(traces);
 	}
 
 	@Override
 	public void add(HttpTrace trace) {
-		synchronized (this.traces) {
-			while (this.traces.size() >= this.capacity) {
-				this.traces.remove(this.reverse ? this.capacity - 1 : 0);
-			}
-			if (this.reverse) {
-				this.traces.add(0, trace);
+		this.buffer.add(trace);
+	}
+
+	/**
+	 * Fixed size ring buffer of traces. Each add claims a sequence number and only ever
+	 * replaces an older entry in the corresponding slot.
+	 */
+	private static final class Buffer {
+
+		private final AtomicReferenceArray<Entry> entries;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		Buffer(int capacity) {
+			this.entries = new AtomicReferenceArray<>(capacity);
+		}
+
+		public void add(HttpTrace trace) {
+			Entry entry = new Entry(this.sequence.getAndIncrement(), trace);
+			int index = (int) (entry.sequence % this.entries.length());
+			Entry existing = this.entries.get(index);
+			while (existing == null || existing.sequence < entry.sequence) {
+				if (this.entries.compareAndSet(index, existing, entry)) {
+					return;
+				}
+				existing = this.entries.get(index);
 			}
-			else {
-				this.traces.add(trace);
+		}
+
+		public List<HttpTrace> getAll() {
+			long end = this.sequence.get();
+			long start = Math.max(0, end - this.entries.length());
+			List<HttpTrace> traces = new ArrayList<>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				Entry entry = this.entries
+						.get((int) (sequence % this.entries.length()));
+				if (entry != null && entry.sequence == sequence) {
+					traces.add(entry.trace);
+				}
 			}
+			return traces;
+		}
+
+	}
+
+	/**
+	 * A trace and the sequence number it was added with.
+	 */
+	private static final class Entry {
+
+		private final long sequence;
+
+		private final HttpTrace trace;
+
+		Entry(long sequence, HttpTrace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
 		}
+
 	}
 
 }
@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.web.trace.reactive;
 
 import java.security.Principal;
+import java.time.Instant;
 import java.util.Set;
 
 import reactor.core.publisher.Mono;
@@ -24,6 +25,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.boot.actuate.trace.http.Include;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
@@ -55,6 +57,8 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 
 	private final Set<Include> includes;
 
+	private HttpTraceSampler sampler;
+
 	public HttpTraceWebFilter(HttpTraceRepository repository, HttpExchangeTracer tracer,
 			Set<Include> includes) {
 		this.repository = repository;
@@ -71,6 +75,16 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 		this.order = order;
 	}
 
+	/**
+	 * Set the {@link HttpTraceSampler} used to determine which exchanges are traced. By
+	 * default, all exchanges are traced.
+	 * @param sampler the sampler or {@code null}
+	 * @since 2.1.0
+	 */
+	public void setSampler(HttpTraceSampler sampler) {
+		this.sampler = sampler;
+	}
+
 	@Override
 	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
 		Mono<?> principal = (this.includes.contains(Include.PRINCIPAL)
@@ -95,11 +109,22 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 			Principal principal, WebSession session) {
 		ServerWebExchangeTraceableRequest request = new ServerWebExchangeTraceableRequest(
 				exchange);
-		HttpTrace trace = this.tracer.receivedRequest(request);
+		long startTime = System.currentTimeMillis();
+		HttpTrace sampledTrace = (this.sampler == null || this.sampler.isSampled()
+				? this.tracer.receivedRequest(request) : null);
 		return chain.filter(exchange).doAfterSuccessOrError((aVoid, ex) -> {
 			TraceableServerHttpResponse response = new TraceableServerHttpResponse(
 					(ex != null ? new CustomStatusResponseDecorator(ex,
 							exchange.getResponse()) : exchange.getResponse()));
+			HttpTrace trace = sampledTrace;
+			if (trace == null) {
+				if (!this.sampler.isNotable(response.getStatus(),
+						System.currentTimeMillis() - startTime)) {
+					return;
+				}
+				trace = this.tracer.receivedRequest(request,
+						Instant.ofEpochMilli(startTime));
+			}
 			this.tracer.sendingResponse(trace, response, () -> principal,
 					() -> getStartedSessionId(session));
 			this.repository.add(trace);
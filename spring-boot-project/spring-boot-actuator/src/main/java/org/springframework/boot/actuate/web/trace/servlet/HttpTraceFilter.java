@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.web.trace.servlet;
 
 import java.io.IOException;
+import java.time.Instant;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -29,6 +30,7 @@ import javax.servlet.http.HttpSession;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -53,6 +55,8 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 
 	private final HttpExchangeTracer tracer;
 
+	private HttpTraceSampler sampler;
+
 	/**
 	 * Create a new {@link HttpTraceFilter} instance.
 	 * @param repository the trace repository
@@ -72,29 +76,52 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 		this.order = order;
 	}
 
+	/**
+	 * Set the {@link HttpTraceSampler} used to determine which exchanges are traced. By
+	 * default, all exchanges are traced.
+	 * @param sampler the sampler or {@code null}
+	 * @since 2.1.0
+	 */
+	public void setSampler(HttpTraceSampler sampler) {
+		this.sampler = sampler;
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request,
 			HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		TraceableHttpServletRequest traceableRequest = new TraceableHttpServletRequest(
 				request);
-		HttpTrace trace = this.tracer.receivedRequest(traceableRequest);
+		long startTime = System.currentTimeMillis();
+		HttpTrace trace = (this.sampler == null || this.sampler.isSampled()
+				? this.tracer.receivedRequest(traceableRequest) : null);
 		int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
 		try {
 			filterChain.doFilter(request, response);
 			status = response.getStatus();
 		}
 		finally {
-			TraceableHttpServletResponse traceableResponse = new TraceableHttpServletResponse(
-					status != response.getStatus()
-							? new CustomStatusResponseWrapper(response, status)
-							: response);
-			this.tracer.sendingResponse(trace, traceableResponse,
-					request::getUserPrincipal, () -> getSessionId(request));
-			this.repository.add(trace);
+			if (trace == null && this.sampler.isNotable(status,
+					System.currentTimeMillis() - startTime)) {
+				trace = this.tracer.receivedRequest(traceableRequest,
+						Instant.ofEpochMilli(startTime));
+			}
+			if (trace != null) {
+				addTrace(trace, request, response, status);
+			}
 		}
 	}
 
+	private void addTrace(HttpTrace trace, HttpServletRequest request,
+			HttpServletResponse response, int status) {
+		TraceableHttpServletResponse traceableResponse = new TraceableHttpServletResponse(
+				status != response.getStatus()
+						? new CustomStatusResponseWrapper(response, status) : response);
+		this.tracer.sendingResponse(trace, traceableResponse, request::getUserPrincipal,
+				() -> getSessionId(request));
+		this.repository.add(trace);
+	}
+
 	private String getSessionId(HttpServletRequest request) {
 		HttpSession session = request.getSession(false);
 		return (session != null ? session.getId() : null);
@@ -20,6 +20,12 @@ import java.security.Principal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,6 +36,7 @@ import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -82,19 +89,11 @@ public class CachingOperationInvokerTests {
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithParameters() {
-		OperationInvoker target = mock(OperationInvoker.class);
+	public void cacheInTtlWithParameters() {
 		Map<String, Object> parameters = new HashMap<>();
 		parameters.put("test", "value");
 		parameters.put("something", null);
-		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
-				parameters);
-		given(target.invoke(context)).willReturn(new Object());
-		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		verify(target, times(3)).invoke(context);
+		assertCacheIsUsed(parameters);
 	}
 
 	@Test
@@ -112,6 +111,98 @@ public class CachingOperationInvokerTests {
 		verify(target, times(3)).invoke(context);
 	}
 
+	@Test
+	public void targetInvokedForEachDistinctParameters() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext first = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "first"));
+		InvocationContext second = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "second"));
+		given(target.invoke(first)).willReturn("first");
+		given(target.invoke(second)).willReturn("second");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(first)).isEqualTo("first");
+		assertThat(invoker.invoke(second)).isEqualTo("second");
+		assertThat(invoker.invoke(first)).isEqualTo("first");
+		verify(target, times(1)).invoke(first);
+		verify(target, times(1)).invoke(second);
+	}
+
+	@Test
+	public void concurrentCallersWaitForSingleInvocation() throws Exception {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (context) -> {
+			invocations.incrementAndGet();
+			invoked.countDown();
+			await(release);
+			return "response";
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> first = executor.submit(() -> invoker.invoke(context));
+			await(invoked);
+			Future<Object> second = executor.submit(() -> invoker.invoke(context));
+			release.countDown();
+			assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("response");
+			assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("response");
+			assertThat(invocations.get()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void staleResponseServedWhileRefreshing() throws Exception {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (context) -> {
+			if (invocations.incrementAndGet() > 1) {
+				invoked.countDown();
+				await(release);
+			}
+			return "response" + invocations.get();
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 50L);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		assertThat(invoker.invoke(context)).isEqualTo("response1");
+		Thread.sleep(55);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> refresh = executor.submit(() -> invoker.invoke(context));
+			await(invoked);
+			assertThat(invoker.invoke(context)).isEqualTo("response1");
+			release.countDown();
+			assertThat(refresh.get(10, TimeUnit.SECONDS)).isEqualTo("response2");
+			assertThat(invoker.invoke(context)).isEqualTo("response2");
+			assertThat(invocations.get()).isEqualTo(2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void exceptionIsNotCached() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		given(target.invoke(context)).willThrow(new IllegalStateException("Failed"))
+				.willReturn("response");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThatIllegalStateException().isThrownBy(() -> invoker.invoke(context))
+				.withMessage("Failed");
+		assertThat(invoker.invoke(context)).isEqualTo("response");
+		verify(target, times(2)).invoke(context);
+	}
+
 	@Test
 	public void targetInvokedWhenCacheExpires() throws InterruptedException {
 		OperationInvoker target = mock(OperationInvoker.class);
@@ -126,4 +217,13 @@ public class CachingOperationInvokerTests {
 		verify(target, times(2)).invoke(context);
 	}
 
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 }
@@ -18,11 +18,19 @@ package org.springframework.boot.actuate.health;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -38,8 +46,15 @@ import static org.mockito.BDDMockito.given;
  */
 public class CompositeHealthIndicatorTests {
 
+	private static final Health TIMEOUT_HEALTH = Health.status("TIMEOUT").build();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	private HealthAggregator healthAggregator;
 
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
 	@Mock
 	private HealthIndicator one;
 
@@ -57,6 +72,11 @@ public class CompositeHealthIndicatorTests {
 		this.healthAggregator = new OrderedHealthAggregator();
 	}
 
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
 	@Test
 	public void createWithIndicators() {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -91,4 +111,97 @@ public class CompositeHealthIndicatorTests {
 						+ ":{\"2\":\"2\"}}}}}}");
 	}
 
+	@Test
+	public void concurrentStrategyShouldInvokeIndicatorsConcurrently() {
+		CountDownLatch latch = new CountDownLatch(2);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", new LatchHealthIndicator(latch, Status.UP));
+		indicators.put("two", new LatchHealthIndicator(latch, Status.DOWN));
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators))
+						.concurrentStrategy(this.executor, 10000, 10000, null);
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(result.getDetails()).containsOnlyKeys("one", "two");
+		assertThat(((Health) result.getDetails().get("one")).getStatus())
+				.isEqualTo(Status.UP);
+	}
+
+	@Test
+	public void concurrentStrategyWhenTimeoutReachedShouldUseTimeoutHealth() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("slow", new LatchHealthIndicator(new CountDownLatch(2),
+				Status.UP));
+		indicators.put("fast", () -> Health.up().build());
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators))
+						.concurrentStrategy(this.executor, 500, 10000, TIMEOUT_HEALTH);
+		Health result = composite.health();
+		assertThat(result.getDetails()).containsEntry("slow", TIMEOUT_HEALTH);
+		assertThat(result.getDetails()).containsEntry("fast", Health.up().build());
+	}
+
+	@Test
+	public void concurrentStrategyWhenOverallTimeoutReachedShouldUseTimeoutHealth() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+			indicators.put("slow", new LatchHealthIndicator(new CountDownLatch(2),
+					Status.UP));
+			indicators.put("queued", this.one);
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator,
+					new DefaultHealthIndicatorRegistry(indicators))
+							.concurrentStrategy(executor, 10000, 100, TIMEOUT_HEALTH);
+			Health result = composite.health();
+			assertThat(result.getDetails()).containsEntry("slow", TIMEOUT_HEALTH);
+			assertThat(result.getDetails()).containsEntry("queued", TIMEOUT_HEALTH);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void concurrentStrategyWhenIndicatorFailsShouldThrowException() {
+		given(this.two.health()).willThrow(new IllegalStateException("Failed"));
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("two", this.two);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators))
+						.concurrentStrategy(this.executor, 10000, 10000, null);
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Failed");
+		composite.health();
+	}
+
+	/**
+	 * {@link HealthIndicator} that waits for a latch before returning.
+	 */
+	private static class LatchHealthIndicator implements HealthIndicator {
+
+		private final CountDownLatch latch;
+
+		private final Status status;
+
+		LatchHealthIndicator(CountDownLatch latch, Status status) {
+			this.latch = latch;
+			this.status = status;
+		}
+
+		@Override
+		public Health health() {
+			this.latch.countDown();
+			try {
+				this.latch.await(1, TimeUnit.MINUTES);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Health.status(this.status).build();
+		}
+
+	}
+
 }
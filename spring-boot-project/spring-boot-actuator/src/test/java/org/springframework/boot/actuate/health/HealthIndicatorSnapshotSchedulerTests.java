@@ -0,0 +1,291 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HealthIndicatorSnapshotScheduler}.
+ *
+ * @author Phillip Webb
+ */
+public class HealthIndicatorSnapshotSchedulerTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final HealthIndicatorSnapshotScheduler scheduler = new HealthIndicatorSnapshotScheduler(
+			1, (name) -> (name.equals("fast") ? Duration.ofMillis(10)
+					: Duration.ofHours(1)),
+			Duration.ofSeconds(10));
+
+	@After
+	public void destroy() {
+		this.scheduler.destroy();
+	}
+
+	@Test
+	public void createWhenPoolSizeIsNotPositiveShouldThrowException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("PoolSize must be positive");
+		new HealthIndicatorSnapshotScheduler(0, (name) -> Duration.ofSeconds(1),
+				Duration.ofSeconds(1));
+	}
+
+	@Test
+	public void createWhenTimeoutIsNotPositiveShouldThrowException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Timeout must be positive");
+		new HealthIndicatorSnapshotScheduler(1, (name) -> Duration.ofSeconds(1),
+				Duration.ZERO);
+	}
+
+	@Test
+	public void snapshotShouldServeLastRefreshedHealth() throws Exception {
+		CountingHealthIndicator indicator = new CountingHealthIndicator(1);
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		registry.register("slow", indicator);
+		HealthIndicatorRegistry snapshot = this.scheduler.snapshot(registry);
+		indicator.await();
+		for (int i = 0; i < 100; i++) {
+			assertThat(snapshot.get("slow").health().getStatus()).isEqualTo(Status.UP);
+			assertThat(snapshot.getAll().get("slow").health().getStatus())
+					.isEqualTo(Status.UP);
+		}
+		assertThat(indicator.count.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	public void snapshotShouldRefreshOnSchedule() throws Exception {
+		CountingHealthIndicator indicator = new CountingHealthIndicator(4);
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		registry.register("fast", indicator);
+		HealthIndicatorRegistry snapshot = this.scheduler.snapshot(registry);
+		indicator.await();
+		assertThat((int) snapshot.get("fast").health().getDetails().get("count"))
+				.isGreaterThanOrEqualTo(3);
+	}
+
+	@Test
+	public void snapshotWhenIndicatorFailsShouldServeDownHealth() {
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		registry.register("failing", () -> {
+			throw new IllegalStateException("Failed");
+		});
+		Health health = this.scheduler.snapshot(registry).get("failing").health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: Failed");
+	}
+
+	@Test
+	public void snapshotShouldIncludeSnapshotTime() {
+		Instant start = Instant.now();
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		registry.register("slow", () -> Health.up().withDetail("a", "b").build());
+		Health health = this.scheduler.snapshot(registry).get("slow").health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("a", "b");
+		Instant time = Instant.parse((String) health.getDetails().get("snapshotTime"));
+		assertThat(time).isBetween(start, Instant.now());
+	}
+
+	@Test
+	public void snapshotWhenIndicatorThrowsErrorShouldServeDownHealth() {
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		registry.register("failing", () -> {
+			throw new AssertionError("Failed");
+		});
+		Health health = this.scheduler.snapshot(registry).get("failing").health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.AssertionError: Failed");
+	}
+
+	@Test
+	public void snapshotWhenIndicatorHangsShouldNotBlockOtherIndicators()
+			throws Exception {
+		HealthIndicatorSnapshotScheduler scheduler = new HealthIndicatorSnapshotScheduler(
+				1, (name) -> (name.equals("fast") ? Duration.ofMillis(10)
+						: Duration.ofHours(1)),
+				Duration.ofMillis(200));
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			CountingHealthIndicator indicator = new CountingHealthIndicator(3);
+			registry.register("hung", new HangingHealthIndicator(release));
+			registry.register("fast", indicator);
+			HealthIndicatorRegistry snapshot = scheduler.snapshot(registry);
+			indicator.await();
+			Health health = awaitStatus(snapshot.get("hung"), Status.DOWN);
+			assertThat((String) health.getDetails().get("error"))
+					.startsWith("java.util.concurrent.TimeoutException");
+		}
+		finally {
+			release.countDown();
+			scheduler.destroy();
+		}
+	}
+
+	@Test
+	public void snapshotWhenIndicatorHangsAndIgnoresInterruptShouldNotStartNewRefreshes()
+			throws Exception {
+		HealthIndicatorSnapshotScheduler scheduler = new HealthIndicatorSnapshotScheduler(
+				1, (name) -> Duration.ofMillis(100), Duration.ofMillis(50));
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		try {
+			registry.register("hung", () -> {
+				invocations.incrementAndGet();
+				while (true) {
+					try {
+						release.await();
+						return Health.up().build();
+					}
+					catch (InterruptedException ex) {
+						// Ignore and keep hanging
+					}
+				}
+			});
+			HealthIndicator snapshot = scheduler.snapshot(registry).get("hung");
+			awaitStatus(snapshot, Status.DOWN);
+			Thread.sleep(300);
+			assertThat(snapshot.health().getStatus()).isEqualTo(Status.DOWN);
+			assertThat(invocations.get()).isEqualTo(1);
+			release.countDown();
+			awaitStatus(snapshot, Status.UP);
+			assertThat(invocations.get()).isGreaterThan(1);
+		}
+		finally {
+			release.countDown();
+			scheduler.destroy();
+		}
+	}
+
+	@Test
+	public void snapshotWhenOlderThanTwiceRefreshIntervalShouldServeUnknownHealth()
+			throws Exception {
+		HealthIndicatorSnapshotScheduler scheduler = new HealthIndicatorSnapshotScheduler(
+				1, (name) -> Duration.ofMillis(10), Duration.ofHours(1));
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			HangingHealthIndicator indicator = new HangingHealthIndicator(release);
+			indicator.hang = false;
+			registry.register("stale", indicator);
+			HealthIndicator snapshot = scheduler.snapshot(registry).get("stale");
+			assertThat(snapshot.health().getStatus()).isEqualTo(Status.UP);
+			indicator.hang = true;
+			Health health = awaitStatus(snapshot, Status.UNKNOWN);
+			assertThat(health.getDetails()).containsEntry("snapshotStatus", "UP")
+					.containsKey("snapshotTime");
+		}
+		finally {
+			release.countDown();
+			scheduler.destroy();
+		}
+	}
+
+	@Test
+	public void snapshotShouldPickUpRegistrationChanges() {
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		HealthIndicatorRegistry snapshot = this.scheduler.snapshot(registry);
+		snapshot.register("late", () -> Health.up().build());
+		assertThat(snapshot.getAll()).containsOnlyKeys("late");
+		assertThat(snapshot.get("late").health().getStatus()).isEqualTo(Status.UP);
+		snapshot.unregister("late");
+		assertThat(registry.getAll()).isEmpty();
+		assertThat(snapshot.get("late")).isNull();
+		snapshot.register("late", () -> Health.down().build());
+		assertThat(snapshot.get("late").health().getStatus()).isEqualTo(Status.DOWN);
+	}
+
+	private Health awaitStatus(HealthIndicator indicator, Status status)
+			throws InterruptedException {
+		long end = System.currentTimeMillis() + 10000;
+		Health health = indicator.health();
+		while (!health.getStatus().equals(status)
+				&& System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+			health = indicator.health();
+		}
+		assertThat(health.getStatus()).isEqualTo(status);
+		return health;
+	}
+
+	private static class HangingHealthIndicator implements HealthIndicator {
+
+		private final CountDownLatch release;
+
+		private volatile boolean hang = true;
+
+		HangingHealthIndicator(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public Health health() {
+			if (this.hang) {
+				try {
+					this.release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return Health.up().build();
+		}
+
+	}
+
+	private static class CountingHealthIndicator implements HealthIndicator {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		private final CountDownLatch latch;
+
+		CountingHealthIndicator(int expected) {
+			this.latch = new CountDownLatch(expected);
+		}
+
+		@Override
+		public Health health() {
+			Health health = Health.up().withDetail("count", this.count.incrementAndGet())
+					.build();
+			this.latch.countDown();
+			return health;
+		}
+
+		void await() throws InterruptedException {
+			assertThat(this.latch.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+
+	}
+
+}
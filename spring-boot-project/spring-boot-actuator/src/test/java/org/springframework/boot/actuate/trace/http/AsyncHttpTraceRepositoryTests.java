@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link AsyncHttpTraceRepository}.
+ *
+ * @author Andy Wilkinson
+ */
+public class AsyncHttpTraceRepositoryTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void createWhenQueueCapacityIsNotPositiveShouldThrowException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("QueueCapacity must be positive");
+		new AsyncHttpTraceRepository(new InMemoryHttpTraceRepository(), 0);
+	}
+
+	@Test
+	public void addShouldHandOffToDelegate() throws Exception {
+		CountDownLatch added = new CountDownLatch(1);
+		InMemoryHttpTraceRepository delegate = new InMemoryHttpTraceRepository() {
+
+			@Override
+			public void add(HttpTrace trace) {
+				super.add(trace);
+				added.countDown();
+			}
+
+		};
+		AsyncHttpTraceRepository repository = new AsyncHttpTraceRepository(delegate,
+				10);
+		repository.afterPropertiesSet();
+		try {
+			HttpTrace trace = new HttpTrace(mock(TraceableRequest.class));
+			repository.add(trace);
+			assertThat(added.await(10, TimeUnit.SECONDS)).isTrue();
+			List<HttpTrace> traces = repository.findAll();
+			assertThat(traces).containsExactly(trace);
+			assertThat(repository.getDroppedCount()).isZero();
+		}
+		finally {
+			repository.destroy();
+		}
+	}
+
+	@Test
+	public void addWhenNotStartedShouldQueueTrace() {
+		InMemoryHttpTraceRepository delegate = new InMemoryHttpTraceRepository();
+		AsyncHttpTraceRepository repository = new AsyncHttpTraceRepository(delegate, 1);
+		repository.add(new HttpTrace(mock(TraceableRequest.class)));
+		repository.add(new HttpTrace(mock(TraceableRequest.class)));
+		assertThat(delegate.findAll()).isEmpty();
+		assertThat(repository.getDroppedCount()).isEqualTo(1);
+		repository.destroy();
+	}
+
+	@Test
+	public void addWhenQueueIsFullShouldDropTrace() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch adding = new CountDownLatch(1);
+		HttpTraceRepository delegate = new InMemoryHttpTraceRepository() {
+
+			@Override
+			public void add(HttpTrace trace) {
+				adding.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				super.add(trace);
+			}
+
+		};
+		AsyncHttpTraceRepository repository = new AsyncHttpTraceRepository(delegate, 1);
+		repository.afterPropertiesSet();
+		try {
+			repository.add(new HttpTrace(mock(TraceableRequest.class)));
+			assertThat(adding.await(10, TimeUnit.SECONDS)).isTrue();
+			repository.add(new HttpTrace(mock(TraceableRequest.class)));
+			repository.add(new HttpTrace(mock(TraceableRequest.class)));
+			assertThat(repository.getDroppedCount()).isEqualTo(1);
+		}
+		finally {
+			release.countDown();
+			repository.destroy();
+		}
+	}
+
+}
@@ -16,7 +16,12 @@
 
 package org.springframework.boot.actuate.trace.http;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -59,6 +64,42 @@ public class InMemoryHttpTraceRepositoryTests {
 		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("DELETE");
 	}
 
+	@Test
+	public void capacityChangeRetainsMostRecentTraces() {
+		this.repository.setCapacity(3);
+		this.repository.add(new HttpTrace(createRequest("GET")));
+		this.repository.add(new HttpTrace(createRequest("POST")));
+		this.repository.add(new HttpTrace(createRequest("DELETE")));
+		this.repository.setCapacity(2);
+		List<HttpTrace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getRequest().getMethod()).isEqualTo("DELETE");
+		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("POST");
+	}
+
+	@Test
+	public void concurrentAddsAreLimitedByCapacity() throws Exception {
+		this.repository.setCapacity(50);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						this.repository.add(new HttpTrace(createRequest("GET")));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(this.repository.findAll()).hasSize(50).doesNotContainNull();
+	}
+
 	private TraceableRequest createRequest(String method) {
 		TraceableRequest request = mock(TraceableRequest.class);
 		given(request.getMethod()).willReturn(method);
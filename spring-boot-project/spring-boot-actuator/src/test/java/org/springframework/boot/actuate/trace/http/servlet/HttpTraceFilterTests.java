@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.trace.http.servlet;
 
 import java.io.IOException;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.EnumSet;
 
 import javax.servlet.ServletException;
@@ -29,6 +30,7 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace.Session;
+import org.springframework.boot.actuate.trace.http.HttpTraceSampler;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.Include;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
@@ -127,4 +129,48 @@ public class HttpTraceFilterTests {
 		}
 	}
 
+	@Test
+	public void filterDoesNotTraceExchangeThatIsNotSampled()
+			throws ServletException, IOException {
+		this.filter.setSampler(new HttpTraceSampler(0, true, null));
+		this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				new MockFilterChain());
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
+	@Test
+	public void filterTracesSlowExchangeThatIsNotSampled()
+			throws ServletException, IOException {
+		this.filter.setSampler(new HttpTraceSampler(0, false, Duration.ZERO));
+		this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				new MockFilterChain());
+		assertThat(this.repository.findAll()).hasSize(1);
+		assertThat(this.repository.findAll().get(0).getTimeTaken()).isNotNull();
+	}
+
+	@Test
+	public void filterTracesFailedExchangeThatIsNotSampled()
+			throws ServletException, IOException {
+		this.filter.setSampler(new HttpTraceSampler(0, true, null));
+		try {
+			this.filter.doFilter(new MockHttpServletRequest(),
+					new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+
+						@Override
+						protected void service(HttpServletRequest req,
+								HttpServletResponse resp)
+								throws ServletException, IOException {
+							throw new IOException();
+						}
+
+					}));
+			fail("Filter swallowed IOException");
+		}
+		catch (IOException ex) {
+			assertThat(this.repository.findAll()).hasSize(1);
+			assertThat(this.repository.findAll().get(0).getResponse().getStatus())
+					.isEqualTo(500);
+		}
+	}
+
 }
@@ -22,6 +22,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
@@ -32,10 +34,12 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage.Style;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.MultiValueMap;
@@ -49,13 +53,35 @@ import org.springframework.util.MultiValueMap;
  * @see ConditionalOnMissingClass
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
-class OnClassCondition extends SpringBootCondition
-		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+class OnClassCondition extends SpringBootCondition implements
+		AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware,
+		EnvironmentAware {
+
+	/**
+	 * The name of the property used to configure the number of threads that resolve the
+	 * outcomes of auto-configuration classes. Defaults to the number of available
+	 * processors, with a minimum of two. Set to one to resolve them in the calling
+	 * thread. The shared pool is sized by the first value that is used, later values
+	 * may only limit how many of its threads are used.
+	 */
+	static final String PARALLELISM_PROPERTY = "spring.autoconfigure.parallelism";
+
+	/**
+	 * The smallest number of auto-configuration classes worth resolving in a separate
+	 * thread.
+	 */
+	private static final int MINIMUM_CHUNK_SIZE = 16;
+
+	private static final int MINIMUM_DEFAULT_PARALLELISM = 2;
+
+	private static ForkJoinPool pool;
 
 	private BeanFactory beanFactory;
 
 	private ClassLoader beanClassLoader;
 
+	private Environment environment;
+
 	@Override
 	public boolean[] match(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
@@ -87,34 +113,48 @@ class OnClassCondition extends SpringBootCondition
 
 	private ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
-		// Split the work and perform half in a background thread. Using a single
-		// additional thread seems to offer the best performance. More threads make
-		// things worse
-		int split = autoConfigurationClasses.length / 2;
-		OutcomesResolver firstHalfResolver = createOutcomesResolver(
-				autoConfigurationClasses, 0, split, autoConfigurationMetadata);
-		OutcomesResolver secondHalfResolver = new StandardOutcomesResolver(
-				autoConfigurationClasses, split, autoConfigurationClasses.length,
-				autoConfigurationMetadata, this.beanClassLoader);
-		ConditionOutcome[] secondHalf = secondHalfResolver.resolveOutcomes();
-		ConditionOutcome[] firstHalf = firstHalfResolver.resolveOutcomes();
-		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
-		System.arraycopy(firstHalf, 0, outcomes, 0, firstHalf.length);
-		System.arraycopy(secondHalf, 0, outcomes, split, secondHalf.length);
-		return outcomes;
+		int parallelism = getParallelism();
+		if (parallelism > 1 && autoConfigurationClasses.length > 1) {
+			try {
+				ForkJoinPool pool = getPool(parallelism);
+				int chunks = Math.min(Math.min(parallelism, pool.getParallelism()),
+						Math.max(MINIMUM_DEFAULT_PARALLELISM,
+								autoConfigurationClasses.length / MINIMUM_CHUNK_SIZE));
+				return new ForkJoinOutcomesResolver(autoConfigurationClasses,
+						autoConfigurationMetadata, pool, chunks).resolveOutcomes();
+			}
+			catch (AccessControlException ex) {
+				// Fall back to resolving the outcomes in the current thread
+			}
+		}
+		return new StandardOutcomesResolver(autoConfigurationClasses, 0,
+				autoConfigurationClasses.length, autoConfigurationMetadata,
+				this.beanClassLoader).resolveOutcomes();
 	}
 
-	private OutcomesResolver createOutcomesResolver(String[] autoConfigurationClasses,
-			int start, int end, AutoConfigurationMetadata autoConfigurationMetadata) {
-		OutcomesResolver outcomesResolver = new StandardOutcomesResolver(
-				autoConfigurationClasses, start, end, autoConfigurationMetadata,
-				this.beanClassLoader);
-		try {
-			return new ThreadedOutcomesResolver(outcomesResolver);
+	private int getParallelism() {
+		int parallelism = Math.max(MINIMUM_DEFAULT_PARALLELISM,
+				Runtime.getRuntime().availableProcessors());
+		if (this.environment == null) {
+			return parallelism;
 		}
-		catch (AccessControlException ex) {
-			return outcomesResolver;
+		return this.environment.getProperty(PARALLELISM_PROPERTY, Integer.class,
+				parallelism);
+	}
+
+	/**
+	 * Return the pool used to resolve outcomes. The pool is shared by all instances so
+	 * that one isn't created every time outcomes are resolved. It is created once, with
+	 * the parallelism configured when it is first needed, and is never shut down. Its
+	 * threads are reclaimed once they have been idle for a while.
+	 * @param parallelism the configured parallelism
+	 * @return the pool
+	 */
+	private static synchronized ForkJoinPool getPool(int parallelism) {
+		if (pool == null) {
+			pool = new ForkJoinPool(parallelism);
 		}
+		return pool;
 	}
 
 	@Override
@@ -195,6 +235,11 @@ class OnClassCondition extends SpringBootCondition
 		this.beanClassLoader = classLoader;
 	}
 
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
 	private enum MatchType {
 
 		PRESENT {
@@ -246,27 +291,81 @@ class OnClassCondition extends SpringBootCondition
 
 	}
 
-	private static final class ThreadedOutcomesResolver implements OutcomesResolver {
+	/**
+	 * {@link OutcomesResolver} that splits the auto-configuration classes into a number
+	 * of chunks that are resolved in a {@link ForkJoinPool}. Outcomes are always returned
+	 * in the order of the auto-configuration classes.
+	 */
+	private final class ForkJoinOutcomesResolver implements OutcomesResolver {
+
+		private final String[] autoConfigurationClasses;
+
+		private final AutoConfigurationMetadata autoConfigurationMetadata;
+
+		private final ClassLoader classLoader;
 
-		private final Thread thread;
+		private final int chunkSize;
 
-		private volatile ConditionOutcome[] outcomes;
+		private final ForkJoinPool pool;
 
-		private ThreadedOutcomesResolver(OutcomesResolver outcomesResolver) {
-			this.thread = new Thread(
-					() -> this.outcomes = outcomesResolver.resolveOutcomes());
-			this.thread.start();
+		private ForkJoinOutcomesResolver(String[] autoConfigurationClasses,
+				AutoConfigurationMetadata autoConfigurationMetadata, ForkJoinPool pool,
+				int chunks) {
+			this.autoConfigurationClasses = autoConfigurationClasses;
+			this.autoConfigurationMetadata = autoConfigurationMetadata;
+			// Worker threads don't share our context class loader
+			this.classLoader = (OnClassCondition.this.beanClassLoader != null
+					? OnClassCondition.this.beanClassLoader
+					: ClassUtils.getDefaultClassLoader());
+			this.chunkSize = (autoConfigurationClasses.length + chunks - 1) / chunks;
+			this.pool = pool;
 		}
 
 		@Override
 		public ConditionOutcome[] resolveOutcomes() {
-			try {
-				this.thread.join();
+			int length = this.autoConfigurationClasses.length;
+			ConditionOutcome[] outcomes = new ConditionOutcome[length];
+			this.pool.invoke(new ResolveOutcomesAction(outcomes, 0, length));
+			return outcomes;
+		}
+
+		private boolean isChunk(int start, int end) {
+			return (end - start) <= this.chunkSize;
+		}
+
+		private void resolveChunk(ConditionOutcome[] outcomes, int start, int end) {
+			ConditionOutcome[] resolved = new StandardOutcomesResolver(
+					this.autoConfigurationClasses, start, end,
+					this.autoConfigurationMetadata, this.classLoader).resolveOutcomes();
+			System.arraycopy(resolved, 0, outcomes, start, resolved.length);
+		}
+
+		private final class ResolveOutcomesAction extends RecursiveAction {
+
+			private final ConditionOutcome[] outcomes;
+
+			private final int start;
+
+			private final int end;
+
+			private ResolveOutcomesAction(ConditionOutcome[] outcomes, int start,
+					int end) {
+				this.outcomes = outcomes;
+				this.start = start;
+				this.end = end;
 			}
-			catch (InterruptedException ex) {
-				Thread.currentThread().interrupt();
+
+			@Override
+			protected void compute() {
+				if (isChunk(this.start, this.end)) {
+					resolveChunk(this.outcomes, this.start, this.end);
+					return;
+				}
+				int middle = (this.start + this.end) >>> 1;
+				invokeAll(new ResolveOutcomesAction(this.outcomes, this.start, middle),
+						new ResolveOutcomesAction(this.outcomes, middle, this.end));
 			}
-			return this.outcomes;
+
 		}
 
 	}
@@ -25,6 +25,8 @@ import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -72,6 +74,63 @@ public class OnClassConditionAutoConfigurationImportFilterTests {
 				.containsKey("test.nomatch");
 	}
 
+	@Test
+	public void matchWhenResolvedInParallelShouldMatchClassesInOrder() {
+		this.filter.setEnvironment(new MockEnvironment()
+				.withProperty(OnClassCondition.PARALLELISM_PROPERTY, "4"));
+		String[] autoConfigurationClasses = new String[100];
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			autoConfigurationClasses[i] = (i % 3 != 0 ? "test.match" : "test.nomatch");
+		}
+		boolean[] result = this.filter.match(autoConfigurationClasses,
+				getAutoConfigurationMetadata());
+		for (int i = 0; i < result.length; i++) {
+			assertThat(result[i]).isEqualTo(i % 3 != 0);
+		}
+	}
+
+	@Test
+	public void matchWhenParallelismIsOneShouldMatchClasses() {
+		this.filter.setEnvironment(new MockEnvironment()
+				.withProperty(OnClassCondition.PARALLELISM_PROPERTY, "1"));
+		String[] autoConfigurationClasses = new String[100];
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			autoConfigurationClasses[i] = (i % 2 != 0 ? "test.match" : "test.nomatch");
+		}
+		boolean[] result = this.filter.match(autoConfigurationClasses,
+				getAutoConfigurationMetadata());
+		for (int i = 0; i < result.length; i++) {
+			assertThat(result[i]).isEqualTo(i % 2 != 0);
+		}
+	}
+
+	@Test
+	public void matchWhenResolvedInParallelShouldReuseThePool() {
+		this.filter.setEnvironment(new MockEnvironment()
+				.withProperty(OnClassCondition.PARALLELISM_PROPERTY, "4"));
+		this.filter.match(createAutoConfigurationClasses(100),
+				getAutoConfigurationMetadata());
+		Object pool = ReflectionTestUtils.getField(OnClassCondition.class, "pool");
+		assertThat(pool).isNotNull();
+		this.filter.setEnvironment(new MockEnvironment()
+				.withProperty(OnClassCondition.PARALLELISM_PROPERTY, "3"));
+		boolean[] result = this.filter.match(createAutoConfigurationClasses(40),
+				getAutoConfigurationMetadata());
+		assertThat(ReflectionTestUtils.getField(OnClassCondition.class, "pool"))
+				.isSameAs(pool);
+		for (int i = 0; i < result.length; i++) {
+			assertThat(result[i]).isEqualTo(i % 3 != 0);
+		}
+	}
+
+	private String[] createAutoConfigurationClasses(int count) {
+		String[] autoConfigurationClasses = new String[count];
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			autoConfigurationClasses[i] = (i % 3 != 0 ? "test.match" : "test.nomatch");
+		}
+		return autoConfigurationClasses;
+	}
+
 	private AutoConfigurationMetadata getAutoConfigurationMetadata() {
 		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
 		given(metadata.wasProcessed("test.match")).willReturn(true);
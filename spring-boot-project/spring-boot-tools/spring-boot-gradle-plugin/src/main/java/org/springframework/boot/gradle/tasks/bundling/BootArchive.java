@@ -115,4 +115,42 @@ public interface BootArchive extends Task {
 	 */
 	void setExcludeDevtools(boolean excludeDevtools);
 
+	/**
+	 * Returns {@code true} if the application's classes should be stored uncompressed,
+	 * otherwise {@code false}.
+	 * @return {@code true} if classes should be stored uncompressed, or {@code false}
+	 * if they should be deflated
+	 * @since 2.1.0
+	 */
+	@Input
+	boolean isUncompressedClasses();
+
+	/**
+	 * Sets whether or not the application's classes should be stored uncompressed.
+	 * Stored classes make the archive larger but can be loaded without being inflated.
+	 * @param uncompressedClasses {@code true} if classes should be stored uncompressed,
+	 * or {@code false} if they should be deflated
+	 * @since 2.1.0
+	 */
+	void setUncompressedClasses(boolean uncompressedClasses);
+
+	/**
+	 * Returns {@code true} if a layered archive should be written, otherwise
+	 * {@code false}.
+	 * @return {@code true} if the archive is layered, or {@code false} if not
+	 * @since 2.1.0
+	 */
+	@Input
+	boolean isLayered();
+
+	/**
+	 * Sets whether or not a layered archive should be written. A layered archive
+	 * contains an index that allows it to be extracted into a separate folder per layer,
+	 * for example to build a container image with one image layer per archive layer.
+	 * @param layered {@code true} if the archive should be layered, or {@code false} if
+	 * not
+	 * @since 2.1.0
+	 */
+	void setLayered(boolean layered);
+
 }
@@ -61,14 +61,25 @@ class BootArchiveSupport {
 
 	private final String loaderMainClass;
 
+	private final String layersIndexLocation;
+
+	private final Spec<FileCopyDetails> librarySpec;
+
 	private LaunchScriptConfiguration launchScript;
 
 	private boolean excludeDevtools = true;
 
-	BootArchiveSupport(String loaderMainClass,
-			Function<FileCopyDetails, ZipCompression> compressionResolver) {
+	private boolean uncompressedClasses;
+
+	private boolean layered;
+
+	BootArchiveSupport(String loaderMainClass, String layersIndexLocation,
+			Function<FileCopyDetails, ZipCompression> compressionResolver,
+			Spec<FileCopyDetails> librarySpec) {
 		this.loaderMainClass = loaderMainClass;
+		this.layersIndexLocation = layersIndexLocation;
 		this.compressionResolver = compressionResolver;
+		this.librarySpec = librarySpec;
 		this.requiresUnpack.include(Specs.satisfyNone());
 		configureExclusions();
 	}
@@ -77,13 +88,18 @@ class BootArchiveSupport {
 		Attributes attributes = jar.getManifest().getAttributes();
 		attributes.putIfAbsent("Main-Class", this.loaderMainClass);
 		attributes.putIfAbsent("Start-Class", mainClassName);
+		if (this.layered) {
+			attributes.putIfAbsent("Spring-Boot-Layers-Index", this.layersIndexLocation);
+		}
 	}
 
 	CopyAction createCopyAction(Jar jar) {
 		CopyAction copyAction = new BootZipCopyAction(jar.getArchivePath(),
 				jar.isPreserveFileTimestamps(), isUsingDefaultLoader(jar),
 				this.requiresUnpack.getAsSpec(), this.exclusions.getAsExcludeSpec(),
-				this.launchScript, this.compressionResolver, jar.getMetadataCharset());
+				this.launchScript, this.compressionResolver, jar.getMetadataCharset(),
+				this.layered ? new LayerResolver(this.librarySpec) : null,
+				this.layersIndexLocation);
 		if (!jar.isReproducibleFileOrder()) {
 			return copyAction;
 		}
@@ -120,6 +136,22 @@ class BootArchiveSupport {
 		configureExclusions();
 	}
 
+	boolean isUncompressedClasses() {
+		return this.uncompressedClasses;
+	}
+
+	void setUncompressedClasses(boolean uncompressedClasses) {
+		this.uncompressedClasses = uncompressedClasses;
+	}
+
+	boolean isLayered() {
+		return this.layered;
+	}
+
+	void setLayered(boolean layered) {
+		this.layered = layered;
+	}
+
 	private void configureExclusions() {
 		Set<String> excludes = new HashSet<>();
 		if (this.excludeDevtools) {
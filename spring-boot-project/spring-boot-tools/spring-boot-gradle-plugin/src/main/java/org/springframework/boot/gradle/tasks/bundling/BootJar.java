@@ -38,7 +38,8 @@ import org.gradle.api.tasks.bundling.Jar;
 public class BootJar extends Jar implements BootArchive {
 
 	private final BootArchiveSupport support = new BootArchiveSupport(
-			"org.springframework.boot.loader.JarLauncher", this::resolveZipCompression);
+			"org.springframework.boot.loader.JarLauncher", "BOOT-INF/layers.idx",
+			this::resolveZipCompression, this::isLibrary);
 
 	private final CopySpec bootInf;
 
@@ -132,6 +133,26 @@ public class BootJar extends Jar implements BootArchive {
 		this.support.setExcludeDevtools(excludeDevtools);
 	}
 
+	@Override
+	public boolean isUncompressedClasses() {
+		return this.support.isUncompressedClasses();
+	}
+
+	@Override
+	public void setUncompressedClasses(boolean uncompressedClasses) {
+		this.support.setUncompressedClasses(uncompressedClasses);
+	}
+
+	@Override
+	public boolean isLayered() {
+		return this.support.isLayered();
+	}
+
+	@Override
+	public void setLayered(boolean layered) {
+		this.support.setLayered(layered);
+	}
+
 	/**
 	 * Returns a {@code CopySpec} that can be used to add content to the {@code BOOT-INF}
 	 * directory of the jar.
@@ -162,18 +183,29 @@ public class BootJar extends Jar implements BootArchive {
 	 * Returns the {@link ZipCompression} that should be used when adding the file
 	 * represented by the given {@code details} to the jar.
 	 * <p>
-	 * By default, any file in {@code BOOT-INF/lib/} is stored and all other files are
-	 * deflated.
+	 * By default, any file in {@code BOOT-INF/lib/}, and any class in
+	 * {@code BOOT-INF/classes/} when {@link #isUncompressedClasses() uncompressed
+	 * classes} are enabled, is stored and all other files are deflated.
 	 * @param details the details
 	 * @return the compression to use
 	 */
 	protected ZipCompression resolveZipCompression(FileCopyDetails details) {
-		if (details.getRelativePath().getPathString().startsWith("BOOT-INF/lib/")) {
+		if (isLibrary(details) || (isUncompressedClasses()
+				&& isClass(details.getRelativePath().getPathString()))) {
 			return ZipCompression.STORED;
 		}
 		return ZipCompression.DEFLATED;
 	}
 
+	private boolean isLibrary(FileCopyDetails details) {
+		return details.getRelativePath().getPathString().startsWith("BOOT-INF/lib/");
+	}
+
+	private boolean isClass(String relativePath) {
+		return relativePath.startsWith("BOOT-INF/classes/")
+				&& relativePath.endsWith(".class");
+	}
+
 	private LaunchScriptConfiguration enableLaunchScriptIfNecessary() {
 		LaunchScriptConfiguration launchScript = this.support.getLaunchScript();
 		if (launchScript == null) {
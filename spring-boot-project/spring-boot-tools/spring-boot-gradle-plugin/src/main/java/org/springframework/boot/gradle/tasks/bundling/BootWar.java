@@ -39,7 +39,8 @@ import org.gradle.api.tasks.bundling.War;
 public class BootWar extends War implements BootArchive {
 
 	private final BootArchiveSupport support = new BootArchiveSupport(
-			"org.springframework.boot.loader.WarLauncher", this::resolveZipCompression);
+			"org.springframework.boot.loader.WarLauncher", "WEB-INF/layers.idx",
+			this::resolveZipCompression, this::isLibrary);
 
 	private String mainClassName;
 
@@ -134,24 +135,55 @@ public class BootWar extends War implements BootArchive {
 		this.support.setExcludeDevtools(excludeDevtools);
 	}
 
+	@Override
+	public boolean isUncompressedClasses() {
+		return this.support.isUncompressedClasses();
+	}
+
+	@Override
+	public void setUncompressedClasses(boolean uncompressedClasses) {
+		this.support.setUncompressedClasses(uncompressedClasses);
+	}
+
+	@Override
+	public boolean isLayered() {
+		return this.support.isLayered();
+	}
+
+	@Override
+	public void setLayered(boolean layered) {
+		this.support.setLayered(layered);
+	}
+
 	/**
 	 * Returns the {@link ZipCompression} that should be used when adding the file
 	 * represented by the given {@code details} to the jar.
 	 * <p>
-	 * By default, any file in {@code WEB-INF/lib/} or {@code WEB-INF/lib-provided/} is
-	 * stored and all other files are deflated.
+	 * By default, any file in {@code WEB-INF/lib/} or {@code WEB-INF/lib-provided/},
+	 * and any class in {@code WEB-INF/classes/} when {@link #isUncompressedClasses()
+	 * uncompressed classes} are enabled, is stored and all other files are deflated.
 	 * @param details the details
 	 * @return the compression to use
 	 */
 	protected ZipCompression resolveZipCompression(FileCopyDetails details) {
-		String relativePath = details.getRelativePath().getPathString();
-		if (relativePath.startsWith("WEB-INF/lib/")
-				|| relativePath.startsWith("WEB-INF/lib-provided/")) {
+		if (isLibrary(details) || (isUncompressedClasses()
+				&& isClass(details.getRelativePath().getPathString()))) {
 			return ZipCompression.STORED;
 		}
 		return ZipCompression.DEFLATED;
 	}
 
+	private boolean isLibrary(FileCopyDetails details) {
+		String relativePath = details.getRelativePath().getPathString();
+		return relativePath.startsWith("WEB-INF/lib/")
+				|| relativePath.startsWith("WEB-INF/lib-provided/");
+	}
+
+	private boolean isClass(String relativePath) {
+		return relativePath.startsWith("WEB-INF/classes/")
+				&& relativePath.endsWith(".class");
+	}
+
 	private LaunchScriptConfiguration enableLaunchScriptIfNecessary() {
 		LaunchScriptConfiguration launchScript = this.support.getLaunchScript();
 		if (launchScript == null) {
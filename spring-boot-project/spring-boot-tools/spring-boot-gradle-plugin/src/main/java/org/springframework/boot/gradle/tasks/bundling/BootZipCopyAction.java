@@ -44,6 +44,7 @@ import org.gradle.api.tasks.WorkResult;
 
 import org.springframework.boot.loader.tools.DefaultLaunchScript;
 import org.springframework.boot.loader.tools.FileUtils;
+import org.springframework.boot.loader.tools.LayersIndex;
 
 /**
  * A {@link CopyAction} for creating a Spring Boot zip archive (typically a jar or war).
@@ -72,11 +73,15 @@ class BootZipCopyAction implements CopyAction {
 
 	private final String encoding;
 
+	private final LayerResolver layerResolver;
+
+	private final String layersIndexLocation;
+
 	BootZipCopyAction(File output, boolean preserveFileTimestamps,
 			boolean includeDefaultLoader, Spec<FileTreeElement> requiresUnpack,
 			Spec<FileTreeElement> exclusions, LaunchScriptConfiguration launchScript,
 			Function<FileCopyDetails, ZipCompression> compressionResolver,
-			String encoding) {
+			String encoding, LayerResolver layerResolver, String layersIndexLocation) {
 		this.output = output;
 		this.preserveFileTimestamps = preserveFileTimestamps;
 		this.includeDefaultLoader = includeDefaultLoader;
@@ -85,12 +90,16 @@ class BootZipCopyAction implements CopyAction {
 		this.launchScript = launchScript;
 		this.compressionResolver = compressionResolver;
 		this.encoding = encoding;
+		this.layerResolver = layerResolver;
+		this.layersIndexLocation = layersIndexLocation;
 	}
 
 	@Override
 	public WorkResult execute(CopyActionProcessingStream stream) {
 		ZipArchiveOutputStream zipStream;
 		Spec<FileTreeElement> loaderEntries;
+		LayersIndex layersIndex = (this.layerResolver != null)
+				? new LayersIndex(this.layerResolver.getLayers()) : null;
 		try {
 			FileOutputStream fileStream = new FileOutputStream(this.output);
 			writeLaunchScriptIfNecessary(fileStream);
@@ -98,7 +107,7 @@ class BootZipCopyAction implements CopyAction {
 			if (this.encoding != null) {
 				zipStream.setEncoding(this.encoding);
 			}
-			loaderEntries = writeLoaderClassesIfNecessary(zipStream);
+			loaderEntries = writeLoaderClassesIfNecessary(zipStream, layersIndex);
 		}
 		catch (IOException ex) {
 			throw new GradleException("Failed to create " + this.output, ex);
@@ -106,7 +115,9 @@ class BootZipCopyAction implements CopyAction {
 		try {
 			stream.process(new ZipStreamAction(zipStream, this.output,
 					this.preserveFileTimestamps, this.requiresUnpack,
-					createExclusionSpec(loaderEntries), this.compressionResolver));
+					createExclusionSpec(loaderEntries), this.compressionResolver,
+					this.layerResolver, layersIndex));
+			writeLayersIndexIfNecessary(zipStream, layersIndex);
 		}
 		finally {
 			try {
@@ -126,14 +137,15 @@ class BootZipCopyAction implements CopyAction {
 	}
 
 	private Spec<FileTreeElement> writeLoaderClassesIfNecessary(
-			ZipArchiveOutputStream out) {
+			ZipArchiveOutputStream out, LayersIndex layersIndex) {
 		if (!this.includeDefaultLoader) {
 			return Specs.satisfyNone();
 		}
-		return writeLoaderClasses(out);
+		return writeLoaderClasses(out, layersIndex);
 	}
 
-	private Spec<FileTreeElement> writeLoaderClasses(ZipArchiveOutputStream out) {
+	private Spec<FileTreeElement> writeLoaderClasses(ZipArchiveOutputStream out,
+			LayersIndex layersIndex) {
 		try (ZipInputStream in = new ZipInputStream(getClass()
 				.getResourceAsStream("/META-INF/loader/spring-boot-loader.jar"))) {
 			Set<String> entries = new HashSet<>();
@@ -145,6 +157,10 @@ class BootZipCopyAction implements CopyAction {
 				}
 				else if (entry.getName().endsWith(".class")) {
 					writeClass(new ZipArchiveEntry(entry), in, out);
+					if (layersIndex != null) {
+						layersIndex.add(entry.getName(),
+								this.layerResolver.getLayer(entry.getName()));
+					}
 				}
 			}
 			return (element) -> {
@@ -179,6 +195,25 @@ class BootZipCopyAction implements CopyAction {
 		out.closeArchiveEntry();
 	}
 
+	private void writeLayersIndexIfNecessary(ZipArchiveOutputStream out,
+			LayersIndex layersIndex) {
+		if (layersIndex == null) {
+			return;
+		}
+		try {
+			layersIndex.add(this.layersIndexLocation,
+					this.layerResolver.getLayer(this.layersIndexLocation));
+			ZipArchiveEntry entry = new ZipArchiveEntry(this.layersIndexLocation);
+			prepareEntry(entry, UnixStat.FILE_FLAG | UnixStat.DEFAULT_FILE_PERM);
+			out.putArchiveEntry(entry);
+			layersIndex.writeTo(out);
+			out.closeArchiveEntry();
+		}
+		catch (IOException ex) {
+			throw new GradleException("Failed to write layers index", ex);
+		}
+	}
+
 	private void prepareEntry(ZipArchiveEntry entry, int unixMode) {
 		if (!this.preserveFileTimestamps) {
 			entry.setTime(CONSTANT_TIME_FOR_ZIP_ENTRIES);
@@ -215,16 +250,23 @@ class BootZipCopyAction implements CopyAction {
 
 		private final Function<FileCopyDetails, ZipCompression> compressionType;
 
+		private final LayerResolver layerResolver;
+
+		private final LayersIndex layersIndex;
+
 		private ZipStreamAction(ZipArchiveOutputStream zipStream, File output,
 				boolean preserveFileTimestamps, Spec<FileTreeElement> requiresUnpack,
 				Spec<FileTreeElement> exclusions,
-				Function<FileCopyDetails, ZipCompression> compressionType) {
+				Function<FileCopyDetails, ZipCompression> compressionType,
+				LayerResolver layerResolver, LayersIndex layersIndex) {
 			this.zipStream = zipStream;
 			this.output = output;
 			this.preserveFileTimestamps = preserveFileTimestamps;
 			this.requiresUnpack = requiresUnpack;
 			this.exclusions = exclusions;
 			this.compressionType = compressionType;
+			this.layerResolver = layerResolver;
+			this.layersIndex = layersIndex;
 		}
 
 		@Override
@@ -267,6 +309,9 @@ class BootZipCopyAction implements CopyAction {
 			this.zipStream.putArchiveEntry(archiveEntry);
 			details.copyTo(this.zipStream);
 			this.zipStream.closeArchiveEntry();
+			if (this.layersIndex != null) {
+				this.layersIndex.add(relativePath, this.layerResolver.getLayer(details));
+			}
 		}
 
 		private void prepareStoredEntry(FileCopyDetailsInternal details,
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.gradle.tasks.bundling;
+
+import org.gradle.api.file.FileCopyDetails;
+import org.gradle.api.specs.Spec;
+
+import org.springframework.boot.loader.tools.Layer;
+import org.springframework.boot.loader.tools.Layers;
+import org.springframework.boot.loader.tools.Library;
+import org.springframework.boot.loader.tools.LibraryScope;
+import org.springframework.boot.loader.tools.StandardLayers;
+
+/**
+ * Resolves the {@link Layer} of each file written to a layered archive.
+ *
+ * @author Andy Wilkinson
+ */
+class LayerResolver {
+
+	private final Layers layers = new StandardLayers();
+
+	private final Spec<FileCopyDetails> librarySpec;
+
+	LayerResolver(Spec<FileCopyDetails> librarySpec) {
+		this.librarySpec = librarySpec;
+	}
+
+	Iterable<Layer> getLayers() {
+		return this.layers;
+	}
+
+	Layer getLayer(String name) {
+		return this.layers.getLayer(name);
+	}
+
+	Layer getLayer(FileCopyDetails details) {
+		if (this.librarySpec.isSatisfiedBy(details)) {
+			return this.layers.getLayer(new Library(details.getName(),
+					details.getFile(), LibraryScope.COMPILE, false));
+		}
+		return getLayer(details.getRelativePath().getPathString());
+	}
+
+}
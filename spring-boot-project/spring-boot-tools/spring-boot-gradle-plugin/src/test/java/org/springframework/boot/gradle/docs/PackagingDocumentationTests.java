@@ -22,6 +22,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -134,6 +135,40 @@ public class PackagingDocumentationTests {
 		}
 	}
 
+	@Test
+	public void bootJarUncompressedClasses() throws IOException {
+		File examplePackage = new File(this.gradleBuild.getProjectDir(),
+				"src/main/java/com/example");
+		examplePackage.mkdirs();
+		FileCopyUtils.copy("package com.example;\n\npublic class Example {\n}\n",
+				new FileWriter(new File(examplePackage, "Example.java")));
+		this.gradleBuild
+				.script("src/main/gradle/packaging/boot-jar-uncompressed-classes.gradle")
+				.build("bootJar");
+		File file = new File(this.gradleBuild.getProjectDir(),
+				"build/libs/" + this.gradleBuild.getProjectDir().getName() + ".jar");
+		assertThat(file).isFile();
+		try (JarFile jar = new JarFile(file)) {
+			assertThat(jar.getJarEntry("BOOT-INF/classes/com/example/Example.class")
+					.getMethod()).isEqualTo(ZipEntry.STORED);
+		}
+	}
+
+	@Test
+	public void bootJarLayered() throws IOException {
+		this.gradleBuild.script("src/main/gradle/packaging/boot-jar-layered.gradle")
+				.build("bootJar");
+		File file = new File(this.gradleBuild.getProjectDir(),
+				"build/libs/" + this.gradleBuild.getProjectDir().getName() + ".jar");
+		assertThat(file).isFile();
+		try (JarFile jar = new JarFile(file)) {
+			assertThat(jar.getManifest().getMainAttributes()
+					.getValue("Spring-Boot-Layers-Index"))
+							.isEqualTo("BOOT-INF/layers.idx");
+			assertThat(jar.getEntry("BOOT-INF/layers.idx")).isNotNull();
+		}
+	}
+
 	@Test
 	public void bootJarIncludeLaunchScript() throws IOException {
 		this.gradleBuild
@@ -16,8 +16,11 @@
 
 package org.springframework.boot.gradle.tasks.bundling;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
@@ -28,6 +31,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
@@ -128,6 +133,49 @@ public abstract class AbstractBootArchiveTests<T extends Jar & BootArchive> {
 		}
 	}
 
+	@Test
+	public void classesAreStoredWhenUncompressedClassesIsEnabled() throws IOException {
+		this.task.setMainClassName("com.example.Main");
+		File classpathFolder = this.temp.newFolder();
+		File applicationClass = new File(classpathFolder,
+				"com/example/Application.class");
+		applicationClass.getParentFile().mkdirs();
+		applicationClass.createNewFile();
+		new File(classpathFolder, "application.properties").createNewFile();
+		this.task.classpath(classpathFolder);
+		this.task.setUncompressedClasses(true);
+		this.task.execute();
+		try (JarFile jarFile = new JarFile(this.task.getArchivePath())) {
+			assertThat(jarFile
+					.getEntry(this.classesPath + "/com/example/Application.class")
+					.getMethod()).isEqualTo(ZipEntry.STORED);
+			assertThat(jarFile.getEntry(this.classesPath + "/application.properties")
+					.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+		}
+	}
+
+	@Test
+	public void layeredArchiveHasLayersIndex() throws IOException {
+		this.task.setMainClassName("com.example.Main");
+		this.task.classpath(this.temp.newFile("one.jar"),
+				this.temp.newFile("two-1.0.0-SNAPSHOT.jar"));
+		this.task.setLayered(true);
+		this.task.execute();
+		try (JarFile jarFile = new JarFile(this.task.getArchivePath())) {
+			String location = jarFile.getManifest().getMainAttributes()
+					.getValue("Spring-Boot-Layers-Index");
+			assertThat(location).isNotNull();
+			List<String> index = new BufferedReader(new InputStreamReader(
+					jarFile.getInputStream(jarFile.getEntry(location)),
+					StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+			assertThat(index).containsSubsequence("- \"dependencies\":",
+					"  - \"" + this.libPath + "/one.jar\"", "- \"spring-boot-loader\":",
+					"  - \"org/\"", "- \"snapshot-dependencies\":",
+					"  - \"" + this.libPath + "/two-1.0.0-SNAPSHOT.jar\"",
+					"- \"application\":");
+		}
+	}
+
 	@Test
 	public void loaderIsWrittenToTheRootOfTheJar() throws IOException {
 		this.task.setMainClassName("com.example.Main");
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Creates the pre-sorted entries index that is written alongside each nested library so
+ * that the launcher can open it without parsing and sorting its central directory. The
+ * index also lists the packages (folders of the file entries) of the library so that the
+ * launcher can tell which libraries can contain a class without reading their entries.
+ * The format must be kept in sync with {@code org.springframework.boot.loader.jar.JarFile}.
+ *
+ * @author Phillip Webb
+ */
+final class JarEntriesIndexWriter {
+
+	private static final String LOCATION = "META-INF/entries-index/";
+
+	private static final String SUFFIX = ".idx";
+
+	private static final int SIGNATURE = 0x01584449;
+
+	private static final int HEADER_SIZE = 20;
+
+	private static final int SIGNED_FLAG = 0x01;
+
+	private static final int PACKAGES_FLAG = 0x02;
+
+	private static final int END_RECORD_SIGNATURE = 0x06054b50;
+
+	private static final int END_RECORD_MINIMUM_SIZE = 22;
+
+	private static final int END_RECORD_MAXIMUM_SIZE = END_RECORD_MINIMUM_SIZE + 0xFFFF;
+
+	private static final int FILE_HEADER_SIGNATURE = 0x02014b50;
+
+	private static final int FILE_HEADER_BASE_SIZE = 46;
+
+	private JarEntriesIndexWriter() {
+	}
+
+	/**
+	 * Return the name of the entry that holds the index for the given nested library
+	 * entry.
+	 * @param name the name of the library entry
+	 * @return the name of the index entry
+	 */
+	static String getLocation(String name) {
+		return LOCATION + name + SUFFIX;
+	}
+
+	/**
+	 * Create the index for the given jar file.
+	 * @param file the jar file
+	 * @param crc the CRC of the jar file
+	 * @return the index bytes or {@code null} if the file cannot be indexed
+	 * @throws IOException if the file cannot be read
+	 */
+	static byte[] createIndex(File file, long crc) throws IOException {
+		try (RandomAccessFile data = new RandomAccessFile(file, "r")) {
+			ByteBuffer endRecord = findEndRecord(data);
+			if (endRecord == null) {
+				return null;
+			}
+			int numberOfRecords = endRecord.getShort(10) & 0xFFFF;
+			long centralDirectorySize = endRecord.getInt(12) & 0xFFFFFFFFL;
+			long centralDirectoryStart = data.length() - endRecord.capacity()
+					- centralDirectorySize;
+			if (numberOfRecords == 0xFFFF || centralDirectoryStart < 0) {
+				return null;
+			}
+			byte[] centralDirectory = new byte[(int) centralDirectorySize];
+			data.seek(centralDirectoryStart);
+			data.readFully(centralDirectory);
+			return createIndex(ByteBuffer.wrap(centralDirectory)
+					.order(ByteOrder.LITTLE_ENDIAN), numberOfRecords, crc);
+		}
+	}
+
+	private static ByteBuffer findEndRecord(RandomAccessFile data) throws IOException {
+		int length = (int) Math.min(data.length(), END_RECORD_MAXIMUM_SIZE);
+		byte[] block = new byte[length];
+		data.seek(data.length() - length);
+		data.readFully(block);
+		ByteBuffer buffer = ByteBuffer.wrap(block).order(ByteOrder.LITTLE_ENDIAN);
+		for (int offset = length - END_RECORD_MINIMUM_SIZE; offset >= 0; offset--) {
+			int commentLength = buffer.getShort(offset + 20) & 0xFFFF;
+			if (buffer.getInt(offset) == END_RECORD_SIGNATURE
+					&& length - offset == END_RECORD_MINIMUM_SIZE + commentLength) {
+				buffer.position(offset);
+				return buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+		return null;
+	}
+
+	private static byte[] createIndex(ByteBuffer centralDirectory, int numberOfRecords,
+			long crc) {
+		CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT);
+		long[] sortKeys = new long[numberOfRecords];
+		int[] centralDirectoryOffsets = new int[numberOfRecords];
+		Set<String> packages = new TreeSet<>();
+		boolean signed = false;
+		int offset = 0;
+		for (int i = 0; i < numberOfRecords; i++) {
+			if (offset + FILE_HEADER_BASE_SIZE > centralDirectory.capacity()
+					|| centralDirectory.getInt(offset) != FILE_HEADER_SIGNATURE) {
+				return null;
+			}
+			int nameLength = centralDirectory.getShort(offset + 28) & 0xFFFF;
+			int extraLength = centralDirectory.getShort(offset + 30) & 0xFFFF;
+			int commentLength = centralDirectory.getShort(offset + 32) & 0xFFFF;
+			String name = decodeName(decoder, centralDirectory,
+					offset + FILE_HEADER_BASE_SIZE, nameLength);
+			if (name == null) {
+				return null;
+			}
+			signed = signed || (name.startsWith("META-INF/") && name.endsWith(".SF"));
+			if (!name.endsWith("/")) {
+				packages.add(name.substring(0, name.lastIndexOf('/') + 1));
+			}
+			// Sort by hash code, keeping the original position for equal hashes
+			sortKeys[i] = ((long) name.hashCode() << 32) | i;
+			centralDirectoryOffsets[i] = offset;
+			offset += FILE_HEADER_BASE_SIZE + nameLength + extraLength + commentLength;
+		}
+		Arrays.sort(sortKeys);
+		byte[][] packageNames = new byte[packages.size()][];
+		int packagesSize = 4;
+		int packageIndex = 0;
+		for (String packageName : packages) {
+			packageNames[packageIndex] = packageName.getBytes(StandardCharsets.UTF_8);
+			packagesSize += 2 + packageNames[packageIndex].length;
+			packageIndex++;
+		}
+		ByteBuffer index = ByteBuffer
+				.allocate(HEADER_SIZE + numberOfRecords * 12 + packagesSize)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		index.putInt(SIGNATURE);
+		index.putInt((int) crc);
+		index.putInt(numberOfRecords);
+		index.putInt((signed ? SIGNED_FLAG : 0) | PACKAGES_FLAG);
+		index.putInt(numberOfRecords);
+		for (long sortKey : sortKeys) {
+			index.putInt((int) (sortKey >> 32));
+		}
+		int[] positions = new int[numberOfRecords];
+		for (int i = 0; i < numberOfRecords; i++) {
+			int position = (int) sortKeys[i];
+			index.putInt(centralDirectoryOffsets[position]);
+			positions[position] = i;
+		}
+		for (int position : positions) {
+			index.putInt(position);
+		}
+		index.putInt(packageNames.length);
+		for (byte[] packageName : packageNames) {
+			index.putShort((short) packageName.length);
+			index.put(packageName);
+		}
+		return index.array();
+	}
+
+	private static String decodeName(CharsetDecoder decoder, ByteBuffer centralDirectory,
+			int offset, int length) {
+		if (offset + length > centralDirectory.capacity()) {
+			return null;
+		}
+		ByteBuffer name = centralDirectory.duplicate();
+		name.position(offset);
+		name.limit(offset + length);
+		try {
+			return decoder.decode(name).toString();
+		}
+		catch (CharacterCodingException ex) {
+			return null;
+		}
+	}
+
+}
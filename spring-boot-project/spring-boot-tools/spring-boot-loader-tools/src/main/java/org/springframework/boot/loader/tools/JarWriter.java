@@ -32,8 +32,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -45,6 +47,8 @@ import java.util.zip.ZipEntry;
 import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
 import org.apache.commons.compress.archivers.jar.JarArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 
 /**
  * Writes JAR content, ensuring valid directory entries are always created and duplicate
@@ -63,7 +67,11 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	private final JarArchiveOutputStream jarOutput;
 
-	private final Set<String> writtenEntries = new HashSet<>();
+	private final Set<String> writtenEntries = new LinkedHashSet<>();
+
+	private boolean uncompressedClasses;
+
+	private ZipFile previousArchive;
 
 	/**
 	 * Create a new {@link JarWriter} instance.
@@ -106,6 +114,49 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 	}
 
+	/**
+	 * Sets if {@code .class} entries copied from a source jar should be stored rather
+	 * than compressed.
+	 * @param uncompressedClasses if classes should be stored uncompressed
+	 */
+	void setUncompressedClasses(boolean uncompressedClasses) {
+		this.uncompressedClasses = uncompressedClasses;
+	}
+
+	/**
+	 * Sets a previously written archive from which unchanged entries can be copied
+	 * rather than written again. An entry is unchanged when the previous archive
+	 * contains an entry with the same name, method, size and CRC. Archives that cannot
+	 * be read are ignored.
+	 * <p>
+	 * The CRC of each nested library is still calculated from its content. It has to be
+	 * known before a stored entry is written, and a stamp such as the size and
+	 * modification time of the file cannot show that the content is unchanged, for
+	 * example when a build produces libraries with fixed timestamps. What is saved is
+	 * the write of the library and the calculation of its entries index.
+	 * @param previousArchive the previous archive or {@code null}
+	 */
+	void setPreviousArchive(File previousArchive) {
+		closePreviousArchive();
+		if (previousArchive != null && previousArchive.isFile()) {
+			try {
+				this.previousArchive = new ZipFile(previousArchive);
+			}
+			catch (IOException ex) {
+				// Ignore and write all entries
+			}
+		}
+	}
+
+	/**
+	 * Return the names of the entries that have been written, in the order in which
+	 * they were written.
+	 * @return the written entry names
+	 */
+	Set<String> getWrittenEntries() {
+		return Collections.unmodifiableSet(this.writtenEntries);
+	}
+
 	/**
 	 * Write the specified manifest.
 	 * @param manifest the manifest to write
@@ -150,12 +201,18 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 			throws IOException {
 		try (ZipHeaderPeekInputStream inputStream = new ZipHeaderPeekInputStream(
 				jarFile.getInputStream(entry))) {
-			if (inputStream.hasZipHeader() && entry.getMethod() != ZipEntry.STORED) {
+			if (entry.getMethod() != ZipEntry.STORED
+					&& (inputStream.hasZipHeader() || isStoredClass(entry))) {
 				new CrcAndSize(inputStream).setupStoredEntry(entry);
 			}
 		}
 	}
 
+	private boolean isStoredClass(JarArchiveEntry entry) {
+		return this.uncompressedClasses && !entry.isDirectory()
+				&& entry.getName().endsWith(".class");
+	}
+
 	/**
 	 * Writes an entry. The {@code inputStream} is closed once the entry has been written
 	 * @param entryName The name of the entry
@@ -169,7 +226,8 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	}
 
 	/**
-	 * Write a nested library.
+	 * Write a nested library. Unless the library needs to be unpacked, a pre-sorted index
+	 * of its entries is also written so that it can be opened quickly at runtime.
 	 * @param destination the destination of the library
 	 * @param library the library
 	 * @throws IOException if the write fails
@@ -178,10 +236,43 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 			throws IOException {
 		File file = library.getFile();
 		JarArchiveEntry entry = new JarArchiveEntry(destination + library.getName());
-		entry.setTime(getNestedLibraryTime(file));
 		new CrcAndSize(file).setupStoredEntry(entry);
-		writeEntry(entry, new InputStreamEntryWriter(new FileInputStream(file), true),
-				new LibraryUnpackHandler(library));
+		UnpackHandler unpackHandler = new LibraryUnpackHandler(library);
+		boolean unchanged = getPreviousEntry(entry, unpackHandler) != null;
+		if (!unchanged) {
+			entry.setTime(getNestedLibraryTime(file));
+		}
+		writeEntry(entry, (outputStream) -> new InputStreamEntryWriter(
+				new FileInputStream(file), true).write(outputStream), unpackHandler);
+		if (!library.isUnpackRequired()
+				&& !(unchanged && writePreviousNestedLibraryIndex(entry))) {
+			writeNestedLibraryIndex(entry, file);
+		}
+	}
+
+	private boolean writePreviousNestedLibraryIndex(JarArchiveEntry libraryEntry)
+			throws IOException {
+		ZipArchiveEntry previous = this.previousArchive
+				.getEntry(JarEntriesIndexWriter.getLocation(libraryEntry.getName()));
+		if (previous == null || !this.writtenEntries.add(previous.getName())) {
+			return false;
+		}
+		this.jarOutput.addRawArchiveEntry(previous,
+				this.previousArchive.getRawInputStream(previous));
+		return true;
+	}
+
+	private void writeNestedLibraryIndex(JarArchiveEntry libraryEntry, File file)
+			throws IOException {
+		byte[] index = JarEntriesIndexWriter.createIndex(file, libraryEntry.getCrc());
+		if (index != null) {
+			JarArchiveEntry entry = new JarArchiveEntry(
+					JarEntriesIndexWriter.getLocation(libraryEntry.getName()));
+			entry.setTime(libraryEntry.getTime());
+			new CrcAndSize(new ByteArrayInputStream(index)).setupStoredEntry(entry);
+			writeEntry(entry, new InputStreamEntryWriter(new ByteArrayInputStream(index),
+					true));
+		}
 	}
 
 	private long getNestedLibraryTime(File file) {
@@ -238,7 +329,17 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	@Override
 	public void close() throws IOException {
-		this.jarOutput.close();
+		try {
+			this.jarOutput.close();
+		}
+		finally {
+			closePreviousArchive();
+		}
+	}
+
+	private void closePreviousArchive() {
+		ZipFile.closeQuietly(this.previousArchive);
+		this.previousArchive = null;
 	}
 
 	private void writeEntry(JarArchiveEntry entry, EntryWriter entryWriter)
@@ -272,6 +373,12 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 
 		if (this.writtenEntries.add(entry.getName())) {
+			ZipArchiveEntry previous = (entryWriter != null
+					? getPreviousEntry(entry, unpackHandler) : null);
+			if (previous != null) {
+				writePreviousEntry(entry, previous);
+				return;
+			}
 			entryWriter = addUnpackCommentIfNecessary(entry, entryWriter, unpackHandler);
 			this.jarOutput.putArchiveEntry(entry);
 			if (entryWriter != null) {
@@ -281,6 +388,37 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 	}
 
+	private ZipArchiveEntry getPreviousEntry(JarArchiveEntry entry,
+			UnpackHandler unpackHandler) {
+		if (this.previousArchive == null || entry.getCrc() == -1
+				|| entry.getSize() == -1) {
+			return null;
+		}
+		ZipArchiveEntry previous = this.previousArchive.getEntry(entry.getName());
+		if (previous == null || previous.isDirectory()
+				|| previous.getMethod() != entry.getMethod()
+				|| previous.getSize() != entry.getSize()
+				|| previous.getCrc() != entry.getCrc()) {
+			return null;
+		}
+		boolean previouslyUnpacked = previous.getComment() != null
+				&& previous.getComment().startsWith("UNPACK:");
+		if (previouslyUnpacked != unpackHandler.requiresUnpack(entry.getName())) {
+			return null;
+		}
+		return previous;
+	}
+
+	private void writePreviousEntry(JarArchiveEntry entry, ZipArchiveEntry previous)
+			throws IOException {
+		JarArchiveEntry copy = new JarArchiveEntry(previous);
+		if (entry.getTime() != -1) {
+			copy.setTime(entry.getTime());
+		}
+		this.jarOutput.addRawArchiveEntry(copy,
+				this.previousArchive.getRawInputStream(previous));
+	}
+
 	private EntryWriter addUnpackCommentIfNecessary(JarArchiveEntry entry,
 			EntryWriter entryWriter, UnpackHandler unpackHandler) throws IOException {
 		if (entryWriter == null || !unpackHandler.requiresUnpack(entry.getName())) {
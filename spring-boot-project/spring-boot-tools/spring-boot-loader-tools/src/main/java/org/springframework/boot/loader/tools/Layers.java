@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+/**
+ * Strategy used to split the content of an archive into {@link Layer layers}. Layers
+ * are iterated in the order in which they should be added to a container image, that
+ * is, from the least to the most frequently changed.
+ *
+ * @author Phillip Webb
+ * @since 2.1.0
+ * @see StandardLayers
+ */
+public interface Layers extends Iterable<Layer> {
+
+	/**
+	 * Return the layer that contains the given resource, for example a loader or
+	 * application class.
+	 * @param resourceName the name of the resource within the archive
+	 * @return the layer
+	 */
+	Layer getLayer(String resourceName);
+
+	/**
+	 * Return the layer that contains the given library.
+	 * @param library the library
+	 * @return the layer
+	 */
+	Layer getLayer(Library library);
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index describing the {@link Layer layer} of each entry of a layered archive. For each
+ * layer, in order, the index lists the names of its entries. Whenever every entry
+ * beneath a folder belongs to the same layer, the folder (ending in {@code /}) is listed
+ * instead so that the index stays small:
+ *
+ * <pre class="code">
+ * - "dependencies":
+ *   - "BOOT-INF/lib/spring-core-5.1.0.RELEASE.jar"
+ * - "spring-boot-loader":
+ *   - "org/"
+ * - "application":
+ *   - "BOOT-INF/classes/"
+ *   - "META-INF/MANIFEST.MF"
+ * </pre>
+ *
+ * @author Phillip Webb
+ * @since 2.1.0
+ */
+public class LayersIndex {
+
+	private final Iterable<Layer> layers;
+
+	private final Map<String, Layer> entries = new LinkedHashMap<>();
+
+	/**
+	 * Create a new {@link LayersIndex} for the given layers.
+	 * @param layers the layers in order
+	 */
+	public LayersIndex(Iterable<Layer> layers) {
+		this.layers = layers;
+	}
+
+	/**
+	 * Add an entry to the index. Folder entries are ignored.
+	 * @param name the name of the entry
+	 * @param layer the layer of the entry
+	 */
+	public void add(String name, Layer layer) {
+		if (!name.endsWith("/")) {
+			this.entries.put(name, layer);
+		}
+	}
+
+	/**
+	 * Write the index to the given output stream. The stream is not closed.
+	 * @param outputStream the destination output stream
+	 * @throws IOException if the index cannot be written
+	 */
+	public void writeTo(OutputStream outputStream) throws IOException {
+		Map<Layer, Set<String>> listing = getListing();
+		Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+		for (Layer layer : this.layers) {
+			writer.write("- \"" + layer + "\":\n");
+			for (String name : listing.getOrDefault(layer, new HashSet<>())) {
+				writer.write("  - \"" + name + "\"\n");
+			}
+		}
+		writer.flush();
+	}
+
+	private Map<Layer, Set<String>> getListing() {
+		Map<String, Set<Layer>> folderLayers = new HashMap<>();
+		this.entries.forEach((name, layer) -> {
+			int end = name.indexOf('/');
+			while (end != -1) {
+				folderLayers.computeIfAbsent(name.substring(0, end + 1),
+						(folder) -> new HashSet<>()).add(layer);
+				end = name.indexOf('/', end + 1);
+			}
+		});
+		Map<Layer, Set<String>> listing = new HashMap<>();
+		this.entries.forEach((name, layer) -> listing
+				.computeIfAbsent(layer, (key) -> new LinkedHashSet<>())
+				.add(getListedName(name, folderLayers)));
+		return listing;
+	}
+
+	private String getListedName(String name, Map<String, Set<Layer>> folderLayers) {
+		int end = name.indexOf('/');
+		while (end != -1) {
+			String folder = name.substring(0, end + 1);
+			if (folderLayers.get(folder).size() == 1) {
+				return folder;
+			}
+			end = name.indexOf('/', end + 1);
+		}
+		return name;
+	}
+
+}
@@ -55,4 +55,15 @@ public interface Layout {
 	 */
 	boolean isExecutable();
 
+	/**
+	 * Returns the location of the index that describes the {@link Layer layers} of a
+	 * layered archive.
+	 * @return the layers index location or {@code null} if the layout does not support
+	 * layers
+	 * @since 2.1.0
+	 */
+	default String getLayersIndexFileLocation() {
+		return null;
+	}
+
 }
@@ -81,6 +81,11 @@ public final class Layouts {
 			return "BOOT-INF/classes/";
 		}
 
+		@Override
+		public String getLayersIndexFileLocation() {
+			return "BOOT-INF/layers.idx";
+		}
+
 		@Override
 		public boolean isExecutable() {
 			return true;
@@ -148,6 +153,11 @@ public final class Layouts {
 			return "WEB-INF/classes/";
 		}
 
+		@Override
+		public String getLayersIndexFileLocation() {
+			return "WEB-INF/layers.idx";
+		}
+
 		@Override
 		public boolean isExecutable() {
 			return true;
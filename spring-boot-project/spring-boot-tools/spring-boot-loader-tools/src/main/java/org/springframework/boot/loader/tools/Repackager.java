@@ -16,11 +16,15 @@
 
 package org.springframework.boot.loader.tools;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +61,8 @@ public class Repackager {
 
 	private static final String BOOT_CLASSES_ATTRIBUTE = "Spring-Boot-Classes";
 
+	private static final String BOOT_LAYERS_INDEX_ATTRIBUTE = "Spring-Boot-Layers-Index";
+
 	private static final byte[] ZIP_FILE_HEADER = new byte[] { 'P', 'K', 3, 4 };
 
 	private static final long FIND_WARNING_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
@@ -75,6 +81,12 @@ public class Repackager {
 
 	private LayoutFactory layoutFactory;
 
+	private boolean uncompressedClasses;
+
+	private boolean incremental;
+
+	private Layers layers;
+
 	public Repackager(File source) {
 		this(source, null);
 	}
@@ -139,6 +151,44 @@ public class Repackager {
 		this.layoutFactory = layoutFactory;
 	}
 
+	/**
+	 * Sets if the application's classes should be stored uncompressed. Stored classes
+	 * make the archive larger but can be read without being inflated each time the
+	 * application starts.
+	 * @param uncompressedClasses if classes should be stored uncompressed
+	 * @since 2.1.0
+	 */
+	public void setUncompressedClasses(boolean uncompressedClasses) {
+		this.uncompressedClasses = uncompressedClasses;
+	}
+
+	/**
+	 * Sets if repackaging should be incremental. When incremental, entries of an
+	 * archive previously repackaged to the same destination are reused, rather than
+	 * written again, if their content has not changed. When the destination is the
+	 * source, the previous archive has been replaced by the time it is repackaged so the
+	 * repackaged archive is also linked, without being copied, to a file next to it with
+	 * a {@code .previous} suffix. If the file system does not support links, or the
+	 * build overwrites the archive in place rather than replacing it, the next in-place
+	 * repackage writes all entries again.
+	 * @param incremental if repackaging should be incremental
+	 * @since 2.1.0
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Sets the layers that should be used to write a layered archive. A layered archive
+	 * contains an index that allows it to be extracted into a separate folder per layer.
+	 * @param layers the layers or {@code null} to write an archive without layers
+	 * @since 2.1.0
+	 * @see StandardLayers
+	 */
+	public void setLayers(Layers layers) {
+		this.layers = layers;
+	}
+
 	/**
 	 * Repackage the source file so that it can be run using '{@literal java -jar}'.
 	 * @param libraries the libraries required to run the archive
@@ -179,29 +229,73 @@ public class Repackager {
 		if (this.layout == null) {
 			this.layout = getLayoutFactory().getLayout(this.source);
 		}
+		if (this.layers != null && this.layout.getLayersIndexFileLocation() == null) {
+			throw new IllegalStateException("Layout "
+					+ this.layout.getClass().getName() + " does not support layers");
+		}
 		if (alreadyRepackaged()) {
 			return;
 		}
 		destination = destination.getAbsoluteFile();
+		boolean inPlace = this.source.equals(destination);
 		File workingSource = this.source;
-		if (this.source.equals(destination)) {
+		if (inPlace) {
 			workingSource = getBackupFile();
 			workingSource.delete();
 			renameFile(this.source, workingSource);
 		}
+		File previous = getPreviousArchive(destination, inPlace);
 		destination.delete();
 		try {
 			try (JarFile jarFileSource = new JarFile(workingSource)) {
-				repackage(jarFileSource, destination, libraries, launchScript);
+				repackage(jarFileSource, destination, libraries, launchScript,
+						previous);
 			}
 		}
 		finally {
 			if (!this.backupSource && !this.source.equals(workingSource)) {
 				deleteFile(workingSource);
 			}
+			if (previous != null && !inPlace) {
+				deleteFile(previous);
+			}
+		}
+		if (this.incremental && inPlace) {
+			linkPreviousArchive(destination);
 		}
 	}
 
+	private void linkPreviousArchive(File destination) {
+		File previous = getPreviousArchiveFile(destination);
+		previous.delete();
+		try {
+			Files.createLink(previous.toPath(), destination.toPath());
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			// Don't copy the archive, the next repackage writes all entries
+		}
+	}
+
+	private File getPreviousArchive(File destination, boolean inPlace) {
+		if (!this.incremental) {
+			return null;
+		}
+		File previous = getPreviousArchiveFile(destination);
+		if (inPlace) {
+			return (previous.isFile() ? previous : null);
+		}
+		if (!destination.isFile()) {
+			return null;
+		}
+		previous.delete();
+		renameFile(destination, previous);
+		return previous;
+	}
+
+	private File getPreviousArchiveFile(File destination) {
+		return new File(destination.getParentFile(), destination.getName() + ".previous");
+	}
+
 	private LayoutFactory getLayoutFactory() {
 		if (this.layoutFactory != null) {
 			return this.layoutFactory;
@@ -232,9 +326,11 @@ public class Repackager {
 	}
 
 	private void repackage(JarFile sourceJar, File destination, Libraries libraries,
-			LaunchScript launchScript) throws IOException {
+			LaunchScript launchScript, File previous) throws IOException {
 		WritableLibraries writeableLibraries = new WritableLibraries(libraries);
 		try (JarWriter writer = new JarWriter(destination, launchScript)) {
+			writer.setUncompressedClasses(this.uncompressedClasses);
+			writer.setPreviousArchive(previous);
 			writer.writeManifest(buildManifest(sourceJar));
 			writeLoaderClasses(writer);
 			if (this.layout instanceof RepackagingLayout) {
@@ -246,9 +342,28 @@ public class Repackager {
 				writer.writeEntries(sourceJar, writeableLibraries);
 			}
 			writeableLibraries.write(writer);
+			if (this.layers != null) {
+				writeLayersIndex(writer, writeableLibraries);
+			}
 		}
 	}
 
+	private void writeLayersIndex(JarWriter writer, WritableLibraries libraries)
+			throws IOException {
+		String location = this.layout.getLayersIndexFileLocation();
+		Map<String, Layer> libraryLayers = libraries.getLayers(this.layers);
+		LayersIndex index = new LayersIndex(this.layers);
+		for (String name : writer.getWrittenEntries()) {
+			Layer layer = libraryLayers.get(name);
+			index.add(name, (layer != null) ? layer : this.layers.getLayer(name));
+		}
+		index.add(location, this.layers.getLayer(location));
+		ByteArrayOutputStream indexOutputStream = new ByteArrayOutputStream();
+		index.writeTo(indexOutputStream);
+		writer.writeEntry(location,
+				new ByteArrayInputStream(indexOutputStream.toByteArray()));
+	}
+
 	private void writeLoaderClasses(JarWriter writer) throws IOException {
 		if (this.layout instanceof CustomLoaderLayout) {
 			((CustomLoaderLayout) this.layout).writeLoadedClasses(writer);
@@ -314,6 +429,10 @@ public class Repackager {
 		if (StringUtils.hasLength(lib)) {
 			manifest.getMainAttributes().putValue(BOOT_LIB_ATTRIBUTE, lib);
 		}
+		if (this.layers != null) {
+			manifest.getMainAttributes().putValue(BOOT_LAYERS_INDEX_ATTRIBUTE,
+					this.layout.getLayersIndexFileLocation());
+		}
 		return manifest;
 	}
 
@@ -452,6 +571,16 @@ public class Repackager {
 			return FileUtils.sha1Hash(library.getFile());
 		}
 
+		private Map<String, Layer> getLayers(Layers layers) {
+			Map<String, Layer> libraryLayers = new HashMap<>();
+			this.libraryEntryNames.forEach((name, library) -> {
+				Layer layer = layers.getLayer(library);
+				libraryLayers.put(name, layer);
+				libraryLayers.put(JarEntriesIndexWriter.getLocation(name), layer);
+			});
+			return libraryLayers;
+		}
+
 		private void write(JarWriter writer) throws IOException {
 			for (Entry<String, Library> entry : this.libraryEntryNames.entrySet()) {
 				writer.writeNestedLibrary(
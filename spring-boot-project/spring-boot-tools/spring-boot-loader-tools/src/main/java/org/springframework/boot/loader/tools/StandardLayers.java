@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Standard {@link Layers}: released dependencies, the Spring Boot loader, snapshot
+ * dependencies and, last, the application's own classes and resources.
+ *
+ * @author Phillip Webb
+ * @since 2.1.0
+ */
+public class StandardLayers implements Layers {
+
+	/**
+	 * The layer containing released dependencies.
+	 */
+	public static final Layer DEPENDENCIES = new Layer("dependencies");
+
+	/**
+	 * The layer containing the Spring Boot loader classes.
+	 */
+	public static final Layer SPRING_BOOT_LOADER = new Layer("spring-boot-loader");
+
+	/**
+	 * The layer containing snapshot dependencies.
+	 */
+	public static final Layer SNAPSHOT_DEPENDENCIES = new Layer(
+			"snapshot-dependencies");
+
+	/**
+	 * The layer containing the application's classes and resources.
+	 */
+	public static final Layer APPLICATION = new Layer("application");
+
+	private static final List<Layer> LAYERS = Collections.unmodifiableList(
+			Arrays.asList(DEPENDENCIES, SPRING_BOOT_LOADER, SNAPSHOT_DEPENDENCIES,
+					APPLICATION));
+
+	private static final String LOADER_LOCATION = "org/springframework/boot/loader/";
+
+	@Override
+	public Iterator<Layer> iterator() {
+		return LAYERS.iterator();
+	}
+
+	@Override
+	public Layer getLayer(String resourceName) {
+		if (resourceName.startsWith(LOADER_LOCATION)) {
+			return SPRING_BOOT_LOADER;
+		}
+		return APPLICATION;
+	}
+
+	@Override
+	public Layer getLayer(Library library) {
+		if (library.getName().contains("SNAPSHOT")) {
+			return SNAPSHOT_DEPENDENCIES;
+		}
+		return DEPENDENCIES;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LayersIndex}.
+ *
+ * @author Phillip Webb
+ */
+public class LayersIndexTests {
+
+	private final StandardLayers layers = new StandardLayers();
+
+	@Test
+	public void writeToListsFoldersThatBelongToASingleLayer() throws Exception {
+		LayersIndex index = new LayersIndex(this.layers);
+		index.add("META-INF/MANIFEST.MF", StandardLayers.APPLICATION);
+		index.add("org/", StandardLayers.SPRING_BOOT_LOADER);
+		index.add("org/springframework/boot/loader/JarLauncher.class",
+				StandardLayers.SPRING_BOOT_LOADER);
+		index.add("org/springframework/boot/loader/jar/JarFile.class",
+				StandardLayers.SPRING_BOOT_LOADER);
+		index.add("BOOT-INF/classes/com/example/Application.class",
+				StandardLayers.APPLICATION);
+		index.add("BOOT-INF/classes/application.properties",
+				StandardLayers.APPLICATION);
+		index.add("BOOT-INF/lib/a.jar", StandardLayers.DEPENDENCIES);
+		index.add("BOOT-INF/lib/b-SNAPSHOT.jar", StandardLayers.SNAPSHOT_DEPENDENCIES);
+		assertThat(write(index)).isEqualTo("- \"dependencies\":\n"
+				+ "  - \"BOOT-INF/lib/a.jar\"\n" + "- \"spring-boot-loader\":\n"
+				+ "  - \"org/\"\n" + "- \"snapshot-dependencies\":\n"
+				+ "  - \"BOOT-INF/lib/b-SNAPSHOT.jar\"\n" + "- \"application\":\n"
+				+ "  - \"META-INF/\"\n" + "  - \"BOOT-INF/classes/\"\n");
+	}
+
+	@Test
+	public void writeToListsEntriesOfFoldersThatBelongToSeveralLayers()
+			throws Exception {
+		LayersIndex index = new LayersIndex(this.layers);
+		index.add("a/b/c.txt", StandardLayers.APPLICATION);
+		index.add("a/b/d/e.txt", StandardLayers.DEPENDENCIES);
+		index.add("a/b/f.txt", StandardLayers.APPLICATION);
+		assertThat(write(index)).isEqualTo("- \"dependencies\":\n"
+				+ "  - \"a/b/d/\"\n" + "- \"spring-boot-loader\":\n"
+				+ "- \"snapshot-dependencies\":\n" + "- \"application\":\n"
+				+ "  - \"a/b/c.txt\"\n" + "  - \"a/b/f.txt\"\n");
+	}
+
+	private String write(LayersIndex index) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		index.writeTo(outputStream);
+		return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
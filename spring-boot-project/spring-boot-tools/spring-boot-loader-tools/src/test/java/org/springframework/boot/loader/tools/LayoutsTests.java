@@ -71,6 +71,8 @@ public class LayoutsTests {
 				.isEqualTo("BOOT-INF/lib/");
 		assertThat(layout.getLibraryDestination("lib.jar", LibraryScope.RUNTIME))
 				.isEqualTo("BOOT-INF/lib/");
+		assertThat(layout.getLayersIndexFileLocation())
+				.isEqualTo("BOOT-INF/layers.idx");
 	}
 
 	@Test
@@ -84,6 +86,8 @@ public class LayoutsTests {
 				.isEqualTo("WEB-INF/lib-provided/");
 		assertThat(layout.getLibraryDestination("lib.jar", LibraryScope.RUNTIME))
 				.isEqualTo("WEB-INF/lib/");
+		assertThat(layout.getLayersIndexFileLocation())
+				.isEqualTo("WEB-INF/layers.idx");
 	}
 
 }
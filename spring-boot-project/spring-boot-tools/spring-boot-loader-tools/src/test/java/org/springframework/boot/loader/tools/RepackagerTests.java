@@ -16,22 +16,29 @@
 
 package org.springframework.boot.loader.tools;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.junit.Before;
 import org.junit.Rule;
@@ -315,6 +322,44 @@ public class RepackagerTests {
 		assertThat(entry.getComment().length()).isEqualTo(47);
 	}
 
+	@Test
+	public void librariesAreIndexed() throws Exception {
+		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		libJar.addClass("a/b/D.class", ClassWithoutMainMethod.class);
+		libJar.addFile("a/b/e.txt", this.temporaryFolder.newFile());
+		File libJarFile = libJar.getFile();
+		File libJarFileToUnpack = createLibrary();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.repackage((callback) -> {
+			callback.library(new Library(libJarFile, LibraryScope.COMPILE));
+			callback.library(new Library(libJarFileToUnpack, LibraryScope.COMPILE, true));
+		});
+		assertThat(hasEntry(file, "META-INF/entries-index/BOOT-INF/lib/"
+				+ libJarFile.getName() + ".idx")).isTrue();
+		assertThat(hasEntry(file, "META-INF/entries-index/BOOT-INF/lib/"
+				+ libJarFileToUnpack.getName() + ".idx")).isFalse();
+		try (org.springframework.boot.loader.jar.JarFile jarFile = new org.springframework.boot.loader.jar.JarFile(
+				file)) {
+			org.springframework.boot.loader.jar.JarFile nested = jarFile.getNestedJarFile(
+					jarFile.getEntry("BOOT-INF/lib/" + libJarFile.getName()));
+			assertThat(nested.getEntry("a/b/C.class")).isNotNull();
+			assertThat(nested.getEntry("a/b/D.class")).isNotNull();
+			assertThat(nested.getEntry("a/b/e.txt")).isNotNull();
+			assertThat(nested.getEntry("a/b/F.class")).isNull();
+			List<String> nestedEntryNames = new ArrayList<>();
+			Enumeration<JarEntry> entries = nested.entries();
+			while (entries.hasMoreElements()) {
+				nestedEntryNames.add(entries.nextElement().getName());
+			}
+			assertThat(nestedEntryNames).isEqualTo(getEntryNames(libJarFile));
+			assertThat(nested.getIndexedPackages()).contains("a/b/")
+					.doesNotContain("a/");
+		}
+	}
+
 	@Test
 	public void duplicateLibraries() throws Exception {
 		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
@@ -443,6 +488,256 @@ public class RepackagerTests {
 		}
 	}
 
+	@Test
+	public void classesAreCompressedByDefault() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.repackage(NO_LIBRARIES);
+		assertThat(getEntry(file, "BOOT-INF/classes/a/b/C.class").getMethod())
+				.isEqualTo(ZipEntry.DEFLATED);
+	}
+
+	@Test
+	public void uncompressedClasses() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		this.testJarFile.addFile("a/b/test.txt",
+				this.temporaryFolder.newFile("test.txt"));
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setUncompressedClasses(true);
+		repackager.repackage(NO_LIBRARIES);
+		JarEntry entry = getEntry(file, "BOOT-INF/classes/a/b/C.class");
+		assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+		assertThat(entry.getSize()).isEqualTo(entry.getCompressedSize());
+		assertThat(getEntry(file, "BOOT-INF/classes/a/b/test.txt").getMethod())
+				.isEqualTo(ZipEntry.DEFLATED);
+		try (JarFile jarFile = new JarFile(file)) {
+			assertThat(jarFile.getInputStream(entry)).hasSameContentAs(getClass()
+					.getResourceAsStream("sample/ClassWithMainMethod.class"));
+		}
+	}
+
+	@Test
+	public void incrementalRepackageReusesUnchangedEntries() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		File destination = repackageToDestination(libJarFile, false);
+		String libraryEntryName = "BOOT-INF/lib/" + libJarFile.getName();
+		setComment(destination, libraryEntryName, "previous");
+		setComment(destination, "BOOT-INF/classes/a/b/C.class", "previous");
+		repackageToDestination(libJarFile, true);
+		assertThat(getEntry(destination, libraryEntryName).getComment())
+				.isEqualTo("previous");
+		assertThat(getEntry(destination, "BOOT-INF/classes/a/b/C.class").getComment())
+				.isEqualTo("previous");
+		assertThat(hasEntry(destination,
+				JarEntriesIndexWriter.getLocation(libraryEntryName))).isTrue();
+		assertThat(new File(destination.getParentFile(),
+				destination.getName() + ".previous")).doesNotExist();
+		try (org.springframework.boot.loader.jar.JarFile jarFile = new org.springframework.boot.loader.jar.JarFile(
+				destination)) {
+			org.springframework.boot.loader.jar.JarFile nested = jarFile
+					.getNestedJarFile(jarFile.getEntry(libraryEntryName));
+			assertThat(nested.getEntry("com/example/library/Library.class"))
+					.isNotNull();
+		}
+	}
+
+	@Test
+	public void incrementalRepackageRewritesChangedEntries() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		File destination = repackageToDestination(libJarFile, false);
+		String libraryEntryName = "BOOT-INF/lib/" + libJarFile.getName();
+		setComment(destination, libraryEntryName, "previous");
+		TestJarFile changedLibJar = new TestJarFile(this.temporaryFolder);
+		changedLibJar.addClass("a/b/D.class", ClassWithoutMainMethod.class);
+		FileCopyUtils.copy(changedLibJar.getFile(), libJarFile);
+		repackageToDestination(libJarFile, true);
+		assertThat(getEntry(destination, libraryEntryName).getComment()).isNull();
+		try (org.springframework.boot.loader.jar.JarFile jarFile = new org.springframework.boot.loader.jar.JarFile(
+				destination)) {
+			org.springframework.boot.loader.jar.JarFile nested = jarFile
+					.getNestedJarFile(jarFile.getEntry(libraryEntryName));
+			assertThat(nested.getEntry("com/example/library/Library.class")).isNull();
+			assertThat(nested.getEntry("a/b/D.class")).isNotNull();
+		}
+	}
+
+	@Test
+	public void incrementalRepackageWithLaunchScript() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		File destination = new File(this.temporaryFolder.getRoot(), "destination.jar");
+		for (int i = 0; i < 2; i++) {
+			Repackager repackager = new Repackager(this.testJarFile.getFile());
+			repackager.setIncremental(true);
+			repackager.repackage(destination, (callback) -> callback.library(
+					new Library(libJarFile, LibraryScope.COMPILE)),
+					new MockLauncherScript("ABC"));
+		}
+		assertThat(new String(FileCopyUtils.copyToByteArray(destination)))
+				.startsWith("ABC");
+		try (JarFile jarFile = new JarFile(destination)) {
+			assertThat(jarFile.getInputStream(
+					jarFile.getEntry("BOOT-INF/lib/" + libJarFile.getName())))
+							.hasSameContentAs(new FileInputStream(libJarFile));
+			assertThat(jarFile
+					.getInputStream(jarFile.getEntry("BOOT-INF/classes/a/b/C.class")))
+							.hasSameContentAs(getClass().getResourceAsStream(
+									"sample/ClassWithMainMethod.class"));
+		}
+	}
+
+	@Test
+	public void incrementalRepackageRewritesLibraryWithSameSizeAndModificationTime()
+			throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		byte[] libContent = FileCopyUtils.copyToByteArray(libJarFile);
+		File destination = repackageToDestination(libJarFile, false);
+		String libraryEntryName = "BOOT-INF/lib/" + libJarFile.getName();
+		setComment(destination, libraryEntryName, "previous");
+		long lastModified = libJarFile.lastModified();
+		byte[] changedLibContent = libContent.clone();
+		changedLibContent[10]++;
+		FileCopyUtils.copy(changedLibContent, libJarFile);
+		libJarFile.setLastModified(lastModified);
+		repackageToDestination(libJarFile, true);
+		assertThat(getEntry(destination, libraryEntryName).getComment()).isNull();
+		try (JarFile jarFile = new JarFile(destination)) {
+			assertThat(jarFile.getInputStream(jarFile.getEntry(libraryEntryName)))
+					.hasSameContentAs(new ByteArrayInputStream(changedLibContent));
+		}
+	}
+
+	@Test
+	public void repackageDoesNotAddExtraFieldsToLibraries() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		File destination = repackageToDestination(libJarFile, false);
+		repackageToDestination(libJarFile, true);
+		assertThat(getEntry(destination, "BOOT-INF/lib/" + libJarFile.getName())
+				.getExtra()).isNull();
+	}
+
+	@Test
+	public void incrementalRepackageInPlaceReusesPreviousArchive() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		File source = this.testJarFile.getFile();
+		byte[] plainContent = FileCopyUtils.copyToByteArray(source);
+		File previous = new File(source.getParentFile(), source.getName() + ".previous");
+		Libraries libraries = (callback) -> callback
+				.library(new Library(libJarFile, LibraryScope.COMPILE));
+		Repackager repackager = new Repackager(source);
+		repackager.setIncremental(true);
+		repackager.repackage(libraries);
+		assertThat(FileCopyUtils.copyToByteArray(previous))
+				.isEqualTo(FileCopyUtils.copyToByteArray(source));
+		String libraryEntryName = "BOOT-INF/lib/" + libJarFile.getName();
+		setComment(previous, libraryEntryName, "previous");
+		assertThat(source.delete()).isTrue();
+		FileCopyUtils.copy(plainContent, source);
+		repackager = new Repackager(source);
+		repackager.setIncremental(true);
+		repackager.repackage(libraries);
+		assertThat(getEntry(source, libraryEntryName).getComment())
+				.isEqualTo("previous");
+		assertThat(FileCopyUtils.copyToByteArray(previous))
+				.isEqualTo(FileCopyUtils.copyToByteArray(source));
+	}
+
+	@Test
+	public void repackageInPlaceWhenNotIncrementalDoesNotKeepPreviousArchive()
+			throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		new Repackager(source).repackage(NO_LIBRARIES);
+		assertThat(new File(source.getParentFile(), source.getName() + ".previous"))
+				.doesNotExist();
+	}
+
+	@Test
+	public void repackageWhenNotIncrementalDoesNotReuseEntries() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		File destination = repackageToDestination(libJarFile, false);
+		String libraryEntryName = "BOOT-INF/lib/" + libJarFile.getName();
+		setComment(destination, libraryEntryName, "previous");
+		repackageToDestination(libJarFile, false);
+		assertThat(getEntry(destination, libraryEntryName).getComment()).isNull();
+	}
+
+	@Test
+	public void layeredArchive() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File libJarFile = createLibrary();
+		File snapshotLibJarFile = new File(this.temporaryFolder.getRoot(),
+				"library-1.0.0-SNAPSHOT.jar");
+		FileCopyUtils.copy(createLibrary(), snapshotLibJarFile);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setLayers(new StandardLayers());
+		repackager.repackage((callback) -> {
+			callback.library(new Library(libJarFile, LibraryScope.COMPILE));
+			callback.library(new Library(snapshotLibJarFile, LibraryScope.COMPILE));
+		});
+		assertThat(getManifest(file).getMainAttributes()
+				.getValue("Spring-Boot-Layers-Index")).isEqualTo("BOOT-INF/layers.idx");
+		List<String> index;
+		try (JarFile jarFile = new JarFile(file)) {
+			index = new BufferedReader(new InputStreamReader(
+					jarFile.getInputStream(jarFile.getEntry("BOOT-INF/layers.idx")),
+					StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+		}
+		String libEntry = "BOOT-INF/lib/" + libJarFile.getName();
+		String snapshotLibEntry = "BOOT-INF/lib/" + snapshotLibJarFile.getName();
+		assertThat(index).containsExactly("- \"dependencies\":",
+				"  - \"" + libEntry + "\"",
+				"  - \"" + JarEntriesIndexWriter.getLocation(libEntry) + "\"",
+				"- \"spring-boot-loader\":", "  - \"org/\"",
+				"- \"snapshot-dependencies\":", "  - \"" + snapshotLibEntry + "\"",
+				"  - \"" + JarEntriesIndexWriter.getLocation(snapshotLibEntry) + "\"",
+				"- \"application\":", "  - \"META-INF/MANIFEST.MF\"",
+				"  - \"BOOT-INF/classes/\"", "  - \"BOOT-INF/layers.idx\"");
+	}
+
+	@Test
+	public void layeredArchiveWithLayoutThatDoesNotSupportLayers() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		Repackager repackager = new Repackager(this.testJarFile.getFile());
+		repackager.setLayout(new Layout() {
+
+			@Override
+			public String getLauncherClassName() {
+				return null;
+			}
+
+			@Override
+			public String getLibraryDestination(String libraryName,
+					LibraryScope scope) {
+				return "lib/";
+			}
+
+			@Override
+			public String getClassesLocation() {
+				return "";
+			}
+
+			@Override
+			public boolean isExecutable() {
+				return false;
+			}
+
+		});
+		repackager.setLayers(new StandardLayers());
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("does not support layers");
+		repackager.repackage(NO_LIBRARIES);
+	}
+
 	@Test
 	public void addLauncherScript() throws Exception {
 		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
@@ -654,6 +949,32 @@ public class RepackagerTests {
 		return getEntry(file, name) != null;
 	}
 
+	private File repackageToDestination(File libJarFile, boolean incremental)
+			throws IOException {
+		File source = this.testJarFile.getFile();
+		File destination = new File(this.temporaryFolder.getRoot(), "destination.jar");
+		Repackager repackager = new Repackager(source);
+		repackager.setIncremental(incremental);
+		repackager.repackage(destination, (callback) -> callback
+				.library(new Library(libJarFile, LibraryScope.COMPILE)));
+		return destination;
+	}
+
+	private void setComment(File file, String name, String comment)
+			throws IOException {
+		File copy = this.temporaryFolder.newFile();
+		try (ZipFile zipFile = new ZipFile(file);
+				ZipArchiveOutputStream output = new ZipArchiveOutputStream(copy)) {
+			for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+				if (entry.getName().equals(name)) {
+					entry.setComment(comment);
+				}
+				output.addRawArchiveEntry(entry, zipFile.getRawInputStream(entry));
+			}
+		}
+		FileCopyUtils.copy(copy, file);
+	}
+
 	private JarEntry getEntry(File file, String name) throws IOException {
 		try (JarFile jarFile = new JarFile(file)) {
 			return jarFile.getJarEntry(name);
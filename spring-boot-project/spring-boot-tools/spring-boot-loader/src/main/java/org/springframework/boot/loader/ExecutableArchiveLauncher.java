@@ -16,9 +16,11 @@
 
 package org.springframework.boot.loader;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
 import org.springframework.boot.loader.archive.Archive;
@@ -31,6 +33,13 @@ import org.springframework.boot.loader.archive.Archive;
  */
 public abstract class ExecutableArchiveLauncher extends Launcher {
 
+	/**
+	 * Manifest attribute for boolean flag (default false) which if set will cause the
+	 * archive to be memory-mapped rather than read using a
+	 * {@link java.io.RandomAccessFile}.
+	 */
+	public static final String MEMORY_MAPPED_ATTRIBUTE = "Loader-Mmap";
+
 	private final Archive archive;
 
 	public ExecutableArchiveLauncher() {
@@ -64,6 +73,16 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		return mainClass;
 	}
 
+	@Override
+	protected boolean isMemoryMapped(File jarFile) throws Exception {
+		// The JVM has already opened the jar so reading its manifest here is cheap
+		try (JarFile file = new JarFile(jarFile)) {
+			Manifest manifest = file.getManifest();
+			return (manifest != null && Boolean.parseBoolean(
+					manifest.getMainAttributes().getValue(MEMORY_MAPPED_ATTRIBUTE)));
+		}
+	}
+
 	@Override
 	protected List<Archive> getClassPathArchives() throws Exception {
 		List<Archive> archives = new ArrayList<>(
@@ -16,20 +16,35 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.security.AccessController;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.jar.JarFile;
 
 import org.springframework.boot.loader.jar.Handler;
 
 /**
- * {@link ClassLoader} used by the {@link Launcher}.
+ * {@link ClassLoader} used by the {@link Launcher}. When a {@link PackageIndex} is
+ * available, classes and resources are only searched for in the archives that contain
+ * their package. Class loading is parallel capable and so locks per class name.
  *
  * @author Phillip Webb
  * @author Dave Syer
@@ -37,10 +52,16 @@ import org.springframework.boot.loader.jar.Handler;
  */
 public class LaunchedURLClassLoader extends URLClassLoader {
 
+	private static final int BUFFER_SIZE = 4096;
+
 	static {
 		ClassLoader.registerAsParallelCapable();
 	}
 
+	private volatile PackageIndex packageIndex;
+
+	private volatile Queue<String> recordedClasses;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
@@ -50,11 +71,35 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		super(urls, parent);
 	}
 
+	/**
+	 * Use the given index to restrict the URLs that are searched. The index is ignored
+	 * unless it was created for the same URLs as this class loader.
+	 * @param packageIndex the package index
+	 */
+	void usePackageIndex(PackageIndex packageIndex) {
+		if (Arrays.equals(packageIndex.getUrls(), getURLs())) {
+			this.packageIndex = packageIndex;
+		}
+	}
+
+	@Override
+	protected void addURL(URL url) {
+		this.packageIndex = null;
+		super.addURL(url);
+	}
+
 	@Override
 	public URL findResource(String name) {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
-			return super.findResource(name);
+			URL[] candidates = getCandidates(name);
+			if (candidates == null) {
+				return super.findResource(name);
+			}
+			List<URL> urls = AccessController.doPrivileged(
+					(PrivilegedAction<List<URL>>) () -> findResources(candidates, name,
+							true));
+			return (urls.isEmpty() ? null : urls.get(0));
 		}
 		finally {
 			Handler.setUseFastConnectionExceptions(false);
@@ -65,13 +110,165 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 	public Enumeration<URL> findResources(String name) throws IOException {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
-			return new UseFastConnectionExceptionsEnumeration(super.findResources(name));
+			URL[] candidates = getCandidates(name);
+			if (candidates == null) {
+				return new UseFastConnectionExceptionsEnumeration(
+						super.findResources(name));
+			}
+			List<URL> urls = AccessController.doPrivileged(
+					(PrivilegedAction<List<URL>>) () -> findResources(candidates, name,
+							false));
+			return Collections.enumeration(urls);
 		}
 		finally {
 			Handler.setUseFastConnectionExceptions(false);
 		}
 	}
 
+	private URL[] getCandidates(String name) {
+		PackageIndex packageIndex = this.packageIndex;
+		return (packageIndex != null ? packageIndex.getCandidates(name) : null);
+	}
+
+	private List<URL> findResources(URL[] candidates, String name, boolean first) {
+		List<URL> urls = new ArrayList<>(first ? 1 : candidates.length);
+		for (URL candidate : candidates) {
+			URL url = findResource(candidate, name);
+			if (url != null) {
+				urls.add(url);
+				if (first) {
+					break;
+				}
+			}
+		}
+		return urls;
+	}
+
+	private URL findResource(URL base, String name) {
+		try {
+			URL url = new URL(base, name);
+			URLConnection connection = url.openConnection();
+			if (connection instanceof JarURLConnection) {
+				connection.connect();
+			}
+			else {
+				connection.setUseCaches(false);
+				connection.getInputStream().close();
+			}
+			return url;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Start recording the entry names of the classes that are found by this class
+	 * loader.
+	 * @see StartupPrefetch
+	 */
+	void startRecording() {
+		this.recordedClasses = new ConcurrentLinkedQueue<>();
+	}
+
+	/**
+	 * Stop recording and return the entry names of the classes that were found, in the
+	 * order that they were found.
+	 * @return the recorded entry names
+	 */
+	List<String> stopRecording() {
+		Queue<String> recordedClasses = this.recordedClasses;
+		this.recordedClasses = null;
+		return (recordedClasses != null ? new ArrayList<>(recordedClasses)
+				: Collections.emptyList());
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String path = name.replace('.', '/').concat(".class");
+		Class<?> result = findClass(name, path);
+		Queue<String> recordedClasses = this.recordedClasses;
+		if (recordedClasses != null) {
+			recordedClasses.add(path);
+		}
+		return result;
+	}
+
+	private Class<?> findClass(String name, String path) throws ClassNotFoundException {
+		URL[] candidates = getCandidates(path);
+		if (candidates == null) {
+			return super.findClass(name);
+		}
+		try {
+			Class<?> result = AccessController
+					.doPrivileged((PrivilegedExceptionAction<Class<?>>) () -> {
+						for (URL candidate : candidates) {
+							Class<?> type = defineClass(name, path, candidate);
+							if (type != null) {
+								return type;
+							}
+						}
+						return null;
+					});
+			if (result != null) {
+				return result;
+			}
+		}
+		catch (PrivilegedActionException ex) {
+			throw new ClassNotFoundException(name, ex.getException());
+		}
+		throw new ClassNotFoundException(name);
+	}
+
+	private Class<?> defineClass(String name, String path, URL base)
+			throws IOException {
+		URLConnection connection = new URL(base, path).openConnection();
+		byte[] bytes;
+		try {
+			bytes = readClass(connection);
+		}
+		catch (FileNotFoundException ex) {
+			return null;
+		}
+		// Code signers are only known once the entry has been fully read
+		CodeSigner[] codeSigners = (connection instanceof JarURLConnection
+				? ((JarURLConnection) connection).getJarEntry().getCodeSigners()
+				: null);
+		definePackageWithoutManifest(name);
+		CodeSource codeSource = new CodeSource(base, codeSigners);
+		return defineClass(name, bytes, 0, bytes.length, codeSource);
+	}
+
+	private byte[] readClass(URLConnection connection) throws IOException {
+		try (InputStream inputStream = connection.getInputStream()) {
+			int length = connection.getContentLength();
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+					(length > 0 ? length : BUFFER_SIZE));
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, bytesRead);
+			}
+			return outputStream.toByteArray();
+		}
+	}
+
+	private void definePackageWithoutManifest(String name) {
+		int lastDot = name.lastIndexOf('.');
+		if (lastDot >= 0) {
+			String packageName = name.substring(0, lastDot);
+			if (getPackage(packageName) == null) {
+				try {
+					// No manifest was found by definePackageIfNecessary
+					definePackage(packageName, null, null, null, null, null, null, null);
+				}
+				catch (IllegalArgumentException ex) {
+					// Tolerate race condition due to being parallel capable
+				}
+			}
+		}
+	}
+
 	@Override
 	protected Class<?> loadClass(String name, boolean resolve)
 			throws ClassNotFoundException {
@@ -131,7 +328,8 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 			AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
 				String packageEntryName = packageName.replace('.', '/') + "/";
 				String classEntryName = className.replace('.', '/') + ".class";
-				for (URL url : getURLs()) {
+				URL[] candidates = getCandidates(classEntryName);
+				for (URL url : (candidates != null ? candidates : getURLs())) {
 					try {
 						URLConnection connection = url.openConnection();
 						if (connection instanceof JarURLConnection) {
@@ -152,7 +350,7 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 				return null;
 			}, AccessController.getContext());
 		}
-		catch (java.security.PrivilegedActionException ex) {
+		catch (PrivilegedActionException ex) {
 			// Ignore
 		}
 	}
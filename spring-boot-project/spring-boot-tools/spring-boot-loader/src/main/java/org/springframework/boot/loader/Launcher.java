@@ -28,6 +28,7 @@ import org.springframework.boot.loader.archive.Archive;
 import org.springframework.boot.loader.archive.ExplodedArchive;
 import org.springframework.boot.loader.archive.JarFileArchive;
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.boot.loader.util.SystemPropertyUtils;
 
 /**
  * Base class for launchers that can start an application with a fully configured
@@ -38,6 +39,10 @@ import org.springframework.boot.loader.jar.JarFile;
  */
 public abstract class Launcher {
 
+	private static final String EXPLODED_INDEX = "loader.explodedIndex";
+
+	private static final String PACKAGE_INDEX = "loader.packageIndex";
+
 	/**
 	 * Launch the application. This method is the initial entry point that should be
 	 * called by a subclass {@code public static void main(String[] args)} method.
@@ -47,6 +52,7 @@ public abstract class Launcher {
 	protected void launch(String[] args) throws Exception {
 		JarFile.registerUrlProtocolHandler();
 		ClassLoader classLoader = createClassLoader(getClassPathArchives());
+		StartupPrefetch.startIfEnabled(this::getCodeSourceFile, classLoader);
 		launch(args, getMainClass(), classLoader);
 	}
 
@@ -57,11 +63,19 @@ public abstract class Launcher {
 	 * @throws Exception if the classloader cannot be created
 	 */
 	protected ClassLoader createClassLoader(List<Archive> archives) throws Exception {
-		List<URL> urls = new ArrayList<>(archives.size());
-		for (Archive archive : archives) {
-			urls.add(archive.getUrl());
+		if (!isPackageIndexEnabled()) {
+			List<URL> urls = new ArrayList<>(archives.size());
+			for (Archive archive : archives) {
+				urls.add(archive.getUrl());
+			}
+			return createClassLoader(urls.toArray(new URL[0]));
+		}
+		PackageIndex packageIndex = PackageIndex.of(archives);
+		ClassLoader classLoader = createClassLoader(packageIndex.getUrls());
+		if (classLoader instanceof LaunchedURLClassLoader) {
+			((LaunchedURLClassLoader) classLoader).usePackageIndex(packageIndex);
 		}
-		return createClassLoader(urls.toArray(new URL[0]));
+		return classLoader;
 	}
 
 	/**
@@ -114,6 +128,13 @@ public abstract class Launcher {
 	protected abstract List<Archive> getClassPathArchives() throws Exception;
 
 	protected final Archive createArchive() throws Exception {
+		File root = getCodeSourceFile();
+		return (root.isDirectory()
+				? new ExplodedArchive(root, true, getExplodedArchiveIndex(root))
+				: new JarFileArchive(root, isMemoryMapped(root)));
+	}
+
+	private File getCodeSourceFile() throws Exception {
 		ProtectionDomain protectionDomain = getClass().getProtectionDomain();
 		CodeSource codeSource = protectionDomain.getCodeSource();
 		URI location = (codeSource != null ? codeSource.getLocation().toURI() : null);
@@ -126,8 +147,46 @@ public abstract class Launcher {
 			throw new IllegalStateException(
 					"Unable to determine code source archive from " + root);
 		}
-		return (root.isDirectory() ? new ExplodedArchive(root)
-				: new JarFileArchive(root));
+		return root;
+	}
+
+	/**
+	 * Determine if the specified jar file should be memory-mapped rather than read
+	 * using a {@link java.io.RandomAccessFile}.
+	 * @param jarFile the jar file
+	 * @return {@code true} if the jar file should be memory-mapped
+	 * @throws Exception if the jar file cannot be inspected
+	 * @since 2.1.0
+	 */
+	protected boolean isMemoryMapped(File jarFile) throws Exception {
+		return false;
+	}
+
+	/**
+	 * Return the index file that should be used to persist the entries of the
+	 * specified exploded archive between launches. By default the
+	 * {@code loader.explodedIndex} system property or environment variable is used.
+	 * @param root the root folder of the exploded archive
+	 * @return the index file or {@code null} if entries should not be persisted
+	 * @throws Exception if the index file cannot be determined
+	 * @since 2.1.0
+	 */
+	protected File getExplodedArchiveIndex(File root) throws Exception {
+		String index = SystemPropertyUtils.getProperty(EXPLODED_INDEX);
+		return (index != null ? new File(index) : null);
+	}
+
+	/**
+	 * Return if classes and resources should only be searched for in the archives that
+	 * contain their package, as recorded in the index written alongside each nested
+	 * jar. By default the {@code loader.packageIndex} system property or environment
+	 * variable is used.
+	 * @return if the package index should be used
+	 * @throws Exception if the setting cannot be determined
+	 * @since 2.1.0
+	 */
+	protected boolean isPackageIndexEnabled() throws Exception {
+		return "true".equals(SystemPropertyUtils.getProperty(PACKAGE_INDEX));
 	}
 
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Extracts a layered archive into a separate folder per layer. Each layer folder holds
+ * the archive's entries for that layer at their usual location so that the folders can
+ * be copied, in order, into a single folder from which the application is launched
+ * using {@link JarLauncher} or {@link WarLauncher}. Typically used to build container
+ * images with one image layer per archive layer:
+ *
+ * <pre class="code">
+ * java -cp app.jar org.springframework.boot.loader.LayersExtractor [dest] [layer...]
+ * </pre>
+ *
+ * The destination folder defaults to the current folder. If no layers are specified, all
+ * layers are extracted.
+ *
+ * @author Phillip Webb
+ */
+public class LayersExtractor {
+
+	static final String LAYERS_INDEX_ATTRIBUTE = "Spring-Boot-Layers-Index";
+
+	private final File archive;
+
+	LayersExtractor(File archive) {
+		this.archive = archive;
+	}
+
+	/**
+	 * Extract the layers of the archive.
+	 * @param destination the destination folder
+	 * @param layers the names of the layers to extract or an empty set to extract all
+	 * layers
+	 * @throws IOException if the layers cannot be extracted
+	 */
+	void extract(File destination, Set<String> layers) throws IOException {
+		try (JarFile jarFile = new JarFile(this.archive)) {
+			LayersIndex index = getLayersIndex(jarFile);
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				String layer = index.getLayer(entry.getName());
+				if (!entry.isDirectory()
+						&& (layers.isEmpty() || layers.contains(layer))) {
+					extract(jarFile, entry, new File(destination, layer));
+				}
+			}
+		}
+	}
+
+	private LayersIndex getLayersIndex(JarFile jarFile) throws IOException {
+		Manifest manifest = jarFile.getManifest();
+		String location = (manifest != null)
+				? manifest.getMainAttributes().getValue(LAYERS_INDEX_ATTRIBUTE) : null;
+		JarEntry entry = (location != null) ? jarFile.getJarEntry(location) : null;
+		if (entry == null) {
+			throw new IllegalStateException(
+					"Archive " + this.archive + " is not a layered archive");
+		}
+		try (InputStream inputStream = jarFile.getInputStream(entry)) {
+			return new LayersIndex(inputStream);
+		}
+	}
+
+	private void extract(JarFile jarFile, JarEntry entry, File layerFolder)
+			throws IOException {
+		File file = new File(layerFolder, entry.getName());
+		if (!file.getCanonicalPath()
+				.startsWith(layerFolder.getCanonicalPath() + File.separator)) {
+			throw new IllegalStateException(
+					"Entry " + entry.getName() + " is outside of its layer folder");
+		}
+		file.getParentFile().mkdirs();
+		try (InputStream inputStream = jarFile.getInputStream(entry)) {
+			Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		if (entry.getTime() != -1) {
+			file.setLastModified(entry.getTime());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		File destination = new File((args.length > 0) ? args[0] : ".");
+		Set<String> layers = new HashSet<>(
+				Arrays.asList(args).subList(Math.min(1, args.length), args.length));
+		new LayersExtractor(getCodeSourceFile()).extract(destination, layers);
+	}
+
+	private static File getCodeSourceFile() throws Exception {
+		ProtectionDomain protectionDomain = LayersExtractor.class.getProtectionDomain();
+		CodeSource codeSource = protectionDomain.getCodeSource();
+		URI location = (codeSource != null ? codeSource.getLocation().toURI() : null);
+		String path = (location != null ? location.getSchemeSpecificPart() : null);
+		if (path == null || !new File(path).isFile()) {
+			throw new IllegalStateException("Unable to determine code source archive");
+		}
+		return new File(path);
+	}
+
+	/**
+	 * The layers index of an archive, as written by the Spring Boot build plugins.
+	 * Entries that are not listed in the index belong to the last layer.
+	 */
+	static final class LayersIndex {
+
+		private final List<String> layers = new ArrayList<>();
+
+		private final Map<String, String> entries = new HashMap<>();
+
+		LayersIndex(InputStream inputStream) throws IOException {
+			BufferedReader reader = new BufferedReader(
+					new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("- ")) {
+					this.layers.add(getLayerName(line));
+				}
+				else if (line.startsWith("  - ") && !this.layers.isEmpty()) {
+					this.entries.put(getQuotedValue(line),
+							this.layers.get(this.layers.size() - 1));
+				}
+			}
+			if (this.layers.isEmpty()) {
+				throw new IllegalStateException("Layers index does not contain layers");
+			}
+		}
+
+		private String getLayerName(String line) {
+			String name = getQuotedValue(line);
+			for (int i = 0; i < name.length(); i++) {
+				char ch = name.charAt(i);
+				if (!(Character.isLetterOrDigit(ch) && ch < 128) && ch != '-') {
+					throw new IllegalStateException("Invalid layer name " + name);
+				}
+			}
+			return name;
+		}
+
+		private String getQuotedValue(String line) {
+			int start = line.indexOf('"');
+			int end = line.lastIndexOf('"');
+			if (start == -1 || end <= start) {
+				throw new IllegalStateException("Malformed layers index line " + line);
+			}
+			return line.substring(start + 1, end);
+		}
+
+		String getLayer(String name) {
+			int end = name.indexOf('/');
+			while (end != -1) {
+				String layer = this.entries.get(name.substring(0, end + 1));
+				if (layer != null) {
+					return layer;
+				}
+				end = name.indexOf('/', end + 1);
+			}
+			String layer = this.entries.get(name);
+			return (layer != null) ? layer : this.layers.get(this.layers.size() - 1);
+		}
+
+	}
+
+}
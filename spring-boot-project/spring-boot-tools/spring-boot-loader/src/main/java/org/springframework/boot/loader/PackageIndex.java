@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+
+/**
+ * Index of the packages (in the resource sense, i.e. the folder of each entry) that are
+ * contained in each archive of a class path. Used by the
+ * {@link LaunchedURLClassLoader} to go straight to the archives that can contain a
+ * class or resource rather than probing every archive in turn. The packages of an
+ * archive are taken from the {@link JarFileArchive#getIndexedPackages() index} that was
+ * written alongside it when it was repackaged so that its entries are not read. Other
+ * archives (for example exploded folders, which may change, or jars without an index)
+ * are always searched.
+ *
+ * @author Phillip Webb
+ */
+final class PackageIndex {
+
+	private final URL[] urls;
+
+	private final Map<String, URL[]> packages;
+
+	private final URL[] unindexed;
+
+	private PackageIndex(URL[] urls, Map<String, URL[]> packages, URL[] unindexed) {
+		this.urls = urls;
+		this.packages = packages;
+		this.unindexed = unindexed;
+	}
+
+	/**
+	 * Return the class path URLs, in order and without duplicates.
+	 * @return the URLs
+	 */
+	URL[] getUrls() {
+		return this.urls;
+	}
+
+	/**
+	 * Return the URLs that might contain the given resource, in class path order.
+	 * @param name the resource name
+	 * @return the candidate URLs or {@code null} if the index cannot be used for the
+	 * name and all URLs must be searched
+	 */
+	URL[] getCandidates(String name) {
+		if (!isIndexable(name)) {
+			return null;
+		}
+		return this.packages.getOrDefault(getPackage(name), this.unindexed);
+	}
+
+	private boolean isIndexable(String name) {
+		if (name.isEmpty() || name.charAt(0) == '/' || name.endsWith("/")
+				|| name.contains("..")) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			// Only names that need no URL encoding
+			if (!(Character.isLetterOrDigit(ch) && ch < 128) && ch != '/' && ch != '.'
+					&& ch != '_' && ch != '-' && ch != '$') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getPackage(String name) {
+		int lastSlash = name.lastIndexOf('/');
+		return (lastSlash != -1 ? name.substring(0, lastSlash + 1) : "");
+	}
+
+	/**
+	 * Create a new {@link PackageIndex} for the given archives.
+	 * @param archives the archives in class path order
+	 * @return the index
+	 * @throws MalformedURLException if an archive URL is malformed
+	 */
+	static PackageIndex of(List<Archive> archives) throws MalformedURLException {
+		Map<URL, Archive> unique = new LinkedHashMap<>(archives.size());
+		for (Archive archive : archives) {
+			unique.putIfAbsent(archive.getUrl(), archive);
+		}
+		URL[] urls = unique.keySet().toArray(new URL[0]);
+		Map<String, BitSet> packages = new HashMap<>();
+		BitSet unindexed = new BitSet();
+		int index = 0;
+		for (Archive archive : unique.values()) {
+			Set<String> archivePackages = (archive instanceof JarFileArchive
+					? ((JarFileArchive) archive).getIndexedPackages() : null);
+			if (archivePackages != null) {
+				for (String packageName : archivePackages) {
+					BitSet archiveIndexes = packages.get(packageName);
+					if (archiveIndexes == null) {
+						archiveIndexes = new BitSet();
+						packages.put(packageName, archiveIndexes);
+					}
+					archiveIndexes.set(index);
+				}
+			}
+			else {
+				unindexed.set(index);
+			}
+			index++;
+		}
+		Map<String, URL[]> candidates = new HashMap<>(packages.size() * 4 / 3 + 1);
+		packages.forEach((name, archiveIndexes) -> {
+			archiveIndexes.or(unindexed);
+			candidates.put(name, select(urls, archiveIndexes));
+		});
+		return new PackageIndex(urls, candidates, select(urls, unindexed));
+	}
+
+	private static URL[] select(URL[] urls, BitSet indexes) {
+		URL[] selected = new URL[indexes.cardinality()];
+		int i = 0;
+		for (int index = indexes.nextSetBit(0); index >= 0; index = indexes
+				.nextSetBit(index + 1)) {
+			selected[i++] = urls[index];
+		}
+		return selected;
+	}
+
+}
@@ -122,6 +122,26 @@ public class PropertiesLauncher extends Launcher {
 	 */
 	public static final String SET_SYSTEM_PROPERTIES = "loader.system";
 
+	/**
+	 * Properties key for boolean flag (default false) which if set will cause jar
+	 * archives to be memory-mapped rather than read using a
+	 * {@link java.io.RandomAccessFile}.
+	 */
+	public static final String MEMORY_MAPPED = "loader.mmap";
+
+	/**
+	 * Properties key for the location of a file used to persist the entries of an
+	 * exploded archive between launches. The file should be located outside of the
+	 * archive.
+	 */
+	public static final String EXPLODED_INDEX = "loader.explodedIndex";
+
+	/**
+	 * Properties key for boolean flag (default false) which if set will cause classes
+	 * and resources to only be searched for in the archives that contain their package.
+	 */
+	public static final String PACKAGE_INDEX = "loader.packageIndex";
+
 	private static final Pattern WORD_SEPARATOR = Pattern.compile("\\W+");
 
 	private static final String NESTED_ARCHIVE_SEPARATOR = "!" + File.separator;
@@ -134,11 +154,18 @@ public class PropertiesLauncher extends Launcher {
 
 	private Archive parent;
 
+	private boolean memoryMapped;
+
+	private File explodedIndex;
+
 	public PropertiesLauncher() {
 		try {
 			this.home = getHomeDirectory();
 			initializeProperties();
 			initializePaths();
+			this.memoryMapped = "true".equals(getProperty(MEMORY_MAPPED));
+			String explodedIndex = getProperty(EXPLODED_INDEX);
+			this.explodedIndex = (explodedIndex != null ? new File(explodedIndex) : null);
 			this.parent = createArchive();
 		}
 		catch (Exception ex) {
@@ -342,8 +369,12 @@ public class PropertiesLauncher extends Launcher {
 		for (Archive archive : archives) {
 			urls.add(archive.getUrl());
 		}
-		ClassLoader loader = new LaunchedURLClassLoader(urls.toArray(new URL[0]),
-				getClass().getClassLoader());
+		LaunchedURLClassLoader launchedLoader = new LaunchedURLClassLoader(
+				urls.toArray(new URL[0]), getClass().getClassLoader());
+		if ("true".equals(getProperty(PACKAGE_INDEX))) {
+			launchedLoader.usePackageIndex(PackageIndex.of(archives));
+		}
+		ClassLoader loader = launchedLoader;
 		debug("Classpath: " + urls);
 		String customLoaderClassName = getProperty("loader.classLoader");
 		if (customLoaderClassName != null) {
@@ -439,6 +470,16 @@ public class PropertiesLauncher extends Launcher {
 				: defaultValue);
 	}
 
+	@Override
+	protected boolean isMemoryMapped(File jarFile) {
+		return this.memoryMapped;
+	}
+
+	@Override
+	protected File getExplodedArchiveIndex(File root) {
+		return this.explodedIndex;
+	}
+
 	@Override
 	protected List<Archive> getClassPathArchives() throws Exception {
 		List<Archive> lib = new ArrayList<>();
@@ -497,7 +538,7 @@ public class PropertiesLauncher extends Launcher {
 		}
 		String name = file.getName().toLowerCase(Locale.ENGLISH);
 		if (name.endsWith(".jar") || name.endsWith(".zip")) {
-			return new JarFileArchive(file);
+			return new JarFileArchive(file, this.memoryMapped);
 		}
 		return null;
 	}
@@ -520,7 +561,7 @@ public class PropertiesLauncher extends Launcher {
 			if (root.startsWith("jar:file:")) {
 				file = new File(root.substring("jar:file:".length(), index));
 			}
-			parent = new JarFileArchive(file);
+			parent = new JarFileArchive(file, this.memoryMapped);
 			root = root.substring(index + 1, root.length());
 			while (root.startsWith("/")) {
 				root = root.substring(1);
@@ -529,7 +570,7 @@ public class PropertiesLauncher extends Launcher {
 		if (root.endsWith(".jar")) {
 			File file = new File(this.home, root);
 			if (file.exists()) {
-				parent = new JarFileArchive(file);
+				parent = new JarFileArchive(file, this.memoryMapped);
 				root = "";
 			}
 		}
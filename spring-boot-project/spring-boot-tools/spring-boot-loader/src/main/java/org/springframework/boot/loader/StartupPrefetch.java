@@ -0,0 +1,275 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.boot.loader.util.SystemPropertyUtils;
+
+/**
+ * Speeds up the startup of an archive by reading the classes that it needs ahead of
+ * time. The first launch is a training run that records the classes loaded by the
+ * {@link LaunchedURLClassLoader} during the first few seconds and writes them, in load
+ * order, to a {@code .prefetch} file next to the archive. Subsequent launches read the
+ * file and, in a background thread, read the stored data of the recorded entries in
+ * the order that they appear in each jar so that the many small reads made by the
+ * application are served from the operating system's file cache. The entries are not
+ * inflated. The file also holds the size and modification time of the archive and is
+ * recorded again when they no longer match. Delete the file to record it again.
+ *
+ * @author Phillip Webb
+ */
+final class StartupPrefetch {
+
+	/**
+	 * Property key for boolean flag (default false) which if set enables startup
+	 * prefetching.
+	 */
+	static final String ENABLED = "loader.prefetch";
+
+	/**
+	 * Property key for the number of seconds (default 30) for which loaded classes are
+	 * recorded during a training run.
+	 */
+	static final String DURATION = "loader.prefetch.duration";
+
+	private static final String SUFFIX = ".prefetch";
+
+	private static final String STAMP_PREFIX = "# ";
+
+	private static final long DEFAULT_DURATION = 30;
+
+	private final File archive;
+
+	private final File file;
+
+	private final LaunchedURLClassLoader classLoader;
+
+	StartupPrefetch(File archive, LaunchedURLClassLoader classLoader) {
+		this.archive = archive;
+		this.file = new File(archive.getAbsoluteFile().getParentFile(),
+				archive.getName() + SUFFIX);
+		this.classLoader = classLoader;
+	}
+
+	File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Start prefetching or, if no prefetch file exists for the current archive,
+	 * recording.
+	 * @param durationMillis the number of milliseconds to record for
+	 * @return the background thread
+	 */
+	Thread start(long durationMillis) {
+		if (this.file.isFile() && getStamp().equals(readStamp())) {
+			return startThread(this::prefetch);
+		}
+		this.classLoader.startRecording();
+		return startThread(() -> record(durationMillis));
+	}
+
+	private Thread startThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, "loader-prefetch");
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	private String getStamp() {
+		return STAMP_PREFIX + this.archive.length() + " " + this.archive.lastModified();
+	}
+
+	private String readStamp() {
+		try (BufferedReader reader = Files.newBufferedReader(this.file.toPath(),
+				StandardCharsets.UTF_8)) {
+			return reader.readLine();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Prefetch the entries listed in the file.
+	 * @return the number of entries that were read
+	 */
+	int prefetch() {
+		Map<String, JarFile> jarFiles = new LinkedHashMap<>();
+		Map<String, List<String>> names = new LinkedHashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(this.file.toPath(),
+				StandardCharsets.UTF_8)) {
+			String name;
+			while ((name = reader.readLine()) != null) {
+				if (!name.startsWith(STAMP_PREFIX)) {
+					JarFile jarFile = getJarFile(name);
+					if (jarFile != null) {
+						// The URL identifies each nested jar and nested directory
+						String key = jarFile.getUrl().toString();
+						jarFiles.putIfAbsent(key, jarFile);
+						names.computeIfAbsent(key, (k) -> new ArrayList<>()).add(name);
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			// Ignore, prefetching is only an optimization
+			return 0;
+		}
+		int read = 0;
+		for (Map.Entry<String, List<String>> entry : names.entrySet()) {
+			read += prefetch(jarFiles.get(entry.getKey()), entry.getValue());
+		}
+		return read;
+	}
+
+	private JarFile getJarFile(String name) {
+		URL url = this.classLoader.findResource(name);
+		if (url != null) {
+			try {
+				URLConnection connection = url.openConnection();
+				if (connection instanceof JarURLConnection) {
+					java.util.jar.JarFile jarFile = ((JarURLConnection) connection)
+							.getJarFile();
+					if (jarFile instanceof JarFile) {
+						return (JarFile) jarFile;
+					}
+				}
+			}
+			catch (IOException ex) {
+				// Ignore
+			}
+		}
+		return null;
+	}
+
+	private int prefetch(JarFile jarFile, List<String> names) {
+		try {
+			return jarFile.readEntryData(names);
+		}
+		catch (IOException ex) {
+			// Ignore
+			return 0;
+		}
+	}
+
+	private void record(long durationMillis) {
+		try {
+			Thread.sleep(durationMillis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		List<String> lines = new ArrayList<>();
+		lines.add(getStamp());
+		lines.addAll(new LinkedHashSet<>(this.classLoader.stopRecording()));
+		Path temp = null;
+		try {
+			temp = Files.createTempFile(this.file.getAbsoluteFile().getParentFile()
+					.toPath(), this.file.getName(), ".tmp");
+			Files.write(temp, lines, StandardCharsets.UTF_8);
+			move(temp, this.file.toPath());
+		}
+		catch (IOException ex) {
+			// Ignore, the next launch will record again
+			deleteIfExists(temp);
+		}
+	}
+
+	private void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException | FileAlreadyExistsException ex) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private void deleteIfExists(Path path) {
+		try {
+			if (path != null) {
+				Files.deleteIfExists(path);
+			}
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * Start prefetching or recording for the archive if enabled. The archive is only
+	 * resolved once prefetching is known to be enabled.
+	 * @param archive a callback that resolves the archive file
+	 * @param classLoader the class loader
+	 */
+	static void startIfEnabled(Callable<File> archive, ClassLoader classLoader) {
+		if (classLoader instanceof LaunchedURLClassLoader
+				&& "true".equals(SystemPropertyUtils.getProperty(ENABLED))) {
+			File file;
+			try {
+				file = archive.call();
+			}
+			catch (Exception ex) {
+				// Ignore, prefetching is only an optimization
+				return;
+			}
+			new StartupPrefetch(file, (LaunchedURLClassLoader) classLoader)
+					.start(getDuration() * 1000);
+		}
+	}
+
+	/**
+	 * Return the number of seconds for which loaded classes are recorded, falling back
+	 * to the default when the {@link #DURATION} property is not a valid number.
+	 * @return the duration in seconds
+	 */
+	static long getDuration() {
+		String duration = SystemPropertyUtils.getProperty(DURATION);
+		if (duration != null) {
+			try {
+				long value = Long.parseLong(duration.trim());
+				if (value >= 0) {
+					return value;
+				}
+			}
+			catch (NumberFormatException ex) {
+				// Fall back to the default
+			}
+		}
+		return DEFAULT_DURATION;
+	}
+
+}
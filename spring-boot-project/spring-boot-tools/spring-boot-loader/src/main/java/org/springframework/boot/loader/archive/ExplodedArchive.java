@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,39 +16,61 @@
 
 package org.springframework.boot.loader.archive;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Deque;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.Manifest;
 
 /**
  * {@link Archive} implementation backed by an exploded archive directory.
+ * <p>
+ * Entries are listed using a single {@link Files#walkFileTree file tree walk}. An
+ * optional index file can be used to persist the listing between launches. The index
+ * records the last modified time of every folder in the archive and is only reused
+ * when none of them have changed, which is the case unless entries have been added,
+ * removed or renamed.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
  */
 public class ExplodedArchive implements Archive {
 
-	private static final Set<String> SKIPPED_NAMES = new HashSet<>(
-			Arrays.asList(".", ".."));
+	private static final int INDEX_VERSION = 1;
+
+	/**
+	 * Folders modified more recently than this may still change without their last
+	 * modified time being updated on file systems with coarse timestamps.
+	 */
+	private static final long INDEX_RACE_WINDOW = TimeUnit.SECONDS.toMillis(2);
+
+	private static final Comparator<FileEntry> ENTRY_COMPARATOR = new EntryComparator();
 
 	private final File root;
 
 	private final boolean recursive;
 
+	private final File index;
+
 	private File manifestFile;
 
 	private Manifest manifest;
@@ -70,11 +92,24 @@ public class ExplodedArchive implements Archive {
 	 * false}.
 	 */
 	public ExplodedArchive(File root, boolean recursive) {
+		this(root, recursive, null);
+	}
+
+	/**
+	 * Create a new {@link ExplodedArchive} instance that persists its entries to the
+	 * given index file. The index should be located outside of the root folder.
+	 * @param root the root folder
+	 * @param recursive if recursive searching should be used to locate the manifest
+	 * @param index the index file used to persist entries or {@code null}
+	 * @since 2.1.0
+	 */
+	public ExplodedArchive(File root, boolean recursive, File index) {
 		if (!root.exists() || !root.isDirectory()) {
 			throw new IllegalArgumentException("Invalid source folder " + root);
 		}
 		this.root = root;
 		this.recursive = recursive;
+		this.index = index;
 		this.manifestFile = getManifestFile(root);
 	}
 
@@ -111,7 +146,109 @@ public class ExplodedArchive implements Archive {
 
 	@Override
 	public Iterator<Entry> iterator() {
-		return new FileEntryIterator(this.root, this.recursive);
+		List<FileEntry> entries = (this.index != null ? readIndex() : null);
+		if (entries == null) {
+			long lastModified = this.root.lastModified();
+			entries = listEntries();
+			if (this.index != null) {
+				writeIndex(lastModified, entries);
+			}
+		}
+		return Collections.<Entry>unmodifiableList(entries).iterator();
+	}
+
+	private List<FileEntry> listEntries() {
+		List<FileEntry> entries = new ArrayList<>();
+		Path root = this.root.toPath();
+		try {
+			Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+					(this.recursive ? Integer.MAX_VALUE : 2),
+					new EntryCollector(root, entries));
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to list entries in " + root, ex);
+		}
+		entries.sort(ENTRY_COMPARATOR);
+		return entries;
+	}
+
+	private List<FileEntry> readIndex() {
+		if (!this.index.isFile()) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(this.index)))) {
+			if (input.readInt() != INDEX_VERSION
+					|| !input.readUTF().equals(this.root.getAbsolutePath())
+					|| input.readBoolean() != this.recursive
+					|| input.readLong() != this.root.lastModified()) {
+				return null;
+			}
+			int size = input.readInt();
+			List<FileEntry> entries = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				String name = input.readUTF();
+				File file = new File(this.root, name);
+				boolean directory = input.readBoolean();
+				long lastModified = (directory ? input.readLong() : 0);
+				if (directory && file.lastModified() != lastModified) {
+					return null;
+				}
+				entries.add(new FileEntry(name, file, directory, lastModified));
+			}
+			return entries;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private void writeIndex(long lastModified, List<FileEntry> entries) {
+		long threshold = System.currentTimeMillis() - INDEX_RACE_WINDOW;
+		if (lastModified > threshold) {
+			return;
+		}
+		for (FileEntry entry : entries) {
+			if (entry.isDirectory() && entry.getLastModified() > threshold) {
+				return;
+			}
+		}
+		Path temp = null;
+		try {
+			temp = Files.createTempFile(this.index.getAbsoluteFile().getParentFile()
+					.toPath(), this.index.getName(), ".tmp");
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				output.writeInt(INDEX_VERSION);
+				output.writeUTF(this.root.getAbsolutePath());
+				output.writeBoolean(this.recursive);
+				output.writeLong(lastModified);
+				output.writeInt(entries.size());
+				for (FileEntry entry : entries) {
+					output.writeUTF(entry.getName());
+					output.writeBoolean(entry.isDirectory());
+					if (entry.isDirectory()) {
+						output.writeLong(entry.getLastModified());
+					}
+				}
+			}
+			Files.move(temp, this.index.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			// Ignore, the next launch will list the entries again
+			deleteIfExists(temp);
+		}
+	}
+
+	private void deleteIfExists(Path path) {
+		try {
+			if (path != null) {
+				Files.deleteIfExists(path);
+			}
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
 	}
 
 	protected Archive getNestedArchive(Entry entry) throws IOException {
@@ -131,85 +268,74 @@ public class ExplodedArchive implements Archive {
 	}
 
 	/**
-	 * File based {@link Entry} {@link Iterator}.
+	 * {@link java.nio.file.FileVisitor} that collects {@link FileEntry FileEntries}.
 	 */
-	private static class FileEntryIterator implements Iterator<Entry> {
+	private static class EntryCollector extends SimpleFileVisitor<Path> {
 
-		private final Comparator<File> entryComparator = new EntryComparator();
+		private final Path root;
 
-		private final File root;
+		private final List<FileEntry> entries;
 
-		private final boolean recursive;
-
-		private final Deque<Iterator<File>> stack = new LinkedList<>();
-
-		private File current;
-
-		FileEntryIterator(File root, boolean recursive) {
+		EntryCollector(Path root, List<FileEntry> entries) {
 			this.root = root;
-			this.recursive = recursive;
-			this.stack.add(listFiles(root));
-			this.current = poll();
+			this.entries = entries;
 		}
 
 		@Override
-		public boolean hasNext() {
-			return this.current != null;
+		public FileVisitResult preVisitDirectory(Path dir,
+				BasicFileAttributes attributes) {
+			if (!dir.equals(this.root)) {
+				add(dir, attributes);
+			}
+			return FileVisitResult.CONTINUE;
 		}
 
 		@Override
-		public Entry next() {
-			if (this.current == null) {
-				throw new NoSuchElementException();
-			}
-			File file = this.current;
-			if (file.isDirectory()
-					&& (this.recursive || file.getParentFile().equals(this.root))) {
-				this.stack.addFirst(listFiles(file));
-			}
-			this.current = poll();
-			String name = file.toURI().getPath()
-					.substring(this.root.toURI().getPath().length());
-			return new FileEntry(name, file);
+		public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+			add(file, attributes);
+			return FileVisitResult.CONTINUE;
 		}
 
-		private Iterator<File> listFiles(File file) {
-			File[] files = file.listFiles();
-			if (files == null) {
-				return Collections.<File>emptyList().iterator();
-			}
-			Arrays.sort(files, this.entryComparator);
-			return Arrays.asList(files).iterator();
+		@Override
+		public FileVisitResult visitFileFailed(Path file, IOException ex) {
+			return FileVisitResult.CONTINUE;
 		}
 
-		private File poll() {
-			while (!this.stack.isEmpty()) {
-				while (this.stack.peek().hasNext()) {
-					File file = this.stack.peek().next();
-					if (!SKIPPED_NAMES.contains(file.getName())) {
-						return file;
-					}
-				}
-				this.stack.poll();
-			}
-			return null;
+		@Override
+		public FileVisitResult postVisitDirectory(Path dir, IOException ex) {
+			return FileVisitResult.CONTINUE;
 		}
 
-		@Override
-		public void remove() {
-			throw new UnsupportedOperationException("remove");
+		private void add(Path path, BasicFileAttributes attributes) {
+			boolean directory = attributes.isDirectory();
+			String name = this.root.relativize(path).toString()
+					.replace(File.separatorChar, '/');
+			this.entries.add(new FileEntry((directory ? name + "/" : name),
+					path.toFile(), directory,
+					attributes.lastModifiedTime().toMillis()));
 		}
 
-		/**
-		 * {@link Comparator} that orders {@link File} entries by their absolute paths.
-		 */
-		private static class EntryComparator implements Comparator<File> {
+	}
 
-			@Override
-			public int compare(File o1, File o2) {
-				return o1.getAbsolutePath().compareTo(o2.getAbsolutePath());
-			}
+	/**
+	 * {@link Comparator} that orders {@link FileEntry FileEntries} so that folders are
+	 * followed by their contents and siblings are sorted by name.
+	 */
+	private static class EntryComparator implements Comparator<FileEntry> {
 
+		@Override
+		public int compare(FileEntry o1, FileEntry o2) {
+			String name1 = o1.getName();
+			String name2 = o2.getName();
+			int length = Math.min(name1.length(), name2.length());
+			for (int i = 0; i < length; i++) {
+				char c1 = name1.charAt(i);
+				char c2 = name2.charAt(i);
+				if (c1 != c2) {
+					return (c1 == '/' ? -1 : (c2 == '/' ? 1 : c1 - c2));
+				}
+			}
+			return name1.length() - name2.length();
 		}
 
 	}
@@ -223,9 +349,15 @@ public class ExplodedArchive implements Archive {
 
 		private final File file;
 
-		FileEntry(String name, File file) {
+		private final boolean directory;
+
+		private final long lastModified;
+
+		FileEntry(String name, File file, boolean directory, long lastModified) {
 			this.name = name;
 			this.file = file;
+			this.directory = directory;
+			this.lastModified = lastModified;
 		}
 
 		public File getFile() {
@@ -234,7 +366,7 @@ public class ExplodedArchive implements Archive {
 
 		@Override
 		public boolean isDirectory() {
-			return this.file.isDirectory();
+			return this.directory;
 		}
 
 		@Override
@@ -242,6 +374,10 @@ public class ExplodedArchive implements Archive {
 			return this.name;
 		}
 
+		long getLastModified() {
+			return this.lastModified;
+		}
+
 	}
 
 }
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.jar.JarEntry;
 import java.util.jar.Manifest;
@@ -61,6 +62,17 @@ public class JarFileArchive implements Archive {
 		this.url = url;
 	}
 
+	/**
+	 * Create a new {@link JarFileArchive} instance.
+	 * @param file the jar file
+	 * @param memoryMapped if the jar file should be memory-mapped
+	 * @throws IOException if the file cannot be read
+	 * @since 2.1.0
+	 */
+	public JarFileArchive(File file, boolean memoryMapped) throws IOException {
+		this(new JarFile(file, memoryMapped));
+	}
+
 	public JarFileArchive(JarFile jarFile) {
 		this.jarFile = jarFile;
 	}
@@ -78,6 +90,18 @@ public class JarFileArchive implements Archive {
 		return this.jarFile.getManifest();
 	}
 
+	/**
+	 * Return the packages (folders of the file entries) of this archive as recorded in
+	 * the index written alongside it when it was repackaged.
+	 * @return the packages or {@code null} if they are not known without reading the
+	 * entries of the archive
+	 * @since 2.1.0
+	 * @see JarFile#getIndexedPackages()
+	 */
+	public Set<String> getIndexedPackages() {
+		return this.jarFile.getIndexedPackages();
+	}
+
 	@Override
 	public List<Archive> getNestedArchives(EntryFilter filter) throws IOException {
 		List<Archive> nestedArchives = new ArrayList<>();
@@ -22,9 +22,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
 
 /**
- * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}.
+ * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile} or,
+ * optionally, by memory-mapped regions of the file. Memory-mapped files allow concurrent
+ * reads without locking or a system call per read and can be larger than 2GB.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -43,10 +50,22 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 * @throws IllegalArgumentException if the file is null or does not exist
 	 */
 	public RandomAccessDataFile(File file) {
+		this(file, false);
+	}
+
+	/**
+	 * Create a new {@link RandomAccessDataFile} backed by the specified file.
+	 * @param file the underlying file
+	 * @param memoryMapped if the file should be memory-mapped rather than read using a
+	 * {@link RandomAccessFile}
+	 * @throws IllegalArgumentException if the file is null or does not exist
+	 * @since 2.1.0
+	 */
+	public RandomAccessDataFile(File file, boolean memoryMapped) {
 		if (file == null) {
 			throw new IllegalArgumentException("File must not be null");
 		}
-		this.fileAccess = new FileAccess(file);
+		this.fileAccess = new FileAccess(file, memoryMapped);
 		this.offset = 0L;
 		this.length = file.length();
 	}
@@ -63,6 +82,15 @@ public class RandomAccessDataFile implements RandomAccessData {
 		this.length = length;
 	}
 
+	/**
+	 * Returns if the underlying file is memory-mapped.
+	 * @return if the file is memory-mapped
+	 * @since 2.1.0
+	 */
+	public boolean isMemoryMapped() {
+		return this.fileAccess.memoryMapped;
+	}
+
 	/**
 	 * Returns the underlying File.
 	 * @return the underlying file
@@ -205,19 +233,33 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	private static final class FileAccess {
 
+		/**
+		 * The maximum size of a single mapped region. A {@link MappedByteBuffer} is
+		 * indexed by {@code int} so larger files are mapped as several regions.
+		 */
+		private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
 		private final Object monitor = new Object();
 
 		private final File file;
 
+		private final boolean memoryMapped;
+
 		private RandomAccessFile randomAccessFile;
 
-		private FileAccess(File file) {
+		private volatile MappedByteBuffer[] regions;
+
+		private FileAccess(File file, boolean memoryMapped) {
 			this.file = file;
+			this.memoryMapped = memoryMapped;
 			openIfNecessary();
 		}
 
 		private int read(byte[] bytes, long position, int offset, int length)
 				throws IOException {
+			if (this.memoryMapped) {
+				return readMapped(bytes, position, offset, length);
+			}
 			synchronized (this.monitor) {
 				openIfNecessary();
 				this.randomAccessFile.seek(position);
@@ -225,28 +267,104 @@ public class RandomAccessDataFile implements RandomAccessData {
 			}
 		}
 
+		private int readMapped(byte[] bytes, long position, int offset, int length) {
+			MappedByteBuffer[] regions = getRegions();
+			int read = 0;
+			while (read < length) {
+				int region = (int) ((position + read) / MAX_REGION_SIZE);
+				if (region >= regions.length) {
+					break;
+				}
+				// Duplicate so that concurrent readers don't share a buffer position
+				ByteBuffer buffer = regions[region].duplicate();
+				int regionPosition = (int) ((position + read) % MAX_REGION_SIZE);
+				if (regionPosition >= buffer.limit()) {
+					break;
+				}
+				buffer.position(regionPosition);
+				int count = Math.min(length - read, buffer.remaining());
+				buffer.get(bytes, offset + read, count);
+				read += count;
+			}
+			return (read == 0 && length > 0 ? -1 : read);
+		}
+
+		private MappedByteBuffer[] getRegions() {
+			MappedByteBuffer[] regions = this.regions;
+			if (regions == null) {
+				synchronized (this.monitor) {
+					openIfNecessary();
+					regions = this.regions;
+				}
+			}
+			return regions;
+		}
+
 		private void openIfNecessary() {
-			if (this.randomAccessFile == null) {
+			if (this.memoryMapped) {
+				if (this.regions == null) {
+					this.regions = map();
+				}
+			}
+			else if (this.randomAccessFile == null) {
 				try {
 					this.randomAccessFile = new RandomAccessFile(this.file, "r");
 				}
 				catch (FileNotFoundException ex) {
-					throw new IllegalArgumentException(String.format("File %s must exist",
-							this.file.getAbsolutePath()));
+					throw fileMustExist();
 				}
 			}
 		}
 
+		private MappedByteBuffer[] map() {
+			if (!this.file.isFile()) {
+				throw fileMustExist();
+			}
+			try (FileChannel channel = FileChannel.open(this.file.toPath(),
+					StandardOpenOption.READ)) {
+				long size = channel.size();
+				MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size
+						+ MAX_REGION_SIZE - 1) / MAX_REGION_SIZE)];
+				for (int i = 0; i < regions.length; i++) {
+					long start = i * MAX_REGION_SIZE;
+					regions[i] = channel.map(MapMode.READ_ONLY, start,
+							Math.min(MAX_REGION_SIZE, size - start));
+				}
+				return regions;
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(String.format("Unable to map file %s",
+						this.file.getAbsolutePath()), ex);
+			}
+		}
+
+		private IllegalArgumentException fileMustExist() {
+			return new IllegalArgumentException(
+					String.format("File %s must exist", this.file.getAbsolutePath()));
+		}
+
 		private void close() throws IOException {
 			synchronized (this.monitor) {
 				if (this.randomAccessFile != null) {
 					this.randomAccessFile.close();
 					this.randomAccessFile = null;
 				}
+				// Mapped regions are released when they are garbage collected
+				this.regions = null;
 			}
 		}
 
 		private int readByte(long position) throws IOException {
+			if (this.memoryMapped) {
+				MappedByteBuffer[] regions = getRegions();
+				int region = (int) (position / MAX_REGION_SIZE);
+				int regionPosition = (int) (position % MAX_REGION_SIZE);
+				if (region >= regions.length
+						|| regionPosition >= regions[region].limit()) {
+					return -1;
+				}
+				return regions[region].get(regionPosition) & 0xFF;
+			}
 			synchronized (this.monitor) {
 				openIfNecessary();
 				this.randomAccessFile.seek(position);
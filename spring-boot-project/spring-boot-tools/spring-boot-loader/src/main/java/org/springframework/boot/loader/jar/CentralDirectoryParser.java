@@ -49,13 +49,34 @@ class CentralDirectoryParser {
 	 */
 	public RandomAccessData parse(RandomAccessData data, boolean skipPrefixBytes)
 			throws IOException {
+		return parse(data, skipPrefixBytes, null);
+	}
+
+	/**
+	 * Parse the source data, triggering {@link CentralDirectoryVisitor visitors}. If a
+	 * matching {@link JarEntriesIndex} is provided it is passed to the visitors instead
+	 * of reading each file header.
+	 * @param data the source data
+	 * @param skipPrefixBytes if prefix bytes should be skipped
+	 * @param index an optional pre-computed index of the entries
+	 * @return The actual archive data without any prefix bytes
+	 * @throws IOException on error
+	 */
+	public RandomAccessData parse(RandomAccessData data, boolean skipPrefixBytes,
+			JarEntriesIndex index) throws IOException {
 		CentralDirectoryEndRecord endRecord = new CentralDirectoryEndRecord(data);
 		if (skipPrefixBytes) {
 			data = getArchiveData(endRecord, data);
 		}
 		RandomAccessData centralDirectoryData = endRecord.getCentralDirectory(data);
 		visitStart(endRecord, centralDirectoryData);
-		parseEntries(endRecord, centralDirectoryData);
+		if (index != null
+				&& index.getNumberOfRecords() == endRecord.getNumberOfRecords()) {
+			visitIndex(index);
+		}
+		else {
+			parseEntries(endRecord, centralDirectoryData);
+		}
 		visitEnd();
 		return data;
 	}
@@ -96,6 +117,12 @@ class CentralDirectoryParser {
 		}
 	}
 
+	private void visitIndex(JarEntriesIndex index) {
+		for (CentralDirectoryVisitor visitor : this.visitors) {
+			visitor.visitIndex(index);
+		}
+	}
+
 	private void visitEnd() {
 		for (CentralDirectoryVisitor visitor : this.visitors) {
 			visitor.visitEnd();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,15 @@ interface CentralDirectoryVisitor {
 
 	void visitFileHeader(CentralDirectoryFileHeader fileHeader, int dataOffset);
 
+	/**
+	 * Visit a pre-computed {@link JarEntriesIndex}. Called instead of
+	 * {@link #visitFileHeader(CentralDirectoryFileHeader, int)} when the parser has been
+	 * given an index that matches the central directory.
+	 * @param index the entries index
+	 */
+	default void visitIndex(JarEntriesIndex index) {
+	}
+
 	void visitEnd();
 
 }
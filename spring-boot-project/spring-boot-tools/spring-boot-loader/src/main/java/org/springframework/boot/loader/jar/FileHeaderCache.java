@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, bounded cache of {@link FileHeader} instances keyed by their index in
+ * {@link JarFileEntries}. Each index maps directly to a single slot so adding an entry
+ * may replace another one. Hit and miss counts are recorded for diagnostics.
+ *
+ * @author Phillip Webb
+ */
+final class FileHeaderCache {
+
+	private final AtomicReferenceArray<CachedFileHeader> slots;
+
+	private final int mask;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Create a new {@link FileHeaderCache} instance.
+	 * @param size the minimum number of slots, rounded up to a power of two
+	 */
+	FileHeaderCache(int size) {
+		int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.mask = capacity - 1;
+	}
+
+	FileHeader get(int index) {
+		CachedFileHeader cached = this.slots.get(index & this.mask);
+		if (cached != null && cached.index == index) {
+			this.hits.increment();
+			return cached.fileHeader;
+		}
+		this.misses.increment();
+		return null;
+	}
+
+	void put(int index, FileHeader fileHeader) {
+		this.slots.set(index & this.mask, new CachedFileHeader(index, fileHeader));
+	}
+
+	void clear() {
+		for (int i = 0; i < this.slots.length(); i++) {
+			this.slots.set(i, null);
+		}
+	}
+
+	int getSize() {
+		return this.slots.length();
+	}
+
+	long getHitCount() {
+		return this.hits.sum();
+	}
+
+	long getMissCount() {
+		return this.misses.sum();
+	}
+
+	private static final class CachedFileHeader {
+
+		private final int index;
+
+		private final FileHeader fileHeader;
+
+		private CachedFileHeader(int index, FileHeader fileHeader) {
+			this.index = index;
+			this.fileHeader = fileHeader;
+		}
+
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.loader.data.RandomAccessData;
+
+/**
+ * A pre-computed index of the entries of a nested jar, written alongside the jar when it
+ * is repackaged. The index contains the same {@code hashCodes},
+ * {@code centralDirectoryOffsets} and {@code positions} arrays that
+ * {@link JarFileEntries} would otherwise build (and sort) by parsing every central
+ * directory record.
+ * <p>
+ * All values are stored little-endian using the following layout:
+ * <pre>
+ * signature              4 bytes
+ * crc of the nested jar  4 bytes
+ * number of records      4 bytes
+ * flags                  4 bytes
+ * size                   4 bytes
+ * hash codes             size * 4 bytes (sorted)
+ * central dir offsets    size * 4 bytes
+ * positions              size * 4 bytes
+ * number of packages     4 bytes (only when the packages flag is set)
+ * packages               2 byte length and UTF-8 name for each package
+ * </pre>
+ *
+ * @author Phillip Webb
+ * @see CentralDirectoryParser#parse(RandomAccessData, boolean, JarEntriesIndex)
+ */
+final class JarEntriesIndex {
+
+	private static final String LOCATION = "META-INF/entries-index/";
+
+	private static final String SUFFIX = ".idx";
+
+	private static final long SIGNATURE = 0x01584449L;
+
+	private static final int HEADER_SIZE = 20;
+
+	private static final int SIGNED_FLAG = 0x01;
+
+	private static final int PACKAGES_FLAG = 0x02;
+
+	private final int numberOfRecords;
+
+	private final boolean signed;
+
+	private final int size;
+
+	private final int[] hashCodes;
+
+	private final int[] centralDirectoryOffsets;
+
+	private final int[] positions;
+
+	private final Set<String> packages;
+
+	private JarEntriesIndex(int numberOfRecords, boolean signed, int size,
+			int[] hashCodes, int[] centralDirectoryOffsets, int[] positions,
+			Set<String> packages) {
+		this.numberOfRecords = numberOfRecords;
+		this.signed = signed;
+		this.size = size;
+		this.hashCodes = hashCodes;
+		this.centralDirectoryOffsets = centralDirectoryOffsets;
+		this.positions = positions;
+		this.packages = packages;
+	}
+
+	/**
+	 * Return the number of central directory records that the index was created from.
+	 * @return the number of records
+	 */
+	int getNumberOfRecords() {
+		return this.numberOfRecords;
+	}
+
+	boolean isSigned() {
+		return this.signed;
+	}
+
+	int getSize() {
+		return this.size;
+	}
+
+	int[] getHashCodes() {
+		return this.hashCodes;
+	}
+
+	int[] getCentralDirectoryOffsets() {
+		return this.centralDirectoryOffsets;
+	}
+
+	int[] getPositions() {
+		return this.positions;
+	}
+
+	/**
+	 * Return the packages (folders of the file entries) of the nested jar.
+	 * @return the packages or {@code null} if the index does not list them
+	 */
+	Set<String> getPackages() {
+		return this.packages;
+	}
+
+	/**
+	 * Return the name of the entry that holds the index for the given nested jar entry.
+	 * @param name the name of the nested jar entry
+	 * @return the name of the index entry
+	 */
+	static String getLocation(String name) {
+		return LOCATION + name + SUFFIX;
+	}
+
+	/**
+	 * Load an index from the given data.
+	 * @param data the index data
+	 * @param crc the CRC of the nested jar that the index must match
+	 * @return the loaded index or {@code null} if the data is not a valid index for the
+	 * nested jar
+	 * @throws IOException on error
+	 */
+	static JarEntriesIndex load(RandomAccessData data, long crc) throws IOException {
+		if (data.getSize() < HEADER_SIZE) {
+			return null;
+		}
+		byte[] bytes = data.read(0, data.getSize());
+		if (Bytes.littleEndianValue(bytes, 0, 4) != SIGNATURE
+				|| Bytes.littleEndianValue(bytes, 4, 4) != crc) {
+			return null;
+		}
+		int numberOfRecords = (int) Bytes.littleEndianValue(bytes, 8, 4);
+		long flags = Bytes.littleEndianValue(bytes, 12, 4);
+		int size = (int) Bytes.littleEndianValue(bytes, 16, 4);
+		int packagesOffset = HEADER_SIZE + (size * 12);
+		boolean hasPackages = (flags & PACKAGES_FLAG) != 0;
+		if (size > numberOfRecords || bytes.length < packagesOffset
+				|| (!hasPackages && bytes.length != packagesOffset)) {
+			return null;
+		}
+		Set<String> packages = null;
+		if (hasPackages) {
+			packages = readPackages(bytes, packagesOffset);
+			if (packages == null) {
+				return null;
+			}
+		}
+		int offset = HEADER_SIZE;
+		int[] hashCodes = readInts(bytes, offset, size);
+		offset += size * 4;
+		int[] centralDirectoryOffsets = readInts(bytes, offset, size);
+		offset += size * 4;
+		int[] positions = readInts(bytes, offset, size);
+		return new JarEntriesIndex(numberOfRecords, (flags & SIGNED_FLAG) != 0, size,
+				hashCodes, centralDirectoryOffsets, positions, packages);
+	}
+
+	private static Set<String> readPackages(byte[] bytes, int offset) {
+		if (bytes.length < offset + 4) {
+			return null;
+		}
+		int count = (int) Bytes.littleEndianValue(bytes, offset, 4);
+		offset += 4;
+		if (count < 0 || count > bytes.length) {
+			return null;
+		}
+		Set<String> packages = new HashSet<>(count * 4 / 3 + 1);
+		for (int i = 0; i < count; i++) {
+			if (bytes.length < offset + 2) {
+				return null;
+			}
+			int length = (int) Bytes.littleEndianValue(bytes, offset, 2);
+			offset += 2;
+			if (bytes.length < offset + length) {
+				return null;
+			}
+			packages.add(new String(bytes, offset, length, StandardCharsets.UTF_8));
+			offset += length;
+		}
+		return (offset != bytes.length ? null : Collections.unmodifiableSet(packages));
+	}
+
+	private static int[] readInts(byte[] bytes, int offset, int size) {
+		int[] values = new int[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = (int) Bytes.littleEndianValue(bytes, offset + (i * 4), 4);
+		}
+		return values;
+	}
+
+}
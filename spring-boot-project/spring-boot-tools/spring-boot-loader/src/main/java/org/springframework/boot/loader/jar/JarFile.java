@@ -24,8 +24,13 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLStreamHandler;
 import java.net.URLStreamHandlerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
@@ -42,6 +47,8 @@ import org.springframework.boot.loader.data.RandomAccessDataFile;
  * on any directory entry.</li>
  * <li>A nested {@link JarFile} can be {@link #getNestedJarFile(ZipEntry) obtained} for
  * embedded JAR files (as long as their entry is not compressed).</li>
+ * <li>Nested JAR files are opened using a pre-computed {@link JarEntriesIndex} when one
+ * has been written alongside them.</li>
  * </ul>
  *
  * @author Phillip Webb
@@ -59,6 +66,8 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private static final AsciiBytes SIGNATURE_FILE_EXTENSION = new AsciiBytes(".SF");
 
+	private static final int BUFFER_SIZE = 4096;
+
 	private final RandomAccessDataFile rootFile;
 
 	private final String pathFromRoot;
@@ -77,6 +86,8 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private boolean signed;
 
+	private Set<String> indexedPackages;
+
 	/**
 	 * Create a new {@link JarFile} backed by the specified file.
 	 * @param file the root jar file
@@ -86,6 +97,18 @@ public class JarFile extends java.util.jar.JarFile {
 		this(new RandomAccessDataFile(file));
 	}
 
+	/**
+	 * Create a new {@link JarFile} backed by the specified file.
+	 * @param file the root jar file
+	 * @param memoryMapped if the root jar file should be memory-mapped
+	 * @throws IOException if the file cannot be read
+	 * @since 2.1.0
+	 * @see RandomAccessDataFile#RandomAccessDataFile(File, boolean)
+	 */
+	public JarFile(File file, boolean memoryMapped) throws IOException {
+		this(new RandomAccessDataFile(file, memoryMapped));
+	}
+
 	/**
 	 * Create a new {@link JarFile} backed by the specified file.
 	 * @param file the root jar file
@@ -106,19 +129,19 @@ public class JarFile extends java.util.jar.JarFile {
 	 */
 	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
 			RandomAccessData data, JarFileType type) throws IOException {
-		this(rootFile, pathFromRoot, data, null, type, null);
+		this(rootFile, pathFromRoot, data, null, null, type, null);
 	}
 
 	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
-			RandomAccessData data, JarEntryFilter filter, JarFileType type,
-			Supplier<Manifest> manifestSupplier) throws IOException {
+			RandomAccessData data, JarEntriesIndex index, JarEntryFilter filter,
+			JarFileType type, Supplier<Manifest> manifestSupplier) throws IOException {
 		super(rootFile.getFile());
 		this.rootFile = rootFile;
 		this.pathFromRoot = pathFromRoot;
 		CentralDirectoryParser parser = new CentralDirectoryParser();
 		this.entries = parser.addVisitor(new JarFileEntries(this, filter));
 		parser.addVisitor(centralDirectoryVisitor());
-		this.data = parser.parse(data, filter == null);
+		this.data = parser.parse(data, filter == null, index);
 		this.type = type;
 		this.manifestSupplier = (manifestSupplier != null ? manifestSupplier : () -> {
 			try (InputStream inputStream = getInputStream(MANIFEST_NAME)) {
@@ -151,6 +174,12 @@ public class JarFile extends java.util.jar.JarFile {
 				}
 			}
 
+			@Override
+			public void visitIndex(JarEntriesIndex index) {
+				JarFile.this.signed = index.isSigned();
+				JarFile.this.indexedPackages = index.getPackages();
+			}
+
 			@Override
 			public void visitEnd() {
 			}
@@ -273,7 +302,8 @@ public class JarFile extends java.util.jar.JarFile {
 		return new JarFile(this.rootFile,
 				this.pathFromRoot + "!/"
 						+ entry.getName().substring(0, name.length() - 1),
-				this.data, filter, JarFileType.NESTED_DIRECTORY, this.manifestSupplier);
+				this.data, null, filter, JarFileType.NESTED_DIRECTORY,
+				this.manifestSupplier);
 	}
 
 	private JarFile createJarFileFromFileEntry(JarEntry entry) throws IOException {
@@ -285,7 +315,28 @@ public class JarFile extends java.util.jar.JarFile {
 		}
 		RandomAccessData entryData = this.entries.getEntryData(entry.getName());
 		return new JarFile(this.rootFile, this.pathFromRoot + "!/" + entry.getName(),
-				entryData, JarFileType.NESTED_JAR);
+				entryData, getEntriesIndex(entry), null, JarFileType.NESTED_JAR, null);
+	}
+
+	private JarEntriesIndex getEntriesIndex(JarEntry entry) throws IOException {
+		String name = JarEntriesIndex.getLocation(entry.getName());
+		JarEntry indexEntry = this.entries.getEntry(name);
+		if (indexEntry == null || indexEntry.getMethod() != ZipEntry.STORED) {
+			return null;
+		}
+		return JarEntriesIndex.load(this.entries.getEntryData(name), entry.getCrc());
+	}
+
+	/**
+	 * Return the packages (folders of the file entries) of this jar as recorded in the
+	 * {@link JarEntriesIndex} that was written alongside it. The entries are not read to
+	 * determine the packages.
+	 * @return the packages or {@code null} if this jar was not opened using an index
+	 * that lists them
+	 * @since 2.1.0
+	 */
+	public Set<String> getIndexedPackages() {
+		return this.indexedPackages;
 	}
 
 	@Override
@@ -363,6 +414,56 @@ public class JarFile extends java.util.jar.JarFile {
 		this.entries.clearCache();
 	}
 
+	/**
+	 * Read the data of the named entries as it is stored in the jar, in the order that
+	 * the entries appear in it and without inflating them. Intended to warm the
+	 * operating system's file cache ahead of the entries being loaded.
+	 * @param names the names of the entries
+	 * @return the number of entries that were read
+	 * @throws IOException if the data cannot be read
+	 * @since 2.1.0
+	 */
+	public int readEntryData(Collection<String> names) throws IOException {
+		List<JarEntry> entries = new ArrayList<>(names.size());
+		for (String name : names) {
+			JarEntry entry = this.entries.getEntry(name);
+			if (entry != null) {
+				entries.add(entry);
+			}
+		}
+		entries.sort(Comparator.comparingLong(JarEntry::getLocalHeaderOffset));
+		byte[] buffer = new byte[BUFFER_SIZE];
+		for (JarEntry entry : entries) {
+			try (InputStream inputStream = this.entries.getEntryData(entry.getName())
+					.getInputStream()) {
+				while (inputStream.read(buffer) != -1) {
+					// Read the whole entry
+				}
+			}
+		}
+		return entries.size();
+	}
+
+	/**
+	 * Return the number of entry lookups that were served from the entry cache. Intended
+	 * for diagnostics.
+	 * @return the cache hit count
+	 * @since 2.1.0
+	 */
+	public long getEntryCacheHitCount() {
+		return this.entries.getCacheHitCount();
+	}
+
+	/**
+	 * Return the number of entry lookups that were not served from the entry cache.
+	 * Intended for diagnostics.
+	 * @return the cache miss count
+	 * @since 2.1.0
+	 */
+	public long getEntryCacheMissCount() {
+		return this.entries.getCacheMissCount();
+	}
+
 	protected String getPathFromRoot() {
 		return this.pathFromRoot;
 	}
@@ -19,11 +19,10 @@ package org.springframework.boot.loader.jar;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 
 import org.springframework.boot.loader.data.RandomAccessData;
@@ -34,7 +33,8 @@ import org.springframework.boot.loader.data.RandomAccessData;
  * stores the hash code of the entry name, the {@code centralDirectoryOffsets} provides
  * the offset to the central directory record and {@code positions} provides the original
  * order position of the entry. The arrays are stored in hashCode order so that a binary
- * search can be used to find a name.
+ * search can be used to find a name. The arrays may also be provided pre-sorted by a
+ * {@link JarEntriesIndex}.
  * <p>
  * A typical Spring Boot application will have somewhere in the region of 10,500 entries
  * which should consume about 122K.
@@ -50,7 +50,10 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private static final char NO_SUFFIX = 0;
 
-	protected static final int ENTRY_CACHE_SIZE = 25;
+	private static final String ENTRY_CACHE_SIZE_PROPERTY = "loader.entryCacheSize";
+
+	protected static final int ENTRY_CACHE_SIZE = Integer
+			.getInteger(ENTRY_CACHE_SIZE_PROPERTY, 64);
 
 	private final JarFile jarFile;
 
@@ -66,19 +69,15 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private int[] positions;
 
-	private final Map<Integer, FileHeader> entriesCache = Collections
-			.synchronizedMap(new LinkedHashMap<Integer, FileHeader>(16, 0.75f, true) {
+	private boolean indexed;
 
-				@Override
-				protected boolean removeEldestEntry(
-						Map.Entry<Integer, FileHeader> eldest) {
-					if (JarFileEntries.this.jarFile.isSigned()) {
-						return false;
-					}
-					return size() >= ENTRY_CACHE_SIZE;
-				}
+	private final FileHeaderCache entriesCache = new FileHeaderCache(ENTRY_CACHE_SIZE);
 
-			});
+	/**
+	 * Entries of signed jars are never evicted so that their certificates, which are
+	 * only available once the entry has been read, are not lost.
+	 */
+	private final Map<Integer, FileHeader> signedEntriesCache = new ConcurrentHashMap<>();
 
 	JarFileEntries(JarFile jarFile, JarEntryFilter filter) {
 		this.jarFile = jarFile;
@@ -110,8 +109,21 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		this.size++;
 	}
 
+	@Override
+	public void visitIndex(JarEntriesIndex index) {
+		this.size = index.getSize();
+		this.hashCodes = index.getHashCodes();
+		this.centralDirectoryOffsets = index.getCentralDirectoryOffsets();
+		this.positions = index.getPositions();
+		this.indexed = true;
+	}
+
 	@Override
 	public void visitEnd() {
+		if (this.indexed) {
+			// Already sorted when the index was written
+			return;
+		}
 		sort(0, this.size - 1);
 		int[] positions = this.positions;
 		this.positions = new int[positions.length];
@@ -242,7 +254,9 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	private <T extends FileHeader> T getEntry(int index, Class<T> type,
 			boolean cacheEntry) {
 		try {
-			FileHeader cached = this.entriesCache.get(index);
+			boolean signed = this.jarFile.isSigned();
+			FileHeader cached = (signed ? this.signedEntriesCache.get(index)
+					: this.entriesCache.get(index));
 			FileHeader entry = (cached != null ? cached
 					: CentralDirectoryFileHeader.fromRandomAccessData(
 							this.centralDirectoryData,
@@ -252,7 +266,12 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 				entry = new JarEntry(this.jarFile, (CentralDirectoryFileHeader) entry);
 			}
 			if (cacheEntry && cached != entry) {
-				this.entriesCache.put(index, entry);
+				if (signed) {
+					this.signedEntriesCache.put(index, entry);
+				}
+				else {
+					this.entriesCache.put(index, entry);
+				}
 			}
 			return (T) entry;
 		}
@@ -274,6 +293,15 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	public void clearCache() {
 		this.entriesCache.clear();
+		this.signedEntriesCache.clear();
+	}
+
+	long getCacheHitCount() {
+		return this.entriesCache.getHitCount();
+	}
+
+	long getCacheMissCount() {
+		return this.entriesCache.getMissCount();
 	}
 
 	private AsciiBytes applyFilter(AsciiBytes name) {
@@ -17,13 +17,25 @@
 package org.springframework.boot.loader;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.ExplodedArchive;
+import org.springframework.boot.loader.archive.JarFileArchive;
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.boot.loader.util.SystemPropertyUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,6 +52,9 @@ public class LaunchedURLClassLoaderTests {
 	@Rule
 	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	@Test
 	public void resolveResourceFromArchive() throws Exception {
 		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
@@ -105,4 +120,90 @@ public class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	public void loadClassFromIndexedArchive() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		String name = SystemPropertyUtils.class.getName();
+		String entryName = name.replace('.', '/') + ".class";
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file))) {
+			jarOutputStream.putNextEntry(new JarEntry(entryName));
+			StreamUtils.copy(getClass().getResourceAsStream("/" + entryName),
+					jarOutputStream);
+		}
+		LaunchedURLClassLoader loader = createIndexedClassLoader(null,
+				new JarFileArchive(new File("src/test/resources/jars/app.jar")),
+				new JarFileArchive(file));
+		Class<?> type = loader.loadClass(name);
+		assertThat(type).isNotSameAs(SystemPropertyUtils.class);
+		assertThat(type.getClassLoader()).isSameAs(loader);
+		assertThat(type.getPackage()).isNotNull();
+		assertThat(type.getProtectionDomain().getCodeSource().getLocation())
+				.isEqualTo(loader.getURLs()[1]);
+	}
+
+	@Test
+	public void loadClassFromIndexedSignedArchive() throws Exception {
+		File signedJarFile = null;
+		String classpath = System.getProperty("java.class.path");
+		for (String entry : classpath.split(System.getProperty("path.separator"))) {
+			if (entry.contains("bcprov")) {
+				signedJarFile = new File(entry);
+			}
+		}
+		assertThat(signedJarFile).isNotNull();
+		LaunchedURLClassLoader loader = createIndexedClassLoader(null,
+				new JarFileArchive(signedJarFile));
+		Class<?> type = loader
+				.loadClass("org.bouncycastle.jce.provider.BouncyCastleProvider");
+		assertThat(type.getClassLoader()).isSameAs(loader);
+		assertThat(type.getProtectionDomain().getCodeSource().getCodeSigners())
+				.isNotEmpty();
+	}
+
+	@Test
+	public void loadMissingClassFromIndexedArchive() throws Exception {
+		LaunchedURLClassLoader loader = createIndexedClassLoader(
+				getClass().getClassLoader(),
+				new JarFileArchive(new File("src/test/resources/jars/app.jar")));
+		this.thrown.expect(ClassNotFoundException.class);
+		loader.loadClass("missing.Foo");
+	}
+
+	@Test
+	public void resolveResourcesFromIndexedArchives() throws Exception {
+		LaunchedURLClassLoader loader = createIndexedClassLoader(
+				getClass().getClassLoader(),
+				new JarFileArchive(new File("src/test/resources/jars/app.jar")),
+				new ExplodedArchive(new File("src/test/resources/root")),
+				new JarFileArchive(new File("src/test/resources/more-jars/app.jar")));
+		assertThat(loader.getResource("demo/Application.java"))
+				.isEqualTo(new URL(loader.getURLs()[0], "demo/Application.java"));
+		assertThat(Collections.list(loader.getResources("demo/Application.java")))
+				.hasSize(2);
+		assertThat(loader.getResource("META-INF/spring/application.xml")).isNotNull();
+		assertThat(loader.getResource("missing/Foo.class")).isNull();
+		assertThat(loader.getResources("missing/Foo.class").hasMoreElements())
+				.isFalse();
+	}
+
+	@Test
+	public void packageIndexIsIgnoredWhenUrlsDoNotMatch() throws Exception {
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[0],
+				getClass().getClassLoader());
+		loader.usePackageIndex(PackageIndex.of(Arrays.asList(
+				new JarFileArchive(new File("src/test/resources/jars/app.jar")))));
+		assertThat(ReflectionTestUtils.getField(loader, "packageIndex")).isNull();
+	}
+
+	private LaunchedURLClassLoader createIndexedClassLoader(ClassLoader parent,
+			Archive... archives) throws Exception {
+		PackageIndex packageIndex = PackageIndex.of(Arrays.asList(archives));
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				packageIndex.getUrls(), parent);
+		loader.usePackageIndex(packageIndex);
+		assertThat(ReflectionTestUtils.getField(loader, "packageIndex")).isNotNull();
+		return loader;
+	}
+
 }
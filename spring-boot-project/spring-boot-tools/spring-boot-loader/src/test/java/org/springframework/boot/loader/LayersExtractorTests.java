@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.LayersExtractor.LayersIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LayersExtractor}.
+ *
+ * @author Phillip Webb
+ */
+public class LayersExtractorTests {
+
+	private static final String INDEX = "- \"dependencies\":\n"
+			+ "  - \"BOOT-INF/lib/a.jar\"\n" + "- \"spring-boot-loader\":\n"
+			+ "  - \"org/\"\n" + "- \"application\":\n" + "  - \"BOOT-INF/classes/\"\n";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private File destination;
+
+	@Before
+	public void setup() throws IOException {
+		this.destination = this.temporaryFolder.newFolder("layers");
+	}
+
+	@Test
+	public void extractWritesEachLayerToItsOwnFolder() throws Exception {
+		File archive = createArchive(INDEX);
+		new LayersExtractor(archive).extract(this.destination, Collections.emptySet());
+		assertThat(this.destination.list()).containsExactlyInAnyOrder("dependencies",
+				"spring-boot-loader", "application");
+		assertThat(new File(this.destination, "dependencies/BOOT-INF/lib/a.jar"))
+				.hasContent("a");
+		assertThat(new File(this.destination,
+				"spring-boot-loader/org/springframework/boot/loader/JarLauncher.class"))
+						.hasContent("launcher");
+		assertThat(new File(this.destination,
+				"application/BOOT-INF/classes/com/example/App.class")).hasContent("app");
+		assertThat(new File(this.destination, "application/META-INF/MANIFEST.MF"))
+				.isFile();
+		assertThat(new File(this.destination, "application/BOOT-INF/layers.idx"))
+				.isFile();
+	}
+
+	@Test
+	public void extractWithLayerNamesOnlyWritesThoseLayers() throws Exception {
+		File archive = createArchive(INDEX);
+		new LayersExtractor(archive).extract(this.destination,
+				new HashSet<>(Arrays.asList("dependencies", "application")));
+		assertThat(this.destination.list()).containsExactlyInAnyOrder("dependencies",
+				"application");
+	}
+
+	@Test
+	public void extractWhenArchiveIsNotLayeredThrowsException() throws Exception {
+		File archive = createArchive(null);
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("is not a layered archive");
+		new LayersExtractor(archive).extract(this.destination, Collections.emptySet());
+	}
+
+	@Test
+	public void extractWhenIndexHasInvalidLayerNameThrowsException() throws Exception {
+		File archive = createArchive("- \"../dependencies\":\n");
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Invalid layer name ../dependencies");
+		new LayersExtractor(archive).extract(this.destination, Collections.emptySet());
+	}
+
+	@Test
+	public void layersIndexGetLayer() throws Exception {
+		LayersIndex index = new LayersIndex(
+				new ByteArrayInputStream(INDEX.getBytes(StandardCharsets.UTF_8)));
+		assertThat(index.getLayer("BOOT-INF/lib/a.jar")).isEqualTo("dependencies");
+		assertThat(index.getLayer("org/springframework/boot/loader/JarLauncher.class"))
+				.isEqualTo("spring-boot-loader");
+		assertThat(index.getLayer("BOOT-INF/classes/App.class"))
+				.isEqualTo("application");
+		assertThat(index.getLayer("BOOT-INF/lib/b.jar")).isEqualTo("application");
+	}
+
+	private File createArchive(String index) throws IOException {
+		File archive = this.temporaryFolder.newFile("app.jar");
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+		if (index != null) {
+			manifest.getMainAttributes().putValue(
+					LayersExtractor.LAYERS_INDEX_ATTRIBUTE, "BOOT-INF/layers.idx");
+		}
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(archive), manifest)) {
+			writeEntry(jarOutputStream, "org/springframework/boot/loader/", null);
+			writeEntry(jarOutputStream,
+					"org/springframework/boot/loader/JarLauncher.class", "launcher");
+			writeEntry(jarOutputStream, "BOOT-INF/classes/com/example/App.class",
+					"app");
+			writeEntry(jarOutputStream, "BOOT-INF/lib/a.jar", "a");
+			if (index != null) {
+				writeEntry(jarOutputStream, "BOOT-INF/layers.idx", index);
+			}
+		}
+		return archive;
+	}
+
+	private void writeEntry(JarOutputStream jarOutputStream, String name,
+			String content) throws IOException {
+		jarOutputStream.putNextEntry(new JarEntry(name));
+		if (content != null) {
+			jarOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+		jarOutputStream.closeEntry();
+	}
+
+}
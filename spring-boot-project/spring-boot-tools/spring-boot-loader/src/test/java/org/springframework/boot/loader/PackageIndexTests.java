@@ -0,0 +1,134 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.ExplodedArchive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PackageIndex}.
+ *
+ * @author Phillip Webb
+ */
+public class PackageIndexTests {
+
+	private JarFileArchive app;
+
+	private JarFileArchive moreApp;
+
+	private ExplodedArchive root;
+
+	private PackageIndex index;
+
+	@Before
+	public void setup() throws Exception {
+		this.app = indexedArchive(new File("src/test/resources/jars/app.jar"),
+				"META-INF/", "demo/", "app/");
+		this.moreApp = indexedArchive(new File("src/test/resources/more-jars/app.jar"),
+				"demo/");
+		this.root = new ExplodedArchive(new File("src/test/resources/root"));
+		this.index = PackageIndex
+				.of(Arrays.asList(this.app, this.root, this.moreApp, this.app));
+	}
+
+	@Test
+	public void getUrlsRemovesDuplicates() throws Exception {
+		assertThat(this.index.getUrls()).containsExactly(this.app.getUrl(),
+				this.root.getUrl(), this.moreApp.getUrl());
+	}
+
+	@Test
+	public void getCandidatesReturnsArchivesContainingPackageInOrder()
+			throws Exception {
+		assertThat(this.index.getCandidates("demo/Application.class")).containsExactly(
+				this.app.getUrl(), this.root.getUrl(), this.moreApp.getUrl());
+		assertThat(this.index.getCandidates("app/Foo.class"))
+				.containsExactly(this.app.getUrl(), this.root.getUrl());
+	}
+
+	@Test
+	public void getCandidatesForUnknownPackageReturnsUnindexedArchives()
+			throws Exception {
+		assertThat(this.index.getCandidates("missing/Foo.class"))
+				.containsExactly(this.root.getUrl());
+	}
+
+	@Test
+	public void getCandidatesForRootResource() throws Exception {
+		assertThat(this.index.getCandidates("missing.properties"))
+				.containsExactly(this.root.getUrl());
+	}
+
+	@Test
+	public void getCandidatesWhenNameCannotBeIndexedReturnsNull() {
+		assertThat(this.index.getCandidates("")).isNull();
+		assertThat(this.index.getCandidates("demo/")).isNull();
+		assertThat(this.index.getCandidates("/demo/Application.class")).isNull();
+		assertThat(this.index.getCandidates("demo/../demo/Application.class"))
+				.isNull();
+		assertThat(this.index.getCandidates("demo/App lication.class")).isNull();
+		assertThat(this.index.getCandidates("nested.jar!/3.dat")).isNull();
+	}
+
+	@Test
+	public void getCandidatesWithOnlyJarArchives() throws Exception {
+		PackageIndex index = PackageIndex.of(Arrays.<Archive>asList(this.app));
+		assertThat(index.getCandidates("missing/Foo.class")).isEmpty();
+		URL[] candidates = index.getCandidates("META-INF/spring.factories");
+		assertThat(candidates).containsExactly(this.app.getUrl());
+	}
+
+	@Test
+	public void getCandidatesWithJarArchiveWithoutIndexedPackagesAlwaysSearchesIt()
+			throws Exception {
+		JarFileArchive unindexed = new JarFileArchive(
+				new File("src/test/resources/jars/app.jar"));
+		PackageIndex index = PackageIndex
+				.of(Arrays.<Archive>asList(unindexed, this.moreApp));
+		assertThat(index.getCandidates("missing/Foo.class"))
+				.containsExactly(unindexed.getUrl());
+		assertThat(index.getCandidates("demo/Application.class"))
+				.containsExactly(unindexed.getUrl(), this.moreApp.getUrl());
+	}
+
+	private JarFileArchive indexedArchive(File file, String... packages)
+			throws IOException {
+		Set<String> indexedPackages = new HashSet<>(Arrays.asList(packages));
+		return new JarFileArchive(file) {
+
+			@Override
+			public Set<String> getIndexedPackages() {
+				return indexedPackages;
+			}
+
+		};
+	}
+
+}
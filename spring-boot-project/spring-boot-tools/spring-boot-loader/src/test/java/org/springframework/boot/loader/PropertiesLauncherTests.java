@@ -80,6 +80,7 @@ public class PropertiesLauncherTests {
 		System.clearProperty("loader.config.location");
 		System.clearProperty("loader.system");
 		System.clearProperty("loader.classLoader");
+		System.clearProperty("loader.mmap");
 	}
 
 	@Test
@@ -171,6 +172,18 @@ public class PropertiesLauncherTests {
 		waitFor("Hello World");
 	}
 
+	@Test
+	public void testUserSpecifiedMemoryMappedJarPath() throws Exception {
+		System.setProperty("loader.path", "jars/app.jar");
+		System.setProperty("loader.main", "demo.Application");
+		System.setProperty("loader.mmap", "true");
+		PropertiesLauncher launcher = new PropertiesLauncher();
+		assertThat(ReflectionTestUtils.getField(launcher, "memoryMapped"))
+				.isEqualTo(true);
+		launcher.launch(new String[0]);
+		waitFor("Hello World");
+	}
+
 	@Test
 	public void testUserSpecifiedRootOfJarPath() throws Exception {
 		System.setProperty("loader.path",
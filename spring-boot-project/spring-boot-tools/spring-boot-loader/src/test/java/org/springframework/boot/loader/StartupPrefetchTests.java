@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.util.SystemPropertyUtils;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupPrefetch}.
+ *
+ * @author Phillip Webb
+ */
+public class StartupPrefetchTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File archive;
+
+	private String entryName;
+
+	private LaunchedURLClassLoader classLoader;
+
+	@Before
+	public void setup() throws Exception {
+		File jar = new File(this.temporaryFolder.newFolder("lib"), "classes.jar");
+		this.entryName = SystemPropertyUtils.class.getName().replace('.', '/')
+				+ ".class";
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(jar))) {
+			jarOutputStream.putNextEntry(new JarEntry(this.entryName));
+			StreamUtils.copy(getClass().getResourceAsStream("/" + this.entryName),
+					jarOutputStream);
+		}
+		this.archive = new File(this.temporaryFolder.newFolder("app"), "app.jar");
+		Files.write(this.archive.toPath(), new byte[] { 1, 2, 3 });
+		this.classLoader = new LaunchedURLClassLoader(
+				new URL[] { new URL("jar:" + jar.toURI() + "!/") }, null);
+	}
+
+	@After
+	public void clearProperty() {
+		System.clearProperty(StartupPrefetch.DURATION);
+	}
+
+	@Test
+	public void fileIsNextToArchive() {
+		StartupPrefetch prefetch = new StartupPrefetch(this.archive, this.classLoader);
+		assertThat(prefetch.getFile()).isEqualTo(
+				new File(this.archive.getParentFile(), "app.jar.prefetch"));
+	}
+
+	@Test
+	public void startWhenNoFileRecordsLoadedClasses() throws Exception {
+		StartupPrefetch prefetch = new StartupPrefetch(this.archive, this.classLoader);
+		Thread thread = prefetch.start(500);
+		this.classLoader.loadClass(SystemPropertyUtils.class.getName());
+		thread.join();
+		List<String> lines = Files.readAllLines(prefetch.getFile().toPath(),
+				StandardCharsets.UTF_8);
+		assertThat(lines).containsExactly(getStamp(), this.entryName);
+		assertThat(this.archive.getParentFile().list())
+				.containsExactlyInAnyOrder("app.jar", "app.jar.prefetch");
+	}
+
+	@Test
+	public void startWhenFileExistsPrefetches() throws Exception {
+		StartupPrefetch prefetch = new StartupPrefetch(this.archive, this.classLoader);
+		Files.write(prefetch.getFile().toPath(),
+				Arrays.asList(getStamp(), this.entryName, "missing/Foo.class"),
+				StandardCharsets.UTF_8);
+		Thread thread = prefetch.start(500);
+		thread.join();
+		assertThat(this.classLoader.stopRecording()).isEmpty();
+	}
+
+	@Test
+	public void prefetchReadsEntriesOfEachNestedJar() throws Exception {
+		File fatJar = this.temporaryFolder.newFile("fat.jar");
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(fatJar))) {
+			writeNestedJar(jarOutputStream, "BOOT-INF/lib/a.jar", "a/1.dat", "a/2.dat");
+			writeNestedJar(jarOutputStream, "BOOT-INF/lib/b.jar", "b/1.dat");
+		}
+		try (org.springframework.boot.loader.jar.JarFile jarFile = new org.springframework.boot.loader.jar.JarFile(
+				fatJar)) {
+			URL[] urls = { getNestedJarUrl(jarFile, "BOOT-INF/lib/a.jar"),
+					getNestedJarUrl(jarFile, "BOOT-INF/lib/b.jar") };
+			LaunchedURLClassLoader classLoader = new LaunchedURLClassLoader(urls, null);
+			StartupPrefetch prefetch = new StartupPrefetch(this.archive, classLoader);
+			Files.write(prefetch.getFile().toPath(),
+					Arrays.asList(getStamp(), "b/1.dat", "a/2.dat", "missing.dat",
+							"a/1.dat"),
+					StandardCharsets.UTF_8);
+			assertThat(prefetch.prefetch()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void startWhenFileIsForDifferentArchiveRecordsAgain() throws Exception {
+		StartupPrefetch prefetch = new StartupPrefetch(this.archive, this.classLoader);
+		Files.write(prefetch.getFile().toPath(),
+				Arrays.asList("# 1 1", "missing/Foo.class"), StandardCharsets.UTF_8);
+		Thread thread = prefetch.start(500);
+		this.classLoader.loadClass(SystemPropertyUtils.class.getName());
+		thread.join();
+		List<String> lines = Files.readAllLines(prefetch.getFile().toPath(),
+				StandardCharsets.UTF_8);
+		assertThat(lines).containsExactly(getStamp(), this.entryName);
+	}
+
+	@Test
+	public void getDurationWhenPropertyIsSetReturnsProperty() {
+		System.setProperty(StartupPrefetch.DURATION, "10");
+		assertThat(StartupPrefetch.getDuration()).isEqualTo(10);
+	}
+
+	@Test
+	public void getDurationWhenPropertyIsMalformedReturnsDefault() {
+		System.setProperty(StartupPrefetch.DURATION, "ten");
+		assertThat(StartupPrefetch.getDuration()).isEqualTo(30);
+	}
+
+	@Test
+	public void getDurationWhenPropertyIsNegativeReturnsDefault() {
+		System.setProperty(StartupPrefetch.DURATION, "-1");
+		assertThat(StartupPrefetch.getDuration()).isEqualTo(30);
+	}
+
+	private URL getNestedJarUrl(org.springframework.boot.loader.jar.JarFile jarFile,
+			String name) throws Exception {
+		return jarFile.getNestedJarFile(jarFile.getEntry(name)).getUrl();
+	}
+
+	private void writeNestedJar(JarOutputStream jarOutputStream, String name,
+			String... entryNames) throws Exception {
+		ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		try (JarOutputStream nestedJarOutputStream = new JarOutputStream(nested)) {
+			for (String entryName : entryNames) {
+				nestedJarOutputStream.putNextEntry(new JarEntry(entryName));
+				nestedJarOutputStream.write(entryName.getBytes(StandardCharsets.UTF_8));
+				nestedJarOutputStream.closeEntry();
+			}
+		}
+		byte[] data = nested.toByteArray();
+		JarEntry entry = new JarEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(data.length);
+		entry.setCompressedSize(data.length);
+		CRC32 crc32 = new CRC32();
+		crc32.update(data);
+		entry.setCrc(crc32.getValue());
+		jarOutputStream.putNextEntry(entry);
+		jarOutputStream.write(data);
+		jarOutputStream.closeEntry();
+	}
+
+	private String getStamp() {
+		return "# " + this.archive.length() + " " + this.archive.lastModified();
+	}
+
+}
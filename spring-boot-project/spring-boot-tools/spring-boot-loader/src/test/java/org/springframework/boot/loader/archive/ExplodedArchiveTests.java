@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,8 +23,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -187,6 +189,74 @@ public class ExplodedArchiveTests {
 		loader.close();
 	}
 
+	@Test
+	public void getEntriesListsFoldersBeforeTheirContents() {
+		assertThat(getEntryNames(this.archive)).hasSize(11).startsWith("1.dat",
+				"2.dat", "META-INF/", "META-INF/MANIFEST.MF", "another-nested.jar", "d/",
+				"d/9.dat", "nested.jar", "space nested.jar", "special/");
+	}
+
+	@Test
+	public void getEntriesWithIndexWritesIndex() throws Exception {
+		File index = new File(this.temporaryFolder.getRoot(), "entries.idx");
+		setLastModifiedInThePast(this.rootFolder);
+		ExplodedArchive archive = new ExplodedArchive(this.rootFolder, true, index);
+		assertThat(getEntryNames(archive)).isEqualTo(getEntryNames(this.archive));
+		assertThat(index).isFile();
+	}
+
+	@Test
+	public void getEntriesWithIndexReusesIndexWhenFoldersAreUnchanged()
+			throws Exception {
+		File index = new File(this.temporaryFolder.getRoot(), "entries.idx");
+		setLastModifiedInThePast(this.rootFolder);
+		List<String> names = getEntryNames(
+				new ExplodedArchive(this.rootFolder, true, index));
+		File folder = new File(this.rootFolder, "d");
+		long lastModified = folder.lastModified();
+		new File(folder, "new.dat").createNewFile();
+		folder.setLastModified(lastModified);
+		assertThat(getEntryNames(new ExplodedArchive(this.rootFolder, true, index)))
+				.isEqualTo(names);
+	}
+
+	@Test
+	public void getEntriesWithIndexListsEntriesWhenFolderHasChanged() throws Exception {
+		File index = new File(this.temporaryFolder.getRoot(), "entries.idx");
+		setLastModifiedInThePast(this.rootFolder);
+		getEntryNames(new ExplodedArchive(this.rootFolder, true, index));
+		File folder = new File(this.rootFolder, "d");
+		new File(folder, "new.dat").createNewFile();
+		folder.setLastModified(folder.lastModified() + 1000);
+		assertThat(getEntryNames(new ExplodedArchive(this.rootFolder, true, index)))
+				.contains("d/new.dat");
+	}
+
+	@Test
+	public void getEntriesWithIndexDoesNotWriteIndexWhenFoldersWereJustModified()
+			throws Exception {
+		File index = new File(this.temporaryFolder.getRoot(), "entries.idx");
+		getEntryNames(new ExplodedArchive(this.rootFolder, true, index));
+		assertThat(index).doesNotExist();
+	}
+
+	private void setLastModifiedInThePast(File folder) {
+		folder.setLastModified(System.currentTimeMillis() - 60000);
+		for (File child : folder.listFiles()) {
+			if (child.isDirectory()) {
+				setLastModifiedInThePast(child);
+			}
+		}
+	}
+
+	private List<String> getEntryNames(Archive archive) {
+		List<String> names = new ArrayList<>();
+		for (Archive.Entry entry : archive) {
+			names.add(entry.getName());
+		}
+		return names;
+	}
+
 	private Map<String, Archive.Entry> getEntriesMap(Archive archive) {
 		Map<String, Archive.Entry> entries = new HashMap<>();
 		for (Archive.Entry entry : archive) {
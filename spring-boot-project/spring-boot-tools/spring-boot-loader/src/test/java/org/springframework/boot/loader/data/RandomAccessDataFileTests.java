@@ -309,4 +309,71 @@ public class RandomAccessDataFileTests {
 		}
 	}
 
+	@Test
+	public void isMemoryMapped() throws Exception {
+		assertThat(this.file.isMemoryMapped()).isFalse();
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		assertThat(file.isMemoryMapped()).isTrue();
+		file.close();
+	}
+
+	@Test
+	public void memoryMappedFileExists() {
+		File file = new File("/does/not/exist");
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage(
+				String.format("File %s must exist", file.getAbsolutePath()));
+		new RandomAccessDataFile(file, true);
+	}
+
+	@Test
+	public void memoryMappedRead() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		assertThat(file.read()).isEqualTo(BYTES);
+		assertThat(file.read(2, 3)).isEqualTo(new byte[] { 2, 3, 4 });
+		file.close();
+	}
+
+	@Test
+	public void memoryMappedInputStream() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		InputStream inputStream = file.getSubsection(254, 2).getInputStream();
+		assertThat(inputStream.read()).isEqualTo(254);
+		byte[] b = new byte[3];
+		assertThat(inputStream.read(b)).isEqualTo(1);
+		assertThat(b).isEqualTo(new byte[] { (byte) 255, 0, 0 });
+		assertThat(inputStream.read()).isEqualTo(-1);
+		assertThat(inputStream.read(b)).isEqualTo(-1);
+		file.close();
+	}
+
+	@Test
+	public void memoryMappedReadAfterClose() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		RandomAccessData subsection = file.getSubsection(1, 2);
+		file.close();
+		assertThat(subsection.read()).isEqualTo(new byte[] { 1, 2 });
+		file.close();
+	}
+
+	@Test
+	public void memoryMappedConcurrentReads() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, true);
+		ExecutorService executorService = Executors.newFixedThreadPool(20);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			results.add(executorService.submit(() -> {
+				InputStream subsectionInputStream = file.getSubsection(0, 256)
+						.getInputStream();
+				byte[] b = new byte[256];
+				subsectionInputStream.read(b);
+				return Arrays.equals(b, BYTES);
+			}));
+		}
+		for (Future<Boolean> future : results) {
+			assertThat(future.get()).isTrue();
+		}
+		file.close();
+	}
+
 }
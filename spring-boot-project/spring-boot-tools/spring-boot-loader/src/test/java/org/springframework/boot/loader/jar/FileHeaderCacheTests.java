@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link FileHeaderCache}.
+ *
+ * @author Phillip Webb
+ */
+public class FileHeaderCacheTests {
+
+	@Test
+	public void sizeIsRoundedUpToPowerOfTwo() {
+		assertThat(new FileHeaderCache(25).getSize()).isEqualTo(32);
+		assertThat(new FileHeaderCache(64).getSize()).isEqualTo(64);
+		assertThat(new FileHeaderCache(0).getSize()).isEqualTo(2);
+	}
+
+	@Test
+	public void getWhenMissingReturnsNull() {
+		FileHeaderCache cache = new FileHeaderCache(4);
+		assertThat(cache.get(1)).isNull();
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void getWhenPresentReturnsFileHeader() {
+		FileHeaderCache cache = new FileHeaderCache(4);
+		FileHeader fileHeader = mock(FileHeader.class);
+		cache.put(1, fileHeader);
+		assertThat(cache.get(1)).isSameAs(fileHeader);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void putReplacesEntryInSameSlot() {
+		FileHeaderCache cache = new FileHeaderCache(4);
+		FileHeader first = mock(FileHeader.class);
+		FileHeader second = mock(FileHeader.class);
+		cache.put(1, first);
+		cache.put(5, second);
+		assertThat(cache.get(1)).isNull();
+		assertThat(cache.get(5)).isSameAs(second);
+	}
+
+	@Test
+	public void clearRemovesEntries() {
+		FileHeaderCache cache = new FileHeaderCache(4);
+		cache.put(1, mock(FileHeader.class));
+		cache.clear();
+		assertThat(cache.get(1)).isNull();
+	}
+
+	@Test
+	public void concurrentAccess() throws Exception {
+		FileHeaderCache cache = new FileHeaderCache(8);
+		FileHeader[] fileHeaders = new FileHeader[64];
+		for (int i = 0; i < fileHeaders.length; i++) {
+			fileHeaders[i] = mock(FileHeader.class);
+		}
+		ExecutorService executorService = Executors.newFixedThreadPool(20);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			results.add(executorService.submit(() -> {
+				for (int index = 0; index < fileHeaders.length; index++) {
+					FileHeader cached = cache.get(index);
+					if (cached != null && cached != fileHeaders[index]) {
+						return false;
+					}
+					cache.put(index, fileHeaders[index]);
+				}
+				return true;
+			}));
+		}
+		for (Future<Boolean> future : results) {
+			assertThat(future.get()).isTrue();
+		}
+		executorService.shutdown();
+		assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(6400);
+	}
+
+}
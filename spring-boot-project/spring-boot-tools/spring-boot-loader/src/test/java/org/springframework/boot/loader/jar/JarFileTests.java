@@ -26,10 +26,13 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -252,6 +255,18 @@ public class JarFileTests {
 		assertThat(stream.read()).isEqualTo(-1);
 	}
 
+	@Test
+	public void getNestedJarFileFromMemoryMappedJar() throws Exception {
+		try (JarFile jarFile = new JarFile(this.rootJarFile, true)) {
+			JarFile nestedJarFile = jarFile
+					.getNestedJarFile(jarFile.getEntry("nested.jar"));
+			InputStream inputStream = nestedJarFile
+					.getInputStream(nestedJarFile.getEntry("3.dat"));
+			assertThat(inputStream.read()).isEqualTo(3);
+			assertThat(inputStream.read()).isEqualTo(-1);
+		}
+	}
+
 	@Test
 	public void getNestedJarFile() throws Exception {
 		JarFile nestedJarFile = this.jarFile
@@ -289,6 +304,43 @@ public class JarFileTests {
 		assertThat(permission.getName()).isEqualTo(this.rootJarFile.getPath());
 	}
 
+	@Test
+	public void getNestedJarFileWithInvalidEntriesIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		try (ZipFile source = new ZipFile(this.rootJarFile);
+				JarOutputStream output = new JarOutputStream(
+						new FileOutputStream(file))) {
+			Enumeration<? extends ZipEntry> entries = source.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				output.putNextEntry(new ZipEntry(entry));
+				StreamUtils.copy(source.getInputStream(entry), output);
+				output.closeEntry();
+			}
+			byte[] index = new byte[64];
+			index[0] = 'I';
+			index[1] = 'D';
+			index[2] = 'X';
+			index[3] = 1;
+			ZipEntry indexEntry = new ZipEntry("META-INF/entries-index/nested.jar.idx");
+			indexEntry.setMethod(ZipEntry.STORED);
+			indexEntry.setSize(index.length);
+			CRC32 crc32 = new CRC32();
+			crc32.update(index);
+			indexEntry.setCrc(crc32.getValue());
+			output.putNextEntry(indexEntry);
+			output.write(index);
+			output.closeEntry();
+		}
+		try (JarFile jarFile = new JarFile(file)) {
+			JarFile nestedJarFile = jarFile
+					.getNestedJarFile(jarFile.getEntry("nested.jar"));
+			assertThat(nestedJarFile.size()).isEqualTo(5);
+			assertThat(nestedJarFile.getEntry("3.dat")).isNotNull();
+			assertThat(nestedJarFile.getEntry("\u00E4.dat")).isNotNull();
+		}
+	}
+
 	@Test
 	public void getNestedJarDirectory() throws Exception {
 		JarFile nestedJarFile = this.jarFile
@@ -474,6 +526,25 @@ public class JarFileTests {
 		}
 	}
 
+	@Test
+	public void entryCacheRecordsHitsAndMisses() throws Exception {
+		this.jarFile.clearCache();
+		long hits = this.jarFile.getEntryCacheHitCount();
+		long misses = this.jarFile.getEntryCacheMissCount();
+		JarEntry entry = this.jarFile.getJarEntry("1.dat");
+		assertThat(this.jarFile.getEntryCacheMissCount()).isEqualTo(misses + 1);
+		assertThat(this.jarFile.getJarEntry("1.dat")).isSameAs(entry);
+		assertThat(this.jarFile.getEntryCacheHitCount()).isEqualTo(hits + 1);
+	}
+
+	@Test
+	public void readEntryDataWhenEntriesAreMissingShouldReadOthers() throws Exception {
+		this.jarFile.readEntryData(Arrays.asList("2.dat", "missing.dat", "1.dat"));
+		JarFile nestedJarFile = this.jarFile
+				.getNestedJarFile(this.jarFile.getEntry("nested.jar"));
+		nestedJarFile.readEntryData(Arrays.asList("3.dat", "missing.dat"));
+	}
+
 	@Test
 	public void jarFileCanBeDeletedOnceItHasBeenClosed() throws Exception {
 		File temp = this.temporaryFolder.newFile();
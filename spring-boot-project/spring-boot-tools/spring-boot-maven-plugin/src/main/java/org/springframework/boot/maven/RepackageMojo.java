@@ -48,6 +48,7 @@ import org.springframework.boot.loader.tools.Layouts.War;
 import org.springframework.boot.loader.tools.Libraries;
 import org.springframework.boot.loader.tools.Repackager;
 import org.springframework.boot.loader.tools.Repackager.MainClassTimeoutWarningListener;
+import org.springframework.boot.loader.tools.StandardLayers;
 
 /**
  * Repackages existing JAR and WAR archives so that they can be executed from the command
@@ -197,6 +198,31 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	@Parameter(defaultValue = "false")
 	public boolean includeSystemScope;
 
+	/**
+	 * Store the application's classes uncompressed in the repackaged archive. The
+	 * archive is larger but its classes can be loaded without being inflated.
+	 * @since 2.1.0
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean uncompressedClasses;
+
+	/**
+	 * Reuse the unchanged entries of the archive produced by the previous build rather
+	 * than writing them again. When no {@link #classifier} is used, a copy of the
+	 * repackaged archive is kept next to it with a {@code .previous} suffix.
+	 * @since 2.1.0
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean incremental;
+
+	/**
+	 * Write a layered archive that can be extracted into a separate folder per layer,
+	 * for example to build a container image with one image layer per archive layer.
+	 * @since 2.1.0
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean layered;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.project.getPackaging().equals("pom")) {
@@ -267,6 +293,11 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		repackager.addMainClassTimeoutWarningListener(
 				new LoggingMainClassTimeoutWarningListener());
 		repackager.setMainClass(this.mainClass);
+		repackager.setUncompressedClasses(this.uncompressedClasses);
+		repackager.setIncremental(this.incremental);
+		if (this.layered) {
+			repackager.setLayers(new StandardLayers());
+		}
 		if (this.layout != null) {
 			getLog().info("Layout: " + this.layout);
 			repackager.setLayout(this.layout.layout());
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.context.config;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +28,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -88,6 +94,11 @@ import org.springframework.util.StringUtils;
  * and the 'spring.config.location' property can be used to specify alternative search
  * locations or specific files.
  * <p>
+ * The 'spring.config.snapshot-location' property can be used to specify a local file
+ * where loaded config files are saved. On subsequent runs the file is restored, rather
+ * than config files being loaded again, provided that the environment and all config
+ * file locations are unchanged.
+ * <p>
  *
  * @author Dave Syer
  * @author Phillip Webb
@@ -108,6 +119,8 @@ public class ConfigFileApplicationListener
 
 	private static final Set<String> NO_SEARCH_NAMES = Collections.singleton(null);
 
+	private static final int RESOLVE_THREADS = 4;
+
 	/**
 	 * The "active profiles" property name.
 	 */
@@ -133,6 +146,12 @@ public class ConfigFileApplicationListener
 	 */
 	public static final String CONFIG_ADDITIONAL_LOCATION_PROPERTY = "spring.config.additional-location";
 
+	/**
+	 * The "config snapshot location" property name.
+	 * @since 2.1.0
+	 */
+	public static final String CONFIG_SNAPSHOT_LOCATION_PROPERTY = "spring.config.snapshot-location";
+
 	/**
 	 * The default order for the processor.
 	 */
@@ -311,6 +330,12 @@ public class ConfigFileApplicationListener
 
 		private Map<DocumentsCacheKey, List<Document>> loadDocumentsCache = new HashMap<>();
 
+		private final Map<String, Resource> existingResources = new ConcurrentHashMap<>();
+
+		private final Set<String> missingLocations = ConcurrentHashMap.newKeySet();
+
+		private ExecutorService resolveExecutor;
+
 		Loader(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
 			this.environment = environment;
 			this.resourceLoader = (resourceLoader != null ? resourceLoader
@@ -320,6 +345,83 @@ public class ConfigFileApplicationListener
 		}
 
 		public void load() {
+			File snapshotFile = getSnapshotFile();
+			if (snapshotFile == null) {
+				loadConfigFiles();
+				return;
+			}
+			String fingerprint = ConfigFileSnapshot.getFingerprint(this.environment,
+					ConfigFileApplicationListener.this.searchLocations,
+					ConfigFileApplicationListener.this.names, this.propertySourceLoaders
+							.stream().map(Object::getClass).collect(Collectors.toList()));
+			if (!restoreSnapshot(snapshotFile, fingerprint)) {
+				List<PropertySource<?>> added = loadConfigFiles();
+				saveSnapshot(snapshotFile, fingerprint, added);
+			}
+		}
+
+		private File getSnapshotFile() {
+			String location = this.environment
+					.getProperty(CONFIG_SNAPSHOT_LOCATION_PROPERTY);
+			return (StringUtils.hasText(location) ? new File(location) : null);
+		}
+
+		private boolean restoreSnapshot(File snapshotFile, String fingerprint) {
+			try {
+				ConfigFileSnapshot snapshot = ConfigFileSnapshot.load(snapshotFile);
+				if (snapshot == null
+						|| !snapshot.isValid(fingerprint, this.resourceLoader)) {
+					return false;
+				}
+				List<PropertySource<?>> propertySources = snapshot
+						.getPropertySources(this.resourceLoader);
+				snapshot.getActiveProfiles().forEach(this::addProfileToEnvironment);
+				addLoadedPropertySources(propertySources);
+				this.logger.debug("Restored config files from snapshot '"
+						+ snapshotFile + "'");
+				return true;
+			}
+			catch (Exception ex) {
+				this.logger.debug("Ignoring invalid config file snapshot '"
+						+ snapshotFile + "'", ex);
+				return false;
+			}
+		}
+
+		private void saveSnapshot(File snapshotFile, String fingerprint,
+				List<PropertySource<?>> added) {
+			Map<String, Resource> resources = new LinkedHashMap<>(
+					this.existingResources);
+			this.missingLocations.forEach((location) -> resources.put(location, null));
+			ConfigFileSnapshot snapshot = ConfigFileSnapshot.of(fingerprint, resources,
+					this.environment.getActiveProfiles(), added);
+			if (snapshot == null) {
+				this.logger.debug("Unable to snapshot loaded config files");
+				return;
+			}
+			try {
+				snapshot.save(snapshotFile);
+				this.logger.debug("Saved config file snapshot '" + snapshotFile + "'");
+			}
+			catch (IOException ex) {
+				this.logger.debug("Unable to save config file snapshot '"
+						+ snapshotFile + "'", ex);
+			}
+		}
+
+		private List<PropertySource<?>> loadConfigFiles() {
+			try {
+				return doLoadConfigFiles();
+			}
+			finally {
+				if (this.resolveExecutor != null) {
+					this.resolveExecutor.shutdownNow();
+					this.resolveExecutor = null;
+				}
+			}
+		}
+
+		private List<PropertySource<?>> doLoadConfigFiles() {
 			this.profiles = new LinkedList<>();
 			this.processedProfiles = new LinkedList<>();
 			this.activatedProfiles = false;
@@ -333,7 +435,12 @@ public class ConfigFileApplicationListener
 			}
 			load(null, this::getNegativeProfileFilter,
 					addToLoaded(MutablePropertySources::addFirst, true));
-			addLoadedPropertySources();
+			List<PropertySource<?>> added = new ArrayList<>();
+			List<MutablePropertySources> loaded = new ArrayList<>(this.loaded.values());
+			Collections.reverse(loaded);
+			loaded.forEach((sources) -> sources.forEach(added::add));
+			addLoadedPropertySources(added);
+			return added;
 		}
 
 		/**
@@ -439,7 +546,9 @@ public class ConfigFileApplicationListener
 
 		private void load(Profile profile, DocumentFilterFactory filterFactory,
 				DocumentConsumer consumer) {
-			getSearchLocations().forEach((location) -> {
+			Set<String> searchLocations = getSearchLocations();
+			resolveResources(getCandidateLocations(searchLocations, profile));
+			searchLocations.forEach((location) -> {
 				boolean isFolder = location.endsWith("/");
 				Set<String> names = (isFolder ? getSearchNames() : NO_SEARCH_NAMES);
 				names.forEach(
@@ -447,6 +556,113 @@ public class ConfigFileApplicationListener
 			});
 		}
 
+		/**
+		 * Return the locations that will be probed when loading the given profile,
+		 * following the same rules as {@link #load(String, String, Profile,
+		 * DocumentFilterFactory, DocumentConsumer)}.
+		 * @param searchLocations the search locations
+		 * @param profile the profile being loaded
+		 * @return the candidate locations
+		 */
+		private Set<String> getCandidateLocations(Set<String> searchLocations,
+				Profile profile) {
+			Set<String> candidates = new LinkedHashSet<>();
+			for (String location : searchLocations) {
+				boolean isFolder = location.endsWith("/");
+				for (String name : (isFolder ? getSearchNames() : NO_SEARCH_NAMES)) {
+					if (!StringUtils.hasText(name)) {
+						candidates.add(location);
+						continue;
+					}
+					for (PropertySourceLoader loader : this.propertySourceLoaders) {
+						for (String fileExtension : loader.getFileExtensions()) {
+							String prefix = location + name;
+							fileExtension = "." + fileExtension;
+							if (profile != null) {
+								candidates.add(prefix + "-" + profile + fileExtension);
+								for (Profile processedProfile : this.processedProfiles) {
+									if (processedProfile != null) {
+										candidates.add(prefix + "-" + processedProfile
+												+ fileExtension);
+									}
+								}
+							}
+							candidates.add(prefix + fileExtension);
+						}
+					}
+				}
+			}
+			return candidates;
+		}
+
+		/**
+		 * Resolve the given locations concurrently so that subsequent sequential loading
+		 * can use the cached results. A small dedicated executor that is shut down once
+		 * the config files have been loaded is used so that the resource loader never
+		 * runs on shared threads. Failures are ignored here and will be reported when the
+		 * location is loaded.
+		 * @param locations the locations to resolve
+		 */
+		private void resolveResources(Set<String> locations) {
+			List<String> unresolved = locations.stream().filter(this::isUnresolved)
+					.collect(Collectors.toList());
+			if (unresolved.size() < 2) {
+				return;
+			}
+			ExecutorService executor = getResolveExecutor();
+			List<Future<?>> resolved = new ArrayList<>(unresolved.size());
+			for (String location : unresolved) {
+				resolved.add(executor.submit(() -> getResource(location)));
+			}
+			for (Future<?> future : resolved) {
+				try {
+					future.get();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				catch (ExecutionException ex) {
+					// Ignore
+				}
+			}
+		}
+
+		private ExecutorService getResolveExecutor() {
+			if (this.resolveExecutor == null) {
+				ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+				this.resolveExecutor = Executors.newFixedThreadPool(RESOLVE_THREADS,
+						(runnable) -> {
+							Thread thread = new Thread(runnable, "config-file-resolver");
+							thread.setContextClassLoader(classLoader);
+							thread.setDaemon(true);
+							return thread;
+						});
+			}
+			return this.resolveExecutor;
+		}
+
+		private boolean isUnresolved(String location) {
+			return !this.missingLocations.contains(location)
+					&& !this.existingResources.containsKey(location);
+		}
+
+		private Resource getResource(String location) {
+			if (this.missingLocations.contains(location)) {
+				return null;
+			}
+			Resource resource = this.existingResources.get(location);
+			if (resource == null) {
+				resource = this.resourceLoader.getResource(location);
+				if (resource == null || !resource.exists()) {
+					this.missingLocations.add(location);
+					return null;
+				}
+				this.existingResources.put(location, resource);
+			}
+			return resource;
+		}
+
 		private void load(String location, String name, Profile profile,
 				DocumentFilterFactory filterFactory, DocumentConsumer consumer) {
 			if (!StringUtils.hasText(name)) {
@@ -456,6 +672,7 @@ public class ConfigFileApplicationListener
 								filterFactory.getDocumentFilter(profile), consumer);
 					}
 				}
+				return;
 			}
 			for (PropertySourceLoader loader : this.propertySourceLoaders) {
 				for (String fileExtension : loader.getFileExtensions()) {
@@ -499,15 +716,15 @@ public class ConfigFileApplicationListener
 		private void load(PropertySourceLoader loader, String location, Profile profile,
 				DocumentFilter filter, DocumentConsumer consumer) {
 			try {
-				Resource resource = this.resourceLoader.getResource(location);
-				String description = getDescription(location, resource);
-				if (profile != null) {
-					description = description + " for profile " + profile;
-				}
-				if (resource == null || !resource.exists()) {
-					this.logger.trace("Skipped missing config " + description);
+				Resource resource = getResource(location);
+				if (resource == null) {
+					if (this.logger.isTraceEnabled()) {
+						this.logger.trace("Skipped missing config "
+								+ getDescription(location, null, profile));
+					}
 					return;
 				}
+				String description = getDescription(location, resource, profile);
 				if (!StringUtils.hasText(
 						StringUtils.getFilenameExtension(resource.getFilename()))) {
 					this.logger.trace("Skipped empty config extension " + description);
@@ -567,6 +784,13 @@ public class ConfigFileApplicationListener
 			}).collect(Collectors.toList());
 		}
 
+		private String getDescription(String location, Resource resource,
+				Profile profile) {
+			String description = getDescription(location, resource);
+			return (profile != null ? description + " for profile " + profile
+					: description);
+		}
+
 		private String getDescription(String location, Resource resource) {
 			try {
 				if (resource != null) {
@@ -646,26 +870,22 @@ public class ConfigFileApplicationListener
 			return new LinkedHashSet<>(list);
 		}
 
-		private void addLoadedPropertySources() {
+		private void addLoadedPropertySources(List<PropertySource<?>> sources) {
 			MutablePropertySources destination = this.environment.getPropertySources();
 			String lastAdded = null;
-			List<MutablePropertySources> loaded = new ArrayList<>(this.loaded.values());
-			Collections.reverse(loaded);
-			for (MutablePropertySources sources : loaded) {
-				for (PropertySource<?> source : sources) {
-					if (lastAdded == null) {
-						if (destination.contains(DEFAULT_PROPERTIES)) {
-							destination.addBefore(DEFAULT_PROPERTIES, source);
-						}
-						else {
-							destination.addLast(source);
-						}
+			for (PropertySource<?> source : sources) {
+				if (lastAdded == null) {
+					if (destination.contains(DEFAULT_PROPERTIES)) {
+						destination.addBefore(DEFAULT_PROPERTIES, source);
 					}
 					else {
-						destination.addAfter(lastAdded, source);
+						destination.addLast(source);
 					}
-					lastAdded = source.getName();
 				}
+				else {
+					destination.addAfter(lastAdded, source);
+				}
+				lastAdded = source.getName();
 			}
 		}
 
@@ -0,0 +1,615 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.config;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.boot.origin.TextResourceOrigin.Location;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * A snapshot of the config file property sources loaded by the
+ * {@link ConfigFileApplicationListener} that can be saved to and restored from a local
+ * file. A snapshot may only be restored when the environment that it was taken from and
+ * every config file location that was probed are unchanged. A location is unchanged if
+ * its size and last modified time match or, when they do not, if its content digest
+ * matches.
+ *
+ * @author Phillip Webb
+ */
+class ConfigFileSnapshot {
+
+	private static final int MAGIC = 0x53424353;
+
+	private static final int VERSION = 3;
+
+	private static final String MISSING = "missing";
+
+	private static final byte STRING = 0;
+
+	private static final byte BOOLEAN = 1;
+
+	private static final byte INTEGER = 2;
+
+	private static final byte LONG = 3;
+
+	private static final byte FLOAT = 4;
+
+	private static final byte DOUBLE = 5;
+
+	private static final byte BIG_INTEGER = 6;
+
+	private static final byte BIG_DECIMAL = 7;
+
+	private final String fingerprint;
+
+	private final Map<String, Stamp> stamps;
+
+	private final List<String> activeProfiles;
+
+	private final List<Source> sources;
+
+	private ConfigFileSnapshot(String fingerprint, Map<String, Stamp> stamps,
+			List<String> activeProfiles, List<Source> sources) {
+		this.fingerprint = fingerprint;
+		this.stamps = stamps;
+		this.activeProfiles = activeProfiles;
+		this.sources = sources;
+	}
+
+	/**
+	 * Return if the snapshot can be restored for an environment with the given
+	 * fingerprint. All probed locations are checked to ensure that no config file has
+	 * been added, removed or changed since the snapshot was taken. Locations are checked
+	 * in turn on the calling thread and the content of a location is only read when its
+	 * size or last modified time has changed.
+	 * @param fingerprint the fingerprint of the environment
+	 * @param resourceLoader the resource loader used to check locations
+	 * @return if the snapshot is valid
+	 */
+	public boolean isValid(String fingerprint, ResourceLoader resourceLoader) {
+		if (!this.fingerprint.equals(fingerprint)) {
+			return false;
+		}
+		for (Map.Entry<String, Stamp> entry : this.stamps.entrySet()) {
+			if (!entry.getValue().matches(resourceLoader, entry.getKey())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the active profiles of the environment when the snapshot was taken.
+	 * @return the active profiles
+	 */
+	public List<String> getActiveProfiles() {
+		return this.activeProfiles;
+	}
+
+	/**
+	 * Return the property sources held by the snapshot in the order that they were
+	 * originally added.
+	 * @param resourceLoader the resource loader used to recreate value origins
+	 * @return the property sources
+	 */
+	public List<PropertySource<?>> getPropertySources(ResourceLoader resourceLoader) {
+		List<PropertySource<?>> propertySources = new ArrayList<>(this.sources.size());
+		for (Source source : this.sources) {
+			propertySources.add(source.toPropertySource(resourceLoader));
+		}
+		return propertySources;
+	}
+
+	/**
+	 * Save the snapshot to the given file. The file is replaced atomically where
+	 * possible so that a concurrently starting application never reads a partial
+	 * snapshot. As the snapshot holds config values, the file is only readable by its
+	 * owner on file systems that support POSIX permissions.
+	 * @param file the destination file
+	 * @throws IOException on IO error
+	 */
+	public void save(File file) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		parent.mkdirs();
+		Path temp = Files.createTempFile(parent.toPath(), file.getName(), ".tmp");
+		try {
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				write(output);
+			}
+			try {
+				Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (IOException ex) {
+				Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private void write(DataOutputStream output) throws IOException {
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		writeString(output, this.fingerprint);
+		output.writeInt(this.stamps.size());
+		for (Map.Entry<String, Stamp> entry : this.stamps.entrySet()) {
+			writeString(output, entry.getKey());
+			entry.getValue().write(output);
+		}
+		output.writeInt(this.activeProfiles.size());
+		for (String activeProfile : this.activeProfiles) {
+			writeString(output, activeProfile);
+		}
+		output.writeInt(this.sources.size());
+		for (Source source : this.sources) {
+			source.write(output);
+		}
+	}
+
+	/**
+	 * Load a snapshot previously saved to the given file.
+	 * @param file the source file
+	 * @return the loaded snapshot or {@code null} if the file does not exist or was
+	 * written by an incompatible version
+	 * @throws IOException on IO error
+	 */
+	public static ConfigFileSnapshot load(File file) throws IOException {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				return null;
+			}
+			String fingerprint = readString(input);
+			int stampCount = input.readInt();
+			Map<String, Stamp> stamps = new LinkedHashMap<>(stampCount);
+			for (int i = 0; i < stampCount; i++) {
+				stamps.put(readString(input), Stamp.read(input));
+			}
+			int profileCount = input.readInt();
+			List<String> activeProfiles = new ArrayList<>(profileCount);
+			for (int i = 0; i < profileCount; i++) {
+				activeProfiles.add(readString(input));
+			}
+			int sourceCount = input.readInt();
+			List<Source> sources = new ArrayList<>(sourceCount);
+			for (int i = 0; i < sourceCount; i++) {
+				sources.add(Source.read(input));
+			}
+			return new ConfigFileSnapshot(fingerprint, stamps, activeProfiles, sources);
+		}
+	}
+
+	/**
+	 * Create a new snapshot from loaded config file property sources.
+	 * @param fingerprint the fingerprint of the environment before loading
+	 * @param resources the probed locations mapped to their resource or {@code null}
+	 * if the location does not exist
+	 * @param activeProfiles the active profiles after loading
+	 * @param propertySources the loaded property sources in the order they were added
+	 * @return a new snapshot or {@code null} if the loaded config cannot be represented
+	 */
+	public static ConfigFileSnapshot of(String fingerprint,
+			Map<String, Resource> resources, String[] activeProfiles,
+			List<PropertySource<?>> propertySources) {
+		Map<String, Stamp> stamps = new LinkedHashMap<>(resources.size());
+		Map<Resource, String> locations = new HashMap<>(resources.size());
+		for (Map.Entry<String, Resource> entry : resources.entrySet()) {
+			Stamp stamp = Stamp.of(entry.getValue());
+			if (stamp == null) {
+				return null;
+			}
+			stamps.put(entry.getKey(), stamp);
+			if (entry.getValue() != null) {
+				locations.putIfAbsent(entry.getValue(), entry.getKey());
+			}
+		}
+		List<Source> sources = new ArrayList<>(propertySources.size());
+		for (PropertySource<?> propertySource : propertySources) {
+			Source source = Source.of(propertySource, locations);
+			if (source == null) {
+				return null;
+			}
+			sources.add(source);
+		}
+		List<String> profiles = new ArrayList<>();
+		Collections.addAll(profiles, activeProfiles);
+		return new ConfigFileSnapshot(fingerprint, stamps, profiles, sources);
+	}
+
+	/**
+	 * Return a fingerprint of everything in the environment that can influence config
+	 * file loading.
+	 * @param environment the environment before config files are loaded
+	 * @param additional any additional inputs
+	 * @return the fingerprint
+	 */
+	public static String getFingerprint(ConfigurableEnvironment environment,
+			Object... additional) {
+		MessageDigest digest = getDigest();
+		update(digest, VERSION);
+		for (Object item : additional) {
+			update(digest, item);
+		}
+		update(digest, String.join(",", environment.getActiveProfiles()));
+		update(digest, String.join(",", environment.getDefaultProfiles()));
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			update(digest, propertySource.getName());
+			update(digest, propertySource.getClass().getName());
+			if (propertySource instanceof EnumerablePropertySource) {
+				for (String name : ((EnumerablePropertySource<?>) propertySource)
+						.getPropertyNames()) {
+					update(digest, name);
+					update(digest, propertySource.getProperty(name));
+				}
+			}
+		}
+		return String.format("%064x", new BigInteger(1, digest.digest()));
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void update(MessageDigest digest, Object value) {
+		byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+		digest.update((byte) (bytes.length >>> 24));
+		digest.update((byte) (bytes.length >>> 16));
+		digest.update((byte) (bytes.length >>> 8));
+		digest.update((byte) bytes.length);
+		digest.update(bytes);
+	}
+
+	private static String getModified(Resource resource) {
+		if (resource == null || !resource.exists()) {
+			return MISSING;
+		}
+		try {
+			return resource.contentLength() + " " + resource.lastModified();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private static String getContentDigest(Resource resource) {
+		if (resource == null || !resource.exists()) {
+			return MISSING;
+		}
+		MessageDigest digest = getDigest();
+		try (InputStream inputStream = resource.getInputStream()) {
+			byte[] buffer = new byte[4096];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				digest.update(buffer, 0, bytesRead);
+			}
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		return String.format("%064x", new BigInteger(1, digest.digest()));
+	}
+
+	private static void writeString(DataOutputStream output, String value)
+			throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static boolean isSupportedValue(Object value) {
+		return value instanceof String || value instanceof Boolean
+				|| value instanceof Integer || value instanceof Long
+				|| value instanceof Float || value instanceof Double
+				|| value instanceof BigInteger || value instanceof BigDecimal;
+	}
+
+	private static void writeValue(DataOutputStream output, Object value)
+			throws IOException {
+		if (value instanceof String) {
+			output.writeByte(STRING);
+			writeString(output, (String) value);
+		}
+		else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			output.writeByte(INTEGER);
+			output.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		}
+		else if (value instanceof Float) {
+			output.writeByte(FLOAT);
+			output.writeFloat((Float) value);
+		}
+		else if (value instanceof Double) {
+			output.writeByte(DOUBLE);
+			output.writeDouble((Double) value);
+		}
+		else if (value instanceof BigInteger) {
+			output.writeByte(BIG_INTEGER);
+			writeString(output, value.toString());
+		}
+		else {
+			output.writeByte(BIG_DECIMAL);
+			writeString(output, value.toString());
+		}
+	}
+
+	private static Object readValue(DataInputStream input) throws IOException {
+		byte type = input.readByte();
+		switch (type) {
+		case STRING:
+			return readString(input);
+		case BOOLEAN:
+			return input.readBoolean();
+		case INTEGER:
+			return input.readInt();
+		case LONG:
+			return input.readLong();
+		case FLOAT:
+			return input.readFloat();
+		case DOUBLE:
+			return input.readDouble();
+		case BIG_INTEGER:
+			return new BigInteger(readString(input));
+		case BIG_DECIMAL:
+			return new BigDecimal(readString(input));
+		default:
+			throw new IOException("Unknown value type " + type);
+		}
+	}
+
+	/**
+	 * The stamp of a probed location. Holds the size and last modified time of the
+	 * location, which are cheap to check, and the digest of its content, which is only
+	 * calculated again when they have changed.
+	 */
+	private static final class Stamp {
+
+		private final String modified;
+
+		private final String digest;
+
+		private Stamp(String modified, String digest) {
+			this.modified = modified;
+			this.digest = digest;
+		}
+
+		boolean matches(ResourceLoader resourceLoader, String location) {
+			try {
+				Resource resource = resourceLoader.getResource(location);
+				String modified = getModified(resource);
+				if (modified != null && modified.equals(this.modified)) {
+					return true;
+				}
+				return this.digest.equals(getContentDigest(resource));
+			}
+			catch (Exception ex) {
+				return false;
+			}
+		}
+
+		void write(DataOutputStream output) throws IOException {
+			output.writeBoolean(this.modified != null);
+			if (this.modified != null) {
+				writeString(output, this.modified);
+			}
+			writeString(output, this.digest);
+		}
+
+		static Stamp read(DataInputStream input) throws IOException {
+			String modified = (input.readBoolean() ? readString(input) : null);
+			return new Stamp(modified, readString(input));
+		}
+
+		static Stamp of(Resource resource) {
+			String modified = getModified(resource);
+			String digest = getContentDigest(resource);
+			return (digest != null ? new Stamp(modified, digest) : null);
+		}
+
+	}
+
+	/**
+	 * A single property source held by the snapshot. Values are stored alongside the
+	 * line and column of their origin within the config file location.
+	 */
+	private static class Source {
+
+		private final String name;
+
+		private final String location;
+
+		private final boolean immutable;
+
+		private final String[] names;
+
+		private final Object[] values;
+
+		private final int[] origins;
+
+		Source(String name, String location, boolean immutable, String[] names,
+				Object[] values, int[] origins) {
+			this.name = name;
+			this.location = location;
+			this.immutable = immutable;
+			this.names = names;
+			this.values = values;
+			this.origins = origins;
+		}
+
+		PropertySource<?> toPropertySource(ResourceLoader resourceLoader) {
+			Resource resource = (this.location != null
+					? resourceLoader.getResource(this.location) : null);
+			OriginLookup<Integer> originLookup = (index) -> new TextResourceOrigin(
+					resource, new Location(this.origins[index * 2],
+							this.origins[index * 2 + 1]));
+			Map<String, Object> map = new LinkedHashMap<>(this.names.length);
+			for (int i = 0; i < this.names.length; i++) {
+				Object value = this.values[i];
+				if (this.origins[i * 2] != -1) {
+					value = OriginTrackedValue.of(value, originLookup, i);
+				}
+				map.put(this.names[i], value);
+			}
+			return new OriginTrackedMapPropertySource(this.name,
+					(this.immutable ? Collections.unmodifiableMap(map) : map),
+					this.immutable);
+		}
+
+		void write(DataOutputStream output) throws IOException {
+			writeString(output, this.name);
+			output.writeBoolean(this.location != null);
+			if (this.location != null) {
+				writeString(output, this.location);
+			}
+			output.writeBoolean(this.immutable);
+			output.writeInt(this.names.length);
+			for (int i = 0; i < this.names.length; i++) {
+				writeString(output, this.names[i]);
+				writeValue(output, this.values[i]);
+				output.writeInt(this.origins[i * 2]);
+				output.writeInt(this.origins[i * 2 + 1]);
+			}
+		}
+
+		static Source read(DataInputStream input) throws IOException {
+			String name = readString(input);
+			String location = (input.readBoolean() ? readString(input) : null);
+			boolean immutable = input.readBoolean();
+			int size = input.readInt();
+			String[] names = new String[size];
+			Object[] values = new Object[size];
+			int[] origins = new int[size * 2];
+			for (int i = 0; i < size; i++) {
+				names[i] = readString(input);
+				values[i] = readValue(input);
+				origins[i * 2] = input.readInt();
+				origins[i * 2 + 1] = input.readInt();
+			}
+			return new Source(name, location, immutable, names, values, origins);
+		}
+
+		static Source of(PropertySource<?> propertySource,
+				Map<Resource, String> locations) {
+			if (!(propertySource instanceof EnumerablePropertySource)
+					|| !(propertySource.getSource() instanceof Map)) {
+				return null;
+			}
+			Map<?, ?> source = (Map<?, ?>) propertySource.getSource();
+			String[] names = new String[source.size()];
+			Object[] values = new Object[source.size()];
+			int[] origins = new int[source.size() * 2];
+			Resource resource = null;
+			int i = 0;
+			for (Map.Entry<?, ?> entry : source.entrySet()) {
+				if (!(entry.getKey() instanceof String)) {
+					return null;
+				}
+				Object value = entry.getValue();
+				Origin origin = null;
+				if (value instanceof OriginTrackedValue) {
+					origin = ((OriginTrackedValue) value).getOrigin();
+					value = ((OriginTrackedValue) value).getValue();
+				}
+				if (!isSupportedValue(value)) {
+					return null;
+				}
+				names[i] = (String) entry.getKey();
+				values[i] = value;
+				origins[i * 2] = -1;
+				origins[i * 2 + 1] = -1;
+				if (origin != null) {
+					if (!(origin instanceof TextResourceOrigin)) {
+						return null;
+					}
+					TextResourceOrigin textOrigin = (TextResourceOrigin) origin;
+					if (textOrigin.getLocation() == null
+							|| (resource != null
+									&& !resource.equals(textOrigin.getResource()))) {
+						return null;
+					}
+					resource = textOrigin.getResource();
+					origins[i * 2] = textOrigin.getLocation().getLine();
+					origins[i * 2 + 1] = textOrigin.getLocation().getColumn();
+				}
+				i++;
+			}
+			String location = (resource != null ? locations.get(resource) : null);
+			if (resource != null && location == null) {
+				return null;
+			}
+			boolean immutable = (propertySource instanceof OriginTrackedMapPropertySource
+					&& ((OriginTrackedMapPropertySource) propertySource).isImmutable());
+			return new Source(propertySource.getName(), location, immutable, names,
+					values, origins);
+		}
+
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.bind.AbstractBindHandler;
+import org.springframework.boot.context.properties.bind.BindContext;
+import org.springframework.boot.context.properties.bind.BindHandler;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+
+/**
+ * {@link BindHandler} used when rebinding an existing bean to only bind the elements
+ * that are affected by a set of changed property names. Elements that are neither an
+ * ancestor nor a descendant of a changed name are skipped so that their existing values
+ * are left untouched. Collections and arrays are always bound in full since binding
+ * them replaces any existing value.
+ *
+ * @author Phillip Webb
+ */
+class ChangedPropertiesBindHandler extends AbstractBindHandler {
+
+	private final Collection<ConfigurationPropertyName> changedNames;
+
+	private final Set<ConfigurationPropertyName> fullyBoundNames = new HashSet<>();
+
+	ChangedPropertiesBindHandler(BindHandler parent,
+			Collection<ConfigurationPropertyName> changedNames) {
+		super(parent);
+		this.changedNames = changedNames;
+	}
+
+	@Override
+	public boolean onStart(ConfigurationPropertyName name, Bindable<?> target,
+			BindContext context) {
+		if (!isAffected(name)) {
+			return false;
+		}
+		if (isReplacedWhenBound(target)) {
+			this.fullyBoundNames.add(name);
+		}
+		return super.onStart(name, target, context);
+	}
+
+	private boolean isAffected(ConfigurationPropertyName name) {
+		for (ConfigurationPropertyName changedName : this.changedNames) {
+			if (isSameOrAncestor(name, changedName)
+					|| isSameOrAncestor(changedName, name)) {
+				return true;
+			}
+		}
+		for (ConfigurationPropertyName fullyBoundName : this.fullyBoundNames) {
+			if (fullyBoundName.isAncestorOf(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isSameOrAncestor(ConfigurationPropertyName name,
+			ConfigurationPropertyName candidate) {
+		return name.equals(candidate) || name.isAncestorOf(candidate);
+	}
+
+	private boolean isReplacedWhenBound(Bindable<?> target) {
+		Class<?> type = target.getType().resolve(Object.class);
+		return Collection.class.isAssignableFrom(type) || type.isArray();
+	}
+
+}
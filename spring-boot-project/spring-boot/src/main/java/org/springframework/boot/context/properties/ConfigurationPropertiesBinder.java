@@ -17,8 +17,10 @@
 package org.springframework.boot.context.properties;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.PropertyEditorRegistry;
 import org.springframework.boot.context.properties.bind.BindHandler;
@@ -29,6 +31,7 @@ import org.springframework.boot.context.properties.bind.handler.IgnoreErrorsBind
 import org.springframework.boot.context.properties.bind.handler.IgnoreTopLevelConverterNotFoundBindHandler;
 import org.springframework.boot.context.properties.bind.handler.NoUnboundElementsBindHandler;
 import org.springframework.boot.context.properties.bind.validation.ValidationBindHandler;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
 import org.springframework.boot.context.properties.source.UnboundElementsSourceFilter;
@@ -73,13 +76,46 @@ class ConfigurationPropertiesBinder {
 	}
 
 	public void bind(Bindable<?> target) {
+		ConfigurationProperties annotation = getAnnotation(target);
+		List<Validator> validators = getValidators(target);
+		BindHandler bindHandler = getBindHandler(annotation, validators);
+		getBinder().bind(annotation.prefix(), target, bindHandler);
+	}
+
+	/**
+	 * Rebind the given target if it is affected by any of the changed property names.
+	 * Unless unknown fields must be reported, only the affected elements are bound.
+	 * @param target the target to rebind (must have an existing value)
+	 * @param changedNames the names of the properties that have changed
+	 * @return {@code true} if the target was rebound
+	 */
+	public boolean rebind(Bindable<?> target,
+			Collection<ConfigurationPropertyName> changedNames) {
+		ConfigurationProperties annotation = getAnnotation(target);
+		ConfigurationPropertyName prefix = ConfigurationPropertyName
+				.of(annotation.prefix());
+		List<ConfigurationPropertyName> affectedNames = changedNames.stream()
+				.filter((name) -> prefix.equals(name) || prefix.isAncestorOf(name)
+						|| name.isAncestorOf(prefix))
+				.collect(Collectors.toList());
+		if (affectedNames.isEmpty()) {
+			return false;
+		}
+		List<Validator> validators = getValidators(target);
+		BindHandler bindHandler = getBindHandler(annotation, validators);
+		if (annotation.ignoreUnknownFields()) {
+			bindHandler = new ChangedPropertiesBindHandler(bindHandler, affectedNames);
+		}
+		getBinder().bind(prefix, target, bindHandler);
+		return true;
+	}
+
+	private ConfigurationProperties getAnnotation(Bindable<?> target) {
 		ConfigurationProperties annotation = target
 				.getAnnotation(ConfigurationProperties.class);
 		Assert.state(annotation != null,
 				() -> "Missing @ConfigurationProperties on " + target);
-		List<Validator> validators = getValidators(target);
-		BindHandler bindHandler = getBindHandler(annotation, validators);
-		getBinder().bind(annotation.prefix(), target, bindHandler);
+		return annotation;
 	}
 
 	private Validator getConfigurationPropertiesValidator(
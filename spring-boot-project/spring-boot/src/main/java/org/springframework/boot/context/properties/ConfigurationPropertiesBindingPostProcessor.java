@@ -18,11 +18,17 @@ package org.springframework.boot.context.properties;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.Ordered;
@@ -62,6 +68,8 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 
 	private ConfigurationPropertiesBinder configurationPropertiesBinder;
 
+	private final Map<String, Bindable<?>> boundSingletons = new ConcurrentHashMap<>();
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext)
 			throws BeansException {
@@ -110,6 +118,51 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 			throw new ConfigurationPropertiesBindException(beanName, bean, annotation,
 					ex);
 		}
+		if (isSingleton(beanName)) {
+			this.boundSingletons.put(beanName, target);
+		}
+	}
+
+	private boolean isSingleton(String beanName) {
+		try {
+			return this.applicationContext.isSingleton(beanName);
+		}
+		catch (BeansException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Rebind the singleton {@link ConfigurationProperties} beans that are affected by a
+	 * change to the given property names. A bean is affected when its prefix is an
+	 * ancestor or a descendant of a changed name. Only the elements of the bean that
+	 * relate to the changed names are rebound, other elements keep their current values.
+	 * Changes to properties that are only referenced through placeholders are not
+	 * detected.
+	 * @param changedNames the names of the properties that have changed
+	 * @return the names of the beans that were rebound
+	 * @since 2.1.0
+	 */
+	public Set<String> rebind(Collection<ConfigurationPropertyName> changedNames) {
+		Set<String> rebound = new LinkedHashSet<>();
+		this.boundSingletons.forEach((beanName, target) -> {
+			if (rebind(beanName, target, changedNames)) {
+				rebound.add(beanName);
+			}
+		});
+		return rebound;
+	}
+
+	private boolean rebind(String beanName, Bindable<?> target,
+			Collection<ConfigurationPropertyName> changedNames) {
+		try {
+			return this.configurationPropertiesBinder.rebind(target, changedNames);
+		}
+		catch (Exception ex) {
+			throw new ConfigurationPropertiesBindException(beanName,
+					target.getValue().get(),
+					target.getAnnotation(ConfigurationProperties.class), ex);
+		}
 	}
 
 	private ResolvableType getBeanType(Object bean, String beanName) {
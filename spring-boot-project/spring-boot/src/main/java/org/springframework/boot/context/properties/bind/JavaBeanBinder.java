@@ -18,6 +18,10 @@ package org.springframework.boot.context.properties.bind;
 
 import java.beans.Introspector;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -32,6 +36,8 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link BeanBinder} for mutable Java Beans.
@@ -86,11 +92,12 @@ class JavaBeanBinder implements BeanBinder {
 	}
 
 	/**
-	 * The bean being bound.
+	 * The bean being bound. Instances hold everything that can be resolved up-front for
+	 * a given type and are cached so that they can be reused by subsequent binds.
 	 */
 	private static class Bean<T> {
 
-		private static Bean<?> cached;
+		private static final Map<Key, Bean<?>> cache = new ConcurrentReferenceHashMap<>();
 
 		private final Class<?> type;
 
@@ -98,6 +105,8 @@ class JavaBeanBinder implements BeanBinder {
 
 		private final Map<String, BeanProperty> properties = new LinkedHashMap<>();
 
+		private volatile Constructor<?> constructor;
+
 		Bean(ResolvableType resolvableType, Class<?> type) {
 			this.resolvableType = resolvableType;
 			this.type = type;
@@ -171,12 +180,27 @@ class JavaBeanBinder implements BeanBinder {
 					instance = target.getValue().get();
 				}
 				if (instance == null) {
-					instance = (T) BeanUtils.instantiateClass(this.type);
+					instance = (T) BeanUtils.instantiateClass(getConstructor());
 				}
 				return instance;
 			});
 		}
 
+		private Constructor<?> getConstructor() {
+			Constructor<?> constructor = this.constructor;
+			if (constructor == null) {
+				try {
+					constructor = this.type.getDeclaredConstructor();
+				}
+				catch (NoSuchMethodException ex) {
+					throw new IllegalStateException(
+							"No default constructor found for " + this.type, ex);
+				}
+				this.constructor = constructor;
+			}
+			return constructor;
+		}
+
 		@SuppressWarnings("unchecked")
 		public static <T> Bean<T> get(Bindable<T> bindable, boolean canCallGetValue) {
 			Class<?> type = bindable.getType().resolve(Object.class);
@@ -189,12 +213,10 @@ class JavaBeanBinder implements BeanBinder {
 			if (instance == null && !isInstantiable(type)) {
 				return null;
 			}
-			Bean<?> bean = Bean.cached;
-			if (bean == null || !type.equals(bean.getType())) {
-				bean = new Bean<>(bindable.getType(), type);
-				cached = bean;
-			}
-			return (Bean<T>) bean;
+			ResolvableType resolvableType = bindable.getType();
+			Class<?> beanType = type;
+			return (Bean<T>) cache.computeIfAbsent(new Key(resolvableType, beanType),
+					(key) -> new Bean<>(resolvableType, beanType));
 		}
 
 		private static boolean isInstantiable(Class<?> type) {
@@ -212,6 +234,41 @@ class JavaBeanBinder implements BeanBinder {
 
 	}
 
+	/**
+	 * Key used to cache {@link Bean} instances.
+	 */
+	private static final class Key {
+
+		private final ResolvableType resolvableType;
+
+		private final Class<?> type;
+
+		Key(ResolvableType resolvableType, Class<?> type) {
+			this.resolvableType = resolvableType;
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return this.type.equals(other.type)
+					&& this.resolvableType.equals(other.resolvableType);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.type.hashCode()
+					+ ObjectUtils.nullSafeHashCode(this.resolvableType);
+		}
+
+	}
+
 	private static class BeanSupplier<T> implements Supplier<T> {
 
 		private final Supplier<T> factory;
@@ -237,6 +294,12 @@ class JavaBeanBinder implements BeanBinder {
 	 */
 	private static class BeanProperty {
 
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+				Object.class);
+
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+				Object.class, Object.class);
+
 		private final String name;
 
 		private final ResolvableType declaringClassType;
@@ -247,6 +310,14 @@ class JavaBeanBinder implements BeanBinder {
 
 		private Field field;
 
+		private volatile ResolvableType type;
+
+		private volatile Annotation[] annotations;
+
+		private volatile MethodHandle getterHandle;
+
+		private volatile MethodHandle setterHandle;
+
 		BeanProperty(String name, ResolvableType declaringClassType) {
 			this.name = BeanPropertyName.toDashedForm(name);
 			this.declaringClassType = declaringClassType;
@@ -275,6 +346,15 @@ class JavaBeanBinder implements BeanBinder {
 		}
 
 		public ResolvableType getType() {
+			ResolvableType type = this.type;
+			if (type == null) {
+				type = resolveType();
+				this.type = type;
+			}
+			return type;
+		}
+
+		private ResolvableType resolveType() {
 			if (this.setter != null) {
 				MethodParameter methodParameter = new MethodParameter(this.setter, 0);
 				return ResolvableType.forMethodParameter(methodParameter,
@@ -286,12 +366,17 @@ class JavaBeanBinder implements BeanBinder {
 		}
 
 		public Annotation[] getAnnotations() {
-			try {
-				return (this.field != null ? this.field.getDeclaredAnnotations() : null);
-			}
-			catch (Exception ex) {
-				return null;
+			Annotation[] annotations = this.annotations;
+			if (annotations == null && this.field != null) {
+				try {
+					annotations = this.field.getDeclaredAnnotations();
+					this.annotations = annotations;
+				}
+				catch (Exception ex) {
+					return null;
+				}
 			}
+			return annotations;
 		}
 
 		public Supplier<Object> getValue(Supplier<?> instance) {
@@ -300,31 +385,53 @@ class JavaBeanBinder implements BeanBinder {
 			}
 			return () -> {
 				try {
-					this.getter.setAccessible(true);
-					return this.getter.invoke(instance.get());
+					return getGetterHandle().invokeExact(instance.get());
 				}
-				catch (Exception ex) {
+				catch (Throwable ex) {
 					throw new IllegalStateException(
 							"Unable to get value for property " + this.name, ex);
 				}
 			};
 		}
 
+		private MethodHandle getGetterHandle() throws IllegalAccessException {
+			MethodHandle handle = this.getterHandle;
+			if (handle == null) {
+				handle = unreflect(this.getter, GETTER_TYPE);
+				this.getterHandle = handle;
+			}
+			return handle;
+		}
+
 		public boolean isSettable() {
 			return this.setter != null;
 		}
 
 		public void setValue(Supplier<?> instance, Object value) {
 			try {
-				this.setter.setAccessible(true);
-				this.setter.invoke(instance.get(), value);
+				getSetterHandle().invokeExact(instance.get(), value);
 			}
-			catch (Exception ex) {
+			catch (Throwable ex) {
 				throw new IllegalStateException(
 						"Unable to set value for property " + this.name, ex);
 			}
 		}
 
+		private MethodHandle getSetterHandle() throws IllegalAccessException {
+			MethodHandle handle = this.setterHandle;
+			if (handle == null) {
+				handle = unreflect(this.setter, SETTER_TYPE);
+				this.setterHandle = handle;
+			}
+			return handle;
+		}
+
+		private MethodHandle unreflect(Method method, MethodType type)
+				throws IllegalAccessException {
+			method.setAccessible(true);
+			return MethodHandles.lookup().unreflect(method).asFixedArity().asType(type);
+		}
+
 	}
 
 }
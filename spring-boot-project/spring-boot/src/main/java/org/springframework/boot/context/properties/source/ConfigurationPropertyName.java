@@ -24,7 +24,8 @@ import java.util.Map;
 import java.util.function.Function;
 
 import org.springframework.util.Assert;
-import org.springframework.util.ObjectUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 
 /**
  * A configuration property name composed of elements separated by dots. User created
@@ -61,11 +62,21 @@ public final class ConfigurationPropertyName
 	public static final ConfigurationPropertyName EMPTY = new ConfigurationPropertyName(
 			new String[0]);
 
+	private static final int MAX_CACHE_SIZE = 8192;
+
+	/**
+	 * Canonical names keyed by their {@link #toString() string} form. Names are only
+	 * cached when parsing that string with {@link #of(CharSequence)} would produce the
+	 * same elements, which allows the same instance to be shared.
+	 */
+	private static final Map<String, ConfigurationPropertyName> CACHE = new ConcurrentReferenceHashMap<>(
+			256, ReferenceType.SOFT);
+
 	private final CharSequence[] elements;
 
 	private final CharSequence[] uniformElements;
 
-	private int[] elementHashCodes;
+	private final int hashCode;
 
 	private String string;
 
@@ -77,6 +88,7 @@ public final class ConfigurationPropertyName
 			CharSequence[] uniformElements) {
 		this.elements = elements;
 		this.uniformElements = uniformElements;
+		this.hashCode = getHashCode(elements);
 	}
 
 	/**
@@ -158,6 +170,8 @@ public final class ConfigurationPropertyName
 				result = cleanupCharSequence(result, (c, i) -> c == '-' || c == '_',
 						CharProcessor.LOWERCASE);
 			}
+			// Instances may be shared between threads so only store immutable values
+			result = result.toString();
 			this.uniformElements[elementIndex] = result;
 		}
 		return result.toString();
@@ -325,21 +339,18 @@ public final class ConfigurationPropertyName
 
 	@Override
 	public int hashCode() {
-		if (this.elementHashCodes == null) {
-			this.elementHashCodes = getElementHashCodes();
-		}
-		return ObjectUtils.nullSafeHashCode(this.elementHashCodes);
+		return this.hashCode;
 	}
 
-	private int[] getElementHashCodes() {
-		int[] hashCodes = new int[this.elements.length];
-		for (int i = 0; i < this.elements.length; i++) {
-			hashCodes[i] = getElementHashCode(this.elements[i]);
+	private static int getHashCode(CharSequence[] elements) {
+		int hash = 7;
+		for (CharSequence element : elements) {
+			hash = 31 * hash + getElementHashCode(element);
 		}
-		return hashCodes;
+		return hash;
 	}
 
-	private int getElementHashCode(CharSequence element) {
+	private static int getElementHashCode(CharSequence element) {
 		int hash = 0;
 		boolean indexed = isIndexed(element);
 		int offset = (indexed ? 1 : 0);
@@ -442,6 +453,10 @@ public final class ConfigurationPropertyName
 	 */
 	public static ConfigurationPropertyName of(CharSequence name) {
 		Assert.notNull(name, "Name must not be null");
+		ConfigurationPropertyName cached = getCached(name);
+		if (cached != null) {
+			return cached;
+		}
 		if (name.length() >= 1
 				&& (name.charAt(0) == '.' || name.charAt(name.length() - 1) == '.')) {
 			throw new InvalidConfigurationPropertyNameException(name,
@@ -460,7 +475,8 @@ public final class ConfigurationPropertyName
 				elements.add(elementValue);
 			}
 		});
-		return new ConfigurationPropertyName(elements.toArray(new CharSequence[0]));
+		return intern(
+				new ConfigurationPropertyName(elements.toArray(new CharSequence[0])));
 	}
 
 	/**
@@ -471,6 +487,10 @@ public final class ConfigurationPropertyName
 	 * @return a {@link ConfigurationPropertyName}
 	 */
 	static ConfigurationPropertyName adapt(CharSequence name, char separator) {
+		ConfigurationPropertyName cached = (separator == '.' ? getCached(name) : null);
+		if (cached != null) {
+			return cached;
+		}
 		return adapt(name, separator, Function.identity());
 	}
 
@@ -507,7 +527,36 @@ public final class ConfigurationPropertyName
 				elements.add(elementValue);
 			}
 		});
-		return new ConfigurationPropertyName(elements.toArray(new CharSequence[0]));
+		return intern(
+				new ConfigurationPropertyName(elements.toArray(new CharSequence[0])));
+	}
+
+	private static ConfigurationPropertyName getCached(CharSequence name) {
+		return (name instanceof String ? CACHE.get(name) : null);
+	}
+
+	private static ConfigurationPropertyName intern(ConfigurationPropertyName name) {
+		if (name.isEmpty() || !name.isCanonical()) {
+			return name;
+		}
+		String key = name.toString();
+		ConfigurationPropertyName existing = CACHE.get(key);
+		if (existing != null) {
+			return existing;
+		}
+		if (CACHE.size() < MAX_CACHE_SIZE) {
+			existing = CACHE.putIfAbsent(key, name);
+		}
+		return (existing != null ? existing : name);
+	}
+
+	private boolean isCanonical() {
+		for (CharSequence element : this.elements) {
+			if (!isIndexed(element) && !ElementValidator.isValidElement(element)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	private static void process(CharSequence name, char separator,
@@ -16,9 +16,7 @@
 
 package org.springframework.boot.context.properties.source;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.function.Function;
@@ -236,15 +234,29 @@ class SpringConfigurationPropertySource implements ConfigurationPropertySource {
 
 		private PropertyMapping[] callMappers(
 				Function<PropertyMapper, PropertyMapping[]> function) {
-			List<PropertyMapping> mappings = new ArrayList<>();
+			PropertyMapping[] mappings = NO_MAPPINGS;
 			for (PropertyMapper mapper : this.mappers) {
 				try {
-					mappings.addAll(Arrays.asList(function.apply(mapper)));
+					mappings = append(mappings, function.apply(mapper));
 				}
 				catch (Exception ex) {
 				}
 			}
-			return mappings.toArray(new PropertyMapping[] {});
+			return mappings;
+		}
+
+		private PropertyMapping[] append(PropertyMapping[] existing,
+				PropertyMapping[] additional) {
+			if (additional.length == 0) {
+				return existing;
+			}
+			if (existing.length == 0) {
+				return additional;
+			}
+			PropertyMapping[] result = Arrays.copyOf(existing,
+					existing.length + additional.length);
+			System.arraycopy(additional, 0, result, existing.length, additional.length);
+			return result;
 		}
 
 	}
@@ -17,8 +17,11 @@
 package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
@@ -45,6 +48,8 @@ class SpringConfigurationPropertySources
 	private final Map<PropertySource<?>, ConfigurationPropertySource> cache = new ConcurrentReferenceHashMap<>(
 			16, ReferenceType.SOFT);
 
+	private volatile Snapshot snapshot;
+
 	SpringConfigurationPropertySources(Iterable<PropertySource<?>> sources) {
 		Assert.notNull(sources, "Sources must not be null");
 		this.sources = sources;
@@ -52,7 +57,20 @@ class SpringConfigurationPropertySources
 
 	@Override
 	public Iterator<ConfigurationPropertySource> iterator() {
-		return new SourcesIterator(this.sources.iterator(), this::adapt);
+		return getSnapshot().iterator();
+	}
+
+	private Snapshot getSnapshot() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null
+				|| !snapshot.isFor(new SourcesIterator(this.sources.iterator()))) {
+			List<PropertySource<?>> propertySources = new ArrayList<>();
+			new SourcesIterator(this.sources.iterator())
+					.forEachRemaining(propertySources::add);
+			snapshot = new Snapshot(propertySources, this::adapt);
+			this.snapshot = snapshot;
+		}
+		return snapshot;
 	}
 
 	private ConfigurationPropertySource adapt(PropertySource<?> source) {
@@ -67,20 +85,57 @@ class SpringConfigurationPropertySources
 		return result;
 	}
 
-	private static class SourcesIterator
-			implements Iterator<ConfigurationPropertySource> {
-
-		private final Deque<Iterator<PropertySource<?>>> iterators;
+	/**
+	 * Immutable snapshot of the flattened and adapted sources. A snapshot remains valid
+	 * until the underlying sources are changed.
+	 */
+	private static class Snapshot implements Iterable<ConfigurationPropertySource> {
 
-		private ConfigurationPropertySource next;
+		private final PropertySource<?>[] propertySources;
 
-		private final Function<PropertySource<?>, ConfigurationPropertySource> adapter;
+		private final List<ConfigurationPropertySource> adapted;
 
-		SourcesIterator(Iterator<PropertySource<?>> iterator,
+		Snapshot(List<PropertySource<?>> propertySources,
 				Function<PropertySource<?>, ConfigurationPropertySource> adapter) {
+			this.propertySources = propertySources
+					.toArray(new PropertySource<?>[propertySources.size()]);
+			List<ConfigurationPropertySource> adapted = new ArrayList<>(
+					this.propertySources.length);
+			for (PropertySource<?> propertySource : this.propertySources) {
+				adapted.add(adapter.apply(propertySource));
+			}
+			this.adapted = Collections.unmodifiableList(adapted);
+		}
+
+		public boolean isFor(Iterator<PropertySource<?>> propertySources) {
+			for (PropertySource<?> propertySource : this.propertySources) {
+				if (!propertySources.hasNext()
+						|| propertySources.next() != propertySource) {
+					return false;
+				}
+			}
+			return !propertySources.hasNext();
+		}
+
+		@Override
+		public Iterator<ConfigurationPropertySource> iterator() {
+			return this.adapted.iterator();
+		}
+
+	}
+
+	/**
+	 * Iterator used to flatten nested environments and skip ignored sources.
+	 */
+	private static class SourcesIterator implements Iterator<PropertySource<?>> {
+
+		private final Deque<Iterator<PropertySource<?>>> iterators;
+
+		private PropertySource<?> next;
+
+		SourcesIterator(Iterator<PropertySource<?>> iterator) {
 			this.iterators = new ArrayDeque<>(4);
 			this.iterators.push(iterator);
-			this.adapter = adapter;
 		}
 
 		@Override
@@ -89,8 +144,8 @@ class SpringConfigurationPropertySources
 		}
 
 		@Override
-		public ConfigurationPropertySource next() {
-			ConfigurationPropertySource next = fetchNext();
+		public PropertySource<?> next() {
+			PropertySource<?> next = fetchNext();
 			if (next == null) {
 				throw new NoSuchElementException();
 			}
@@ -98,7 +153,7 @@ class SpringConfigurationPropertySources
 			return next;
 		}
 
-		private ConfigurationPropertySource fetchNext() {
+		private PropertySource<?> fetchNext() {
 			if (this.next == null) {
 				if (this.iterators.isEmpty()) {
 					return null;
@@ -115,7 +170,7 @@ class SpringConfigurationPropertySources
 				if (isIgnored(candidate)) {
 					return fetchNext();
 				}
-				this.next = this.adapter.apply(candidate);
+				this.next = candidate;
 			}
 			return this.next;
 		}
@@ -17,15 +17,22 @@
 package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -42,7 +49,9 @@ import org.springframework.util.ObjectUtils;
 class SpringIterableConfigurationPropertySource extends SpringConfigurationPropertySource
 		implements IterableConfigurationPropertySource {
 
-	private volatile Object cacheKey;
+	private static final PropertyMapping[] NO_MAPPINGS = {};
+
+	private volatile CacheKey cacheKey;
 
 	private volatile Cache cache;
 
@@ -67,10 +76,21 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationProperty getConfigurationProperty(
 			ConfigurationPropertyName name) {
+		if (CacheKey.get(getPropertySource()).isImmutable()) {
+			Cache cache = getCache();
+			return cache.getConfigurationProperty(name,
+					this::findConfigurationProperty);
+		}
+		return findConfigurationProperty(name);
+	}
+
+	private ConfigurationProperty findConfigurationProperty(
+			ConfigurationPropertyName name) {
 		ConfigurationProperty configurationProperty = super.getConfigurationProperty(
 				name);
 		if (configurationProperty == null) {
-			configurationProperty = find(getPropertyMappings(getCache()), name);
+			// Only validate the cache when the direct mapping misses
+			configurationProperty = find(getPropertyMappings(getCache(), name), name);
 		}
 		return configurationProperty;
 	}
@@ -88,6 +108,11 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
+		Cache cache = getCache();
+		if (cache.isImmutable()) {
+			return cache.containsDescendantOf(name, (key) -> ConfigurationPropertyState
+					.search(this, key::isAncestorOf));
+		}
 		return ConfigurationPropertyState.search(this, name::isAncestorOf);
 	}
 
@@ -109,6 +134,32 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return names;
 	}
 
+	private PropertyMapping[] getPropertyMappings(Cache cache,
+			ConfigurationPropertyName name) {
+		if (cache == null) {
+			return getPropertyMappings(null);
+		}
+		Map<ConfigurationPropertyName, PropertyMapping[]> index = cache.getIndex();
+		if (index == null) {
+			index = new HashMap<>();
+			for (PropertyMapping mapping : getPropertyMappings(cache)) {
+				index.merge(mapping.getConfigurationPropertyName(),
+						new PropertyMapping[] { mapping }, this::append);
+			}
+			cache.setIndex(index);
+		}
+		PropertyMapping[] mappings = index.get(name);
+		return (mappings != null ? mappings : NO_MAPPINGS);
+	}
+
+	private PropertyMapping[] append(PropertyMapping[] existing,
+			PropertyMapping[] additional) {
+		PropertyMapping[] result = Arrays.copyOf(existing,
+				existing.length + additional.length);
+		System.arraycopy(additional, 0, result, existing.length, additional.length);
+		return result;
+	}
+
 	private PropertyMapping[] getPropertyMappings(Cache cache) {
 		PropertyMapping[] result = (cache != null ? cache.getMappings() : null);
 		if (result != null) {
@@ -129,23 +180,14 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	}
 
 	private Cache getCache() {
-		Object cacheKey = getCacheKey();
-		if (cacheKey == null) {
-			return null;
-		}
-		if (ObjectUtils.nullSafeEquals(cacheKey, this.cacheKey)) {
+		CacheKey cacheKey = CacheKey.get(getPropertySource());
+		if (cacheKey.equals(this.cacheKey)) {
 			return this.cache;
 		}
-		this.cache = new Cache();
-		this.cacheKey = cacheKey;
-		return this.cache;
-	}
-
-	private Object getCacheKey() {
-		if (getPropertySource() instanceof MapPropertySource) {
-			return ((MapPropertySource) getPropertySource()).getSource().keySet();
-		}
-		return getPropertySource().getPropertyNames();
+		Cache cache = new Cache(cacheKey.isImmutable());
+		this.cache = cache;
+		this.cacheKey = cacheKey.copy();
+		return cache;
 	}
 
 	@Override
@@ -153,12 +195,50 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return (EnumerablePropertySource<?>) super.getPropertySource();
 	}
 
+	/**
+	 * Cache of the mappings and names of the source. Since the contents of an immutable
+	 * source can never change, individual lookups are also cached for them.
+	 */
 	private static class Cache {
 
+		private static final Object NO_PROPERTY = new Object();
+
+		private final Map<ConfigurationPropertyName, Object> properties;
+
+		private final Map<ConfigurationPropertyName, ConfigurationPropertyState> descendants;
+
 		private List<ConfigurationPropertyName> names;
 
 		private PropertyMapping[] mappings;
 
+		private Map<ConfigurationPropertyName, PropertyMapping[]> index;
+
+		Cache(boolean immutable) {
+			this.properties = (immutable ? new ConcurrentReferenceHashMap<>() : null);
+			this.descendants = (immutable ? new ConcurrentReferenceHashMap<>() : null);
+		}
+
+		public boolean isImmutable() {
+			return this.properties != null;
+		}
+
+		public ConfigurationProperty getConfigurationProperty(
+				ConfigurationPropertyName name,
+				Function<ConfigurationPropertyName, ConfigurationProperty> finder) {
+			Object property = this.properties.get(name);
+			if (property == null) {
+				property = finder.apply(name);
+				this.properties.put(name, (property != null ? property : NO_PROPERTY));
+			}
+			return (property != NO_PROPERTY ? (ConfigurationProperty) property : null);
+		}
+
+		public ConfigurationPropertyState containsDescendantOf(
+				ConfigurationPropertyName name,
+				Function<ConfigurationPropertyName, ConfigurationPropertyState> search) {
+			return this.descendants.computeIfAbsent(name, search);
+		}
+
 		public List<ConfigurationPropertyName> getNames() {
 			return this.names;
 		}
@@ -175,6 +255,99 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			this.mappings = mappings;
 		}
 
+		public Map<ConfigurationPropertyName, PropertyMapping[]> getIndex() {
+			return this.index;
+		}
+
+		public void setIndex(Map<ConfigurationPropertyName, PropertyMapping[]> index) {
+			this.index = index;
+		}
+
+	}
+
+	/**
+	 * Key used to determine if the {@link Cache} is still valid. Keys of immutable
+	 * sources, including an unmodifiable system environment, are always equal to each
+	 * other so that the source doesn't need to be inspected. Keys of other map sources
+	 * compare the identity and size of the map rather than its keys so that they can be
+	 * checked cheaply on every lookup.
+	 */
+	private static final class CacheKey {
+
+		private static final CacheKey IMMUTABLE = new CacheKey(null, 0);
+
+		private static final Class<?> UNMODIFIABLE_MAP_TYPE = Collections
+				.unmodifiableMap(Collections.emptyMap()).getClass();
+
+		private final Object key;
+
+		private final int size;
+
+		private CacheKey(Object key, int size) {
+			this.key = key;
+			this.size = size;
+		}
+
+		public boolean isImmutable() {
+			return this == IMMUTABLE;
+		}
+
+		public CacheKey copy() {
+			if (this.key instanceof String[]) {
+				return new CacheKey(((String[]) this.key).clone(), this.size);
+			}
+			return this;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			if (this == IMMUTABLE || other == IMMUTABLE || this.size != other.size) {
+				return false;
+			}
+			if (this.key instanceof Map) {
+				return this.key == other.key;
+			}
+			return ObjectUtils.nullSafeEquals(this.key, other.key);
+		}
+
+		@Override
+		public int hashCode() {
+			if (this.key instanceof Map) {
+				return System.identityHashCode(this.key) * 31 + this.size;
+			}
+			return ObjectUtils.nullSafeHashCode(this.key);
+		}
+
+		public static CacheKey get(EnumerablePropertySource<?> source) {
+			if (isImmutable(source)) {
+				return IMMUTABLE;
+			}
+			if (source instanceof MapPropertySource) {
+				Map<String, Object> map = ((MapPropertySource) source).getSource();
+				return new CacheKey(map, map.size());
+			}
+			String[] names = source.getPropertyNames();
+			return new CacheKey(names, names.length);
+		}
+
+		private static boolean isImmutable(EnumerablePropertySource<?> source) {
+			if (source instanceof OriginTrackedMapPropertySource) {
+				return ((OriginTrackedMapPropertySource) source).isImmutable();
+			}
+			if (StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME
+					.equals(source.getName())) {
+				return source.getSource().getClass() == UNMODIFIABLE_MAP_TYPE;
+			}
+			return false;
+		}
+
 	}
 
 }
@@ -17,8 +17,10 @@
 package org.springframework.boot.context.properties.source;
 
 import java.util.Locale;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * {@link PropertyMapper} for system environment variables. Names are mapped by removing
@@ -26,6 +28,11 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
  * "{@code .}". For example, "{@code SERVER_PORT}" is mapped to "{@code server.port}". In
  * addition, numeric elements are mapped to indexes (e.g. "{@code HOST_0}" is mapped to
  * "{@code host[0]}").
+ * <p>
+ * Mappings depend only on names so they are computed once and then held in an index
+ * that's shared by all system environment property sources. Since environment
+ * variables can't change at runtime this turns both forward and reverse mapping into
+ * table lookups.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -36,8 +43,38 @@ final class SystemEnvironmentPropertyMapper implements PropertyMapper {
 
 	public static final PropertyMapper INSTANCE = new SystemEnvironmentPropertyMapper();
 
+	private final Map<ConfigurationPropertyName, PropertyMapping[]> configurationPropertyNameMappings = new ConcurrentReferenceHashMap<>();
+
+	private final Map<String, PropertyMapping[]> propertySourceNameMappings = new ConcurrentReferenceHashMap<>();
+
+	private SystemEnvironmentPropertyMapper() {
+	}
+
 	@Override
 	public PropertyMapping[] map(ConfigurationPropertyName configurationPropertyName) {
+		PropertyMapping[] mappings = this.configurationPropertyNameMappings
+				.get(configurationPropertyName);
+		if (mappings == null) {
+			mappings = tryMap(configurationPropertyName);
+			this.configurationPropertyNameMappings.put(configurationPropertyName,
+					mappings);
+		}
+		return mappings;
+	}
+
+	@Override
+	public PropertyMapping[] map(String propertySourceName) {
+		PropertyMapping[] mappings = this.propertySourceNameMappings
+				.get(propertySourceName);
+		if (mappings == null) {
+			mappings = tryMap(propertySourceName);
+			this.propertySourceNameMappings.put(propertySourceName, mappings);
+		}
+		return mappings;
+	}
+
+	private PropertyMapping[] tryMap(
+			ConfigurationPropertyName configurationPropertyName) {
 		String name = convertName(configurationPropertyName);
 		String legacyName = convertLegacyName(configurationPropertyName);
 		if (name.equals(legacyName)) {
@@ -49,8 +86,7 @@ final class SystemEnvironmentPropertyMapper implements PropertyMapper {
 				new PropertyMapping(legacyName, configurationPropertyName) };
 	}
 
-	@Override
-	public PropertyMapping[] map(String propertySourceName) {
+	private PropertyMapping[] tryMap(String propertySourceName) {
 		ConfigurationPropertyName name = convertName(propertySourceName);
 		if (name == null || name.isEmpty()) {
 			return NO_MAPPINGS;
@@ -35,9 +35,30 @@ import org.springframework.core.env.MapPropertySource;
 public final class OriginTrackedMapPropertySource extends MapPropertySource
 		implements OriginLookup<String> {
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private final boolean immutable;
+
+	/**
+	 * Create a new {@link OriginTrackedMapPropertySource} instance.
+	 * @param name the property source name
+	 * @param source the underlying map source
+	 */
+	@SuppressWarnings("rawtypes")
 	public OriginTrackedMapPropertySource(String name, Map source) {
+		this(name, source, false);
+	}
+
+	/**
+	 * Create a new {@link OriginTrackedMapPropertySource} instance.
+	 * @param name the property source name
+	 * @param source the underlying map source
+	 * @param immutable if the underlying source is immutable and guaranteed not to
+	 * change
+	 * @since 2.1.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public OriginTrackedMapPropertySource(String name, Map source, boolean immutable) {
 		super(name, source);
+		this.immutable = immutable;
 	}
 
 	@Override
@@ -58,4 +79,13 @@ public final class OriginTrackedMapPropertySource extends MapPropertySource
 		return null;
 	}
 
+	/**
+	 * Return if the underlying source is immutable and guaranteed not to change.
+	 * @return if the source is immutable
+	 * @since 2.1.0
+	 */
+	public boolean isImmutable() {
+		return this.immutable;
+	}
+
 }
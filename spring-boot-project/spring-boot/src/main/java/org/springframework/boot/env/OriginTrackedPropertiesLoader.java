@@ -24,17 +24,16 @@ import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginTrackedValue;
 import org.springframework.boot.origin.TextResourceOrigin;
-import org.springframework.boot.origin.TextResourceOrigin.Location;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 
 /**
  * Class to load {@code .properties} files into a map of {@code String} ->
  * {@link OriginTrackedValue}. Also supports expansion of {@code name[]=a,b,c} list style
- * values.
+ * values. Value locations are recorded compactly and {@link TextResourceOrigin origins}
+ * are only created when requested.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
@@ -73,6 +72,7 @@ class OriginTrackedPropertiesLoader {
 	public Map<String, OriginTrackedValue> load(boolean expandLists) throws IOException {
 		try (CharacterReader reader = new CharacterReader(this.resource)) {
 			Map<String, OriginTrackedValue> result = new LinkedHashMap<>();
+			TextResourceLocations locations = new TextResourceLocations(this.resource);
 			StringBuilder buffer = new StringBuilder();
 			while (reader.read()) {
 				String key = loadKey(buffer, reader).trim();
@@ -80,7 +80,8 @@ class OriginTrackedPropertiesLoader {
 					key = key.substring(0, key.length() - 2);
 					int index = 0;
 					do {
-						OriginTrackedValue value = loadValue(buffer, reader, true);
+						OriginTrackedValue value = loadValue(buffer, reader,
+								locations, true);
 						put(result, key + "[" + (index++) + "]", value);
 						if (!reader.isEndOfLine()) {
 							reader.read();
@@ -89,7 +90,8 @@ class OriginTrackedPropertiesLoader {
 					while (!reader.isEndOfLine());
 				}
 				else {
-					OriginTrackedValue value = loadValue(buffer, reader, false);
+					OriginTrackedValue value = loadValue(buffer, reader,
+							locations, false);
 					put(result, key, value);
 				}
 			}
@@ -124,18 +126,18 @@ class OriginTrackedPropertiesLoader {
 	}
 
 	private OriginTrackedValue loadValue(StringBuilder buffer, CharacterReader reader,
-			boolean splitLists) throws IOException {
+			TextResourceLocations locations, boolean splitLists) throws IOException {
 		buffer.setLength(0);
 		while (reader.isWhiteSpace() && !reader.isEndOfLine()) {
 			reader.read();
 		}
-		Location location = reader.getLocation();
+		int line = reader.getLineNumber();
+		int column = reader.getColumnNumber();
 		while (!reader.isEndOfLine() && !(splitLists && reader.isListDelimiter())) {
 			buffer.append(reader.getCharacter());
 			reader.read();
 		}
-		Origin origin = new TextResourceOrigin(this.resource, location);
-		return OriginTrackedValue.of(buffer.toString().trim(), origin);
+		return locations.track(buffer.toString().trim(), line, column);
 	}
 
 	/**
@@ -264,8 +266,12 @@ class OriginTrackedPropertiesLoader {
 			return (char) this.character;
 		}
 
-		public Location getLocation() {
-			return new Location(this.reader.getLineNumber(), this.columnNumber);
+		public int getLineNumber() {
+			return this.reader.getLineNumber();
+		}
+
+		public int getColumnNumber() {
+			return this.columnNumber;
 		}
 
 	}
@@ -16,9 +16,14 @@
 
 package org.springframework.boot.env;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -28,24 +33,36 @@ import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.BaseConstructor;
 import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
 import org.yaml.snakeyaml.nodes.MappingNode;
 import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
 import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
 import org.yaml.snakeyaml.representer.Representer;
 import org.yaml.snakeyaml.resolver.Resolver;
 
 import org.springframework.beans.factory.config.YamlProcessor;
-import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginTrackedValue;
-import org.springframework.boot.origin.TextResourceOrigin;
-import org.springframework.boot.origin.TextResourceOrigin.Location;
 import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
 
 /**
  * Class to load {@code .yml} files into a map of {@code String} to
  * {@link OriginTrackedValue}.
+ * <p>
+ * Documents are flattened directly from parser events whenever possible, without
+ * building a node tree or intermediate maps. Documents that use aliases, merge keys,
+ * explicit tags, non-string keys or duplicate keys are loaded by the regular
+ * {@link YamlProcessor} instead. In both cases origins are only created when they are
+ * requested.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
@@ -71,16 +88,184 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 	}
 
 	public List<Map<String, Object>> load() {
+		try (Reader reader = new UnicodeReader(this.resource.getInputStream())) {
+			return new FlatteningLoader().load(reader);
+		}
+		catch (IOException | UnsupportedContentException ex) {
+			// Let the YamlProcessor deal with the content or the error
+		}
 		final List<Map<String, Object>> result = new ArrayList<>();
 		process((properties, map) -> result.add(getFlattenedMap(map)));
 		return result;
 	}
 
+	/**
+	 * Loads documents by flattening {@link Parser} events directly into maps. Follows
+	 * the same rules as {@link YamlProcessor#getFlattenedMap(Map)} and throws an
+	 * {@link UnsupportedContentException} for content that requires a node tree.
+	 */
+	private class FlatteningLoader {
+
+		private static final String DOCUMENT_KEY = "document";
+
+		private final Resolver resolver = new LimitedResolver();
+
+		private final ScalarConstructor constructor = new ScalarConstructor();
+
+		private final TextResourceLocations locations = new TextResourceLocations(
+				OriginTrackedYamlLoader.this.resource);
+
+		public List<Map<String, Object>> load(Reader reader) {
+			Parser parser = new ParserImpl(new StreamReader(reader));
+			List<Map<String, Object>> result = new ArrayList<>();
+			parser.getEvent();
+			while (!parser.checkEvent(Event.ID.StreamEnd)) {
+				parser.getEvent();
+				Map<String, Object> document = new LinkedHashMap<>();
+				Event event = parser.getEvent();
+				if (event.is(Event.ID.MappingStart)) {
+					checkCollectionTag(event);
+					loadMapping(parser, document, "");
+				}
+				else if (!isNull(event)) {
+					loadValue(parser, event, document, DOCUMENT_KEY);
+				}
+				else {
+					// Like the YamlProcessor, skip empty and null documents
+					document = null;
+				}
+				parser.getEvent();
+				if (document != null) {
+					result.add(document);
+				}
+			}
+			return result;
+		}
+
+		private void loadValue(Parser parser, Event event, Map<String, Object> result,
+				String name) {
+			if (event.is(Event.ID.Scalar)) {
+				result.put(name, getValue((ScalarEvent) event));
+			}
+			else if (event.is(Event.ID.MappingStart)) {
+				checkCollectionTag(event);
+				loadMapping(parser, result, name);
+			}
+			else if (event.is(Event.ID.SequenceStart)) {
+				checkCollectionTag(event);
+				loadSequence(parser, result, name);
+			}
+			else {
+				throw new UnsupportedContentException();
+			}
+		}
+
+		private void loadMapping(Parser parser, Map<String, Object> result,
+				String path) {
+			Set<String> keys = new HashSet<>();
+			while (!parser.checkEvent(Event.ID.MappingEnd)) {
+				String key = getKey(parser.getEvent());
+				if (!keys.add(key)) {
+					throw new UnsupportedContentException();
+				}
+				String name = (!StringUtils.hasText(path) ? key
+						: path + (key.startsWith("[") ? "" : ".") + key);
+				loadValue(parser, parser.getEvent(), result, name);
+			}
+			parser.getEvent();
+		}
+
+		private void loadSequence(Parser parser, Map<String, Object> result,
+				String path) {
+			int index = 0;
+			while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+				loadValue(parser, parser.getEvent(), result,
+						path + "[" + (index++) + "]");
+			}
+			parser.getEvent();
+			if (index == 0) {
+				result.put(path, "");
+			}
+		}
+
+		private boolean isNull(Event event) {
+			return event.is(Event.ID.Scalar)
+					&& Tag.NULL.equals(getTag((ScalarEvent) event));
+		}
+
+		private String getKey(Event event) {
+			if (!event.is(Event.ID.Scalar)) {
+				throw new UnsupportedContentException();
+			}
+			ScalarEvent scalar = (ScalarEvent) event;
+			if (!Tag.STR.equals(getTag(scalar))
+					|| !StringUtils.hasText(scalar.getValue())) {
+				throw new UnsupportedContentException();
+			}
+			return scalar.getValue();
+		}
+
+		private OriginTrackedValue getValue(ScalarEvent event) {
+			Tag tag = getTag(event);
+			Object value = event.getValue();
+			if (!Tag.STR.equals(tag)) {
+				value = this.constructor.construct(new ScalarNode(tag, event.getValue(),
+						event.getStartMark(), event.getEndMark(), event.getStyle()));
+			}
+			Mark mark = event.getStartMark();
+			return this.locations.track((value != null ? value : ""), mark.getLine(),
+					mark.getColumn());
+		}
+
+		private Tag getTag(ScalarEvent event) {
+			String tag = event.getTag();
+			if (tag == null || tag.equals("!")) {
+				return this.resolver.resolve(NodeId.scalar, event.getValue(),
+						event.getImplicit().canOmitTagInPlainScalar());
+			}
+			throw new UnsupportedContentException();
+		}
+
+		private void checkCollectionTag(Event event) {
+			CollectionStartEvent collection = (CollectionStartEvent) event;
+			if (collection.getTag() != null && !collection.getImplicit()) {
+				throw new UnsupportedContentException();
+			}
+		}
+
+	}
+
+	/**
+	 * {@link Constructor} used to create simple non-string scalar values.
+	 */
+	private static class ScalarConstructor extends Constructor {
+
+		public Object construct(ScalarNode node) {
+			Tag tag = node.getTag();
+			if (!Tag.NULL.equals(tag) && !Tag.BOOL.equals(tag) && !Tag.INT.equals(tag)
+					&& !Tag.FLOAT.equals(tag)) {
+				throw new UnsupportedContentException();
+			}
+			return getConstructor(node).construct(node);
+		}
+
+	}
+
+	/**
+	 * Exception thrown when content cannot be flattened directly from parser events.
+	 */
+	private static class UnsupportedContentException extends RuntimeException {
+
+	}
+
 	/**
 	 * {@link Constructor} that tracks property origins.
 	 */
 	private class OriginTrackingConstructor extends Constructor {
 
+		private final TextResourceLocations locations = new TextResourceLocations(
+				OriginTrackedYamlLoader.this.resource);
+
 		@Override
 		protected Object constructObject(Node node) {
 			if (node instanceof ScalarNode) {
@@ -100,21 +285,15 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 		}
 
 		private Object constructTrackedObject(Node node, Object value) {
-			Origin origin = getOrigin(node);
-			return OriginTrackedValue.of(getValue(value), origin);
+			Mark mark = node.getStartMark();
+			return this.locations.track(getValue(value), mark.getLine(),
+					mark.getColumn());
 		}
 
 		private Object getValue(Object value) {
 			return (value != null ? value : "");
 		}
 
-		private Origin getOrigin(Node node) {
-			Mark mark = node.getStartMark();
-			Location location = new Location(mark.getLine(), mark.getColumn());
-			return new TextResourceOrigin(OriginTrackedYamlLoader.this.resource,
-					location);
-		}
-
 	}
 
 	/**
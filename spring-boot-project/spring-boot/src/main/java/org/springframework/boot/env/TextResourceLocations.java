@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.Arrays;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.boot.origin.TextResourceOrigin.Location;
+import org.springframework.core.io.Resource;
+
+/**
+ * Compact store of {@link Location Locations} within a text {@link Resource}. Locations
+ * are held as line and column pairs in a primitive array and {@link TextResourceOrigin}
+ * instances are only created when an {@link OriginTrackedValue} requests its origin.
+ *
+ * @author Madhura Bhave
+ */
+class TextResourceLocations implements OriginLookup<Integer> {
+
+	private final Resource resource;
+
+	private int[] locations = new int[64];
+
+	private int size;
+
+	TextResourceLocations(Resource resource) {
+		this.resource = resource;
+	}
+
+	/**
+	 * Create an {@link OriginTrackedValue} for the given value at the specified location.
+	 * @param value the value
+	 * @param line the zero based line number
+	 * @param column the zero based column number
+	 * @return the origin tracked value
+	 */
+	public OriginTrackedValue track(Object value, int line, int column) {
+		int index = this.size * 2;
+		if (index == this.locations.length) {
+			this.locations = Arrays.copyOf(this.locations, index * 2);
+		}
+		this.locations[index] = line;
+		this.locations[index + 1] = column;
+		return OriginTrackedValue.of(value, this, this.size++);
+	}
+
+	@Override
+	public Origin getOrigin(Integer key) {
+		int index = key * 2;
+		Location location = new Location(this.locations[index],
+				this.locations[index + 1]);
+		return new TextResourceOrigin(this.resource, location);
+	}
+
+}
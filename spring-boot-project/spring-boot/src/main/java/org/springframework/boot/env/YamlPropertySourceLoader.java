@@ -55,7 +55,7 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 		for (int i = 0; i < loaded.size(); i++) {
 			propertySources.add(new OriginTrackedMapPropertySource(
 					name + (loaded.size() != 1 ? " (document #" + i + ")" : ""),
-					loaded.get(i)));
+					Collections.unmodifiableMap(loaded.get(i)), true));
 		}
 		return propertySources;
 	}
@@ -31,11 +31,22 @@ public class OriginTrackedValue implements OriginProvider {
 
 	private final Object value;
 
-	private final Origin origin;
+	private Origin origin;
+
+	private final OriginLookup<Integer> originLookup;
+
+	private final int originKey;
 
 	private OriginTrackedValue(Object value, Origin origin) {
+		this(value, origin, null, 0);
+	}
+
+	private OriginTrackedValue(Object value, Origin origin,
+			OriginLookup<Integer> originLookup, int originKey) {
 		this.value = value;
 		this.origin = origin;
+		this.originLookup = originLookup;
+		this.originKey = originKey;
 	}
 
 	/**
@@ -48,7 +59,12 @@ public class OriginTrackedValue implements OriginProvider {
 
 	@Override
 	public Origin getOrigin() {
-		return this.origin;
+		Origin origin = this.origin;
+		if (origin == null && this.originLookup != null) {
+			origin = this.originLookup.getOrigin(this.originKey);
+			this.origin = origin;
+		}
+		return origin;
 	}
 
 	@Override
@@ -87,19 +103,44 @@ public class OriginTrackedValue implements OriginProvider {
 			return null;
 		}
 		if (value instanceof CharSequence) {
-			return new OriginTrackedCharSequence((CharSequence) value, origin);
+			return new OriginTrackedCharSequence((CharSequence) value, origin, null, 0);
 		}
 		return new OriginTrackedValue(value, origin);
 	}
 
+	/**
+	 * Create an {@link OriginTrackedValue} containing the specified {@code value} and an
+	 * origin that is obtained from the given {@link OriginLookup} the first time that it
+	 * is requested. If the source value implements {@link CharSequence} then so will the
+	 * resulting {@link OriginTrackedValue}.
+	 * @param value the source value
+	 * @param originLookup the lookup used to obtain the origin
+	 * @param originKey the key of the origin in the lookup
+	 * @return an {@link OriginTrackedValue} or {@code null} if the source value was
+	 * {@code null}.
+	 * @since 2.1.0
+	 */
+	public static OriginTrackedValue of(Object value, OriginLookup<Integer> originLookup,
+			int originKey) {
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof CharSequence) {
+			return new OriginTrackedCharSequence((CharSequence) value, null,
+					originLookup, originKey);
+		}
+		return new OriginTrackedValue(value, null, originLookup, originKey);
+	}
+
 	/**
 	 * {@link OriginTrackedValue} for a {@link CharSequence}.
 	 */
 	private static class OriginTrackedCharSequence extends OriginTrackedValue
 			implements CharSequence {
 
-		OriginTrackedCharSequence(CharSequence value, Origin origin) {
-			super(value, origin);
+		OriginTrackedCharSequence(CharSequence value, Origin origin,
+				OriginLookup<Integer> originLookup, int originKey) {
+			super(value, origin, originLookup, originKey);
 		}
 
 		@Override
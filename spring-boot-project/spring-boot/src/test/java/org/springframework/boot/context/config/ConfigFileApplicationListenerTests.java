@@ -18,7 +18,12 @@ package org.springframework.boot.context.config;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -35,15 +41,18 @@ import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.assertj.core.api.Condition;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.origin.OriginLookup;
 import org.springframework.boot.testsupport.rule.OutputCapture;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
@@ -57,6 +66,7 @@ import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.SimpleCommandLinePropertySource;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.test.context.support.TestPropertySourceUtils;
@@ -85,6 +95,9 @@ public class ConfigFileApplicationListenerTests {
 	@Rule
 	public OutputCapture out = new OutputCapture();
 
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
 	private ConfigurableApplicationContext context;
 
 	@After
@@ -892,6 +905,190 @@ public class ConfigFileApplicationListenerTests {
 		assertThat(this.environment.getProperty("value")).isNull();
 	}
 
+	@Test
+	public void loadWhenMultipleProfilesAndLocationsShouldKeepOrder() throws Exception {
+		File first = this.temp.newFolder("first");
+		File second = this.temp.newFolder("second");
+		for (File folder : Arrays.asList(first, second)) {
+			writeProperties(new File(folder, "application.properties"),
+					"spring.profiles.active=dev,other",
+					"the.property=" + folder.getName());
+			writeProperties(new File(folder, "application-dev.properties"),
+					"the.property=" + folder.getName() + "-dev");
+			writeProperties(new File(folder, "application-other.properties"),
+					"other.property=" + folder.getName() + "-other");
+		}
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.config.location=file:" + first + "/,file:" + second + "/");
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		assertThat(getPropertySourceNames(this.environment)).containsSubsequence(
+				getConfigFileName(second, "application-other.properties"),
+				getConfigFileName(first, "application-other.properties"),
+				getConfigFileName(second, "application-dev.properties"),
+				getConfigFileName(first, "application-dev.properties"),
+				getConfigFileName(second, "application.properties"),
+				getConfigFileName(first, "application.properties"));
+		assertThat(this.environment.getProperty("the.property")).isEqualTo("second-dev");
+		assertThat(this.environment.getProperty("other.property"))
+				.isEqualTo("second-other");
+	}
+
+	@Test
+	public void loadWhenMultipleProfilesShouldResolveEachLocationOnce() {
+		Map<String, Integer> resolved = new ConcurrentHashMap<>();
+		this.application.setResourceLoader(new DefaultResourceLoader() {
+
+			@Override
+			public Resource getResource(String location) {
+				resolved.merge(location, 1, Integer::sum);
+				return super.getResource(location);
+			}
+
+		});
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.profiles.active=dev,other");
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		assertThat(this.environment.getProperty("my.property"))
+				.isEqualTo("fromotherpropertiesfile");
+		assertThat(resolved).containsKeys("classpath:/application.properties",
+				"classpath:/application-dev.properties",
+				"file:./config/application-other.yml");
+		assertThat(resolved.values()).containsOnly(1);
+	}
+
+	@Test
+	public void loadWhenSpecificFileShouldOnlyResolveThatFile() {
+		Map<String, Integer> resolved = new ConcurrentHashMap<>();
+		this.application.setResourceLoader(new DefaultResourceLoader() {
+
+			@Override
+			public Resource getResource(String location) {
+				resolved.merge(location, 1, Integer::sum);
+				return super.getResource(location);
+			}
+
+		});
+		String location = "file:src/test/resources/specificlocation.properties";
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.config.location=" + location);
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		assertThat(this.environment.getProperty("the.property"))
+				.isEqualTo("fromspecificlocation");
+		assertThat(resolved).containsOnlyKeys(location);
+	}
+
+	@Test
+	public void snapshotLocationShouldSaveAndRestoreLoadedConfigFiles() {
+		File snapshot = new File(this.temp.getRoot(), "config.snapshot");
+		StandardEnvironment first = createSnapshotEnvironment(snapshot,
+				"spring.config.name=enableprofile");
+		assertThat(snapshot).exists();
+		StandardEnvironment second = createSnapshotEnvironment(snapshot,
+				"spring.config.name=enableprofile");
+		assertThat(second.getActiveProfiles())
+				.containsExactly(first.getActiveProfiles());
+		assertThat(getPropertySourceNames(second))
+				.isEqualTo(getPropertySourceNames(first));
+		assertThat(second.getProperty("my.property"))
+				.isEqualTo(first.getProperty("my.property"));
+		OriginLookup<String> firstSource = getOriginLookup(first,
+				"applicationConfig: [classpath:/enableprofile.properties]");
+		OriginLookup<String> secondSource = getOriginLookup(second,
+				"applicationConfig: [classpath:/enableprofile.properties]");
+		assertThat(secondSource.getOrigin("my.property").toString())
+				.isEqualTo(firstSource.getOrigin("my.property").toString());
+	}
+
+	@Test
+	public void snapshotLocationShouldOnlyBeReadableByOwner() throws Exception {
+		Assume.assumeTrue(this.temp.getRoot().toPath().getFileSystem()
+				.supportedFileAttributeViews().contains("posix"));
+		File snapshot = new File(this.temp.getRoot(), "config.snapshot");
+		createSnapshotEnvironment(snapshot, "spring.config.name=enableprofile");
+		assertThat(Files.getPosixFilePermissions(snapshot.toPath())).containsOnly(
+				PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+	}
+
+	@Test
+	public void snapshotLocationWhenConfigFileChangedWithSameSizeShouldReloadFile()
+			throws Exception {
+		File config = this.temp.newFolder("config");
+		File file = new File(config, "application.properties");
+		writeProperties(file, "the.property=fromfile1");
+		long lastModified = file.lastModified();
+		File snapshot = new File(this.temp.getRoot(), "config.snapshot");
+		String location = "spring.config.location=file:" + config + "/";
+		createSnapshotEnvironment(snapshot, location);
+		writeProperties(file, "the.property=fromfile2");
+		file.setLastModified(lastModified + 2000);
+		StandardEnvironment environment = createSnapshotEnvironment(snapshot, location);
+		assertThat(environment.getProperty("the.property")).isEqualTo("fromfile2");
+	}
+
+	@Test
+	public void snapshotLocationWhenConfigFileChangedShouldReloadFile()
+			throws Exception {
+		File config = this.temp.newFolder("config");
+		File file = new File(config, "application.properties");
+		writeProperties(file, "the.property=fromfile");
+		File snapshot = new File(this.temp.getRoot(), "config.snapshot");
+		String location = "spring.config.location=file:" + config + "/";
+		createSnapshotEnvironment(snapshot, location);
+		writeProperties(file, "the.property=fromchangedfile");
+		StandardEnvironment environment = createSnapshotEnvironment(snapshot, location);
+		assertThat(environment.getProperty("the.property"))
+				.isEqualTo("fromchangedfile");
+	}
+
+	@Test
+	public void snapshotLocationWhenConfigFileAddedShouldReloadFiles()
+			throws Exception {
+		File config = this.temp.newFolder("config");
+		writeProperties(new File(config, "application.properties"),
+				"spring.profiles.active=dev", "the.property=fromfile");
+		File snapshot = new File(this.temp.getRoot(), "config.snapshot");
+		String location = "spring.config.location=file:" + config + "/";
+		createSnapshotEnvironment(snapshot, location);
+		writeProperties(new File(config, "application-dev.properties"),
+				"the.property=fromdevfile");
+		StandardEnvironment environment = createSnapshotEnvironment(snapshot, location);
+		assertThat(environment.getProperty("the.property")).isEqualTo("fromdevfile");
+	}
+
+	private StandardEnvironment createSnapshotEnvironment(File snapshot,
+			String... properties) {
+		StandardEnvironment environment = new StandardEnvironment();
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(environment,
+				properties);
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(environment,
+				"spring.config.snapshot-location=" + snapshot);
+		new ConfigFileApplicationListener().postProcessEnvironment(environment,
+				this.application);
+		return environment;
+	}
+
+	private List<String> getPropertySourceNames(ConfigurableEnvironment environment) {
+		return StreamSupport.stream(environment.getPropertySources().spliterator(), false)
+				.map(org.springframework.core.env.PropertySource::getName)
+				.collect(Collectors.toList());
+	}
+
+	@SuppressWarnings("unchecked")
+	private OriginLookup<String> getOriginLookup(ConfigurableEnvironment environment,
+			String name) {
+		return (OriginLookup<String>) environment.getPropertySources().get(name);
+	}
+
+	private String getConfigFileName(File folder, String name) {
+		return "applicationConfig: [file:" + folder + "/" + name + "]";
+	}
+
+	private void writeProperties(File file, String... lines) throws IOException {
+		try (Writer writer = new FileWriter(file)) {
+			writer.write(String.join("\n", lines));
+		}
+	}
+
 	private Condition<ConfigurableEnvironment> matchingPropertySource(
 			final String sourceName) {
 		return new Condition<ConfigurableEnvironment>(
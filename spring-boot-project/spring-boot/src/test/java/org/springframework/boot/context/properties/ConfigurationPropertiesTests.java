@@ -48,6 +48,7 @@ import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.GenericBeanDefinition;
 import org.springframework.boot.context.properties.bind.BindException;
 import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
 import org.springframework.boot.testsupport.rule.OutputCapture;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -762,6 +763,50 @@ public class ConfigurationPropertiesTests {
 		load(PersonProperties.class, "test=boot");
 	}
 
+	@Test
+	public void rebindShouldRebindAffectedBeans() {
+		load(MultiplePrefixPropertiesDeclaredAsAnnotationValueConfiguration.class,
+				"spring.foo.name=foo", "spring.bar.name=bar");
+		PrefixProperties bean1 = this.context.getBean(PrefixProperties.class);
+		AnotherPrefixProperties bean2 = this.context
+				.getBean(AnotherPrefixProperties.class);
+		addFirst("spring.foo.name=updated-foo", "spring.bar.name=updated-bar");
+		Set<String> rebound = rebind("spring.foo.name");
+		assertThat(rebound).containsExactly(
+				"spring.foo-" + PrefixProperties.class.getName());
+		assertThat(((BasicProperties) bean1).name).isEqualTo("updated-foo");
+		assertThat(((BasicProperties) bean2).name).isEqualTo("bar");
+	}
+
+	@Test
+	public void rebindShouldOnlyRebindChangedProperties() {
+		load(NestedConfiguration.class, "name=foo", "nested.name=bar");
+		NestedProperties bean = this.context.getBean(NestedProperties.class);
+		addFirst("name=updated-foo", "nested.name=updated-bar");
+		assertThat(rebind("nested.name")).hasSize(1);
+		assertThat(bean.name).isEqualTo("foo");
+		assertThat(bean.nested.name).isEqualTo("updated-bar");
+	}
+
+	@Test
+	public void rebindShouldRebindCollectionsInFull() {
+		load(BasicConfiguration.class, "name=foo", "list=1,2,3");
+		BasicProperties bean = this.context.getBean(BasicProperties.class);
+		addFirst("list[0]=4", "list[1]=5");
+		rebind("list[1]");
+		assertThat(bean.getList()).containsExactly(4, 5);
+	}
+
+	@Test
+	public void rebindWhenIgnoreUnknownFieldsIsFalseShouldFailOnUnknownFields() {
+		removeSystemProperties();
+		load(IgnoreUnknownFieldsFalseConfiguration.class, "name=foo");
+		addFirst("name=updated-foo", "bar=baz");
+		this.thrown.expect(ConfigurationPropertiesBindException.class);
+		this.thrown.expectCause(Matchers.instanceOf(BindException.class));
+		rebind("name");
+	}
+
 	private AnnotationConfigApplicationContext load(Class<?> configuration,
 			String... inlinedProperties) {
 		return load(new Class<?>[] { configuration }, inlinedProperties);
@@ -787,6 +832,25 @@ public class ConfigurationPropertiesTests {
 		sources.remove("systemEnvironment");
 	}
 
+	private void addFirst(String... pairs) {
+		Map<String, Object> source = new LinkedHashMap<>();
+		for (String pair : pairs) {
+			String[] split = StringUtils.split(pair, "=");
+			source.put(split[0], split[1]);
+		}
+		this.context.getEnvironment().getPropertySources()
+				.addFirst(new MapPropertySource("changed", source));
+	}
+
+	private Set<String> rebind(String... changedNames) {
+		List<ConfigurationPropertyName> names = new ArrayList<>();
+		for (String changedName : changedNames) {
+			names.add(ConfigurationPropertyName.of(changedName));
+		}
+		return this.context.getBean(ConfigurationPropertiesBindingPostProcessor.class)
+				.rebind(names);
+	}
+
 	private void resetContext() {
 		this.context.close();
 		this.context = new AnnotationConfigApplicationContext();
@@ -36,6 +36,7 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.MockConfigurationPropertySource;
 import org.springframework.boot.convert.Delimiter;
+import org.springframework.core.ResolvableType;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -433,6 +434,35 @@ public class JavaBeanBinderTests {
 		assertThat(bean.getValue()).isEqualTo(123);
 	}
 
+	@Test
+	public void bindToClassWhenSetterThrowsRuntimeExceptionShouldWrapException() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource(
+				"foo.value", "123");
+		this.sources.add(source);
+		this.thrown.expect(BindException.class);
+		this.thrown.expectCause(Matchers.allOf(
+				Matchers.instanceOf(IllegalStateException.class),
+				Matchers.hasProperty("message",
+						Matchers.equalTo("Unable to set value for property value")),
+				Matchers.hasProperty("cause",
+						Matchers.instanceOf(IllegalArgumentException.class))));
+		this.binder.bind("foo", Bindable.of(ExampleWithThrowingSetter.class));
+	}
+
+	@Test
+	public void bindToClassWhenSetterThrowsErrorShouldWrapError() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource(
+				"foo.value", "123");
+		this.sources.add(source);
+		this.thrown.expect(BindException.class);
+		this.thrown.expectCause(Matchers.allOf(
+				Matchers.instanceOf(IllegalStateException.class),
+				Matchers.hasProperty("message",
+						Matchers.equalTo("Unable to set value for property value")),
+				Matchers.hasProperty("cause", Matchers.instanceOf(ExampleError.class))));
+		this.binder.bind("foo", Bindable.of(ExampleWithErrorSetter.class));
+	}
+
 	@Test
 	public void bindToClassWithSelfReferenceShouldBind() {
 		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
@@ -498,6 +528,52 @@ public class JavaBeanBinderTests {
 		assertThat(bean.getCounter()).isEqualTo(42);
 	}
 
+	@Test
+	public void bindToClassMultipleTimesShouldBindEachInstance() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.int-value", "12");
+		source.put("bar.int-value", "34");
+		this.sources.add(source);
+		ExampleValueBean foo = this.binder
+				.bind("foo", Bindable.of(ExampleValueBean.class)).get();
+		ExampleValueBean bar = this.binder
+				.bind("bar", Bindable.of(ExampleValueBean.class)).get();
+		assertThat(foo).isNotSameAs(bar);
+		assertThat(foo.getIntValue()).isEqualTo(12);
+		assertThat(bar.getIntValue()).isEqualTo(34);
+	}
+
+	@Test
+	public void bindToGenericClassShouldResolvePropertyTypesForEachBindable() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.value", "0042");
+		this.sources.add(source);
+		ResolvableType integerType = ResolvableType
+				.forClassWithGenerics(GenericBean.class, Integer.class);
+		ResolvableType stringType = ResolvableType
+				.forClassWithGenerics(GenericBean.class, String.class);
+		GenericBean<?> integerBean = this.binder
+				.bind("foo", Bindable.<GenericBean<?>>of(integerType)).get();
+		GenericBean<?> stringBean = this.binder
+				.bind("foo", Bindable.<GenericBean<?>>of(stringType)).get();
+		assertThat(integerBean.getValue()).isEqualTo(42);
+		assertThat(stringBean.getValue()).isEqualTo("0042");
+	}
+
+	public static class GenericBean<T> {
+
+		private T value;
+
+		public T getValue() {
+			return this.value;
+		}
+
+		public void setValue(T value) {
+			this.value = value;
+		}
+
+	}
+
 	public static class ExampleValueBean {
 
 		private int intValue;
@@ -789,6 +865,35 @@ public class JavaBeanBinderTests {
 
 	}
 
+	public static class ExampleWithThrowingSetter {
+
+		public int getValue() {
+			return 0;
+		}
+
+		public void setValue(int value) {
+			throw new IllegalArgumentException("Invalid value");
+		}
+
+	}
+
+	public static class ExampleWithErrorSetter {
+
+		public int getValue() {
+			return 0;
+		}
+
+		public void setValue(int value) {
+			throw new ExampleError();
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	static class ExampleError extends Error {
+
+	}
+
 	public static class ExampleWithThrowingGetters {
 
 		private int value;
@@ -304,6 +304,33 @@ public class ConfigurationPropertyNameTests {
 		assertThat(name.getNumberOfElements()).isEqualTo(3);
 	}
 
+	@Test
+	public void ofShouldReturnSameInstanceForSameName() {
+		assertThat(ConfigurationPropertyName.of("foo.cached-name[0]"))
+				.isSameAs(ConfigurationPropertyName.of("foo.cached-name[0]"));
+	}
+
+	@Test
+	public void adaptShouldShareInstanceWithOf() {
+		ConfigurationPropertyName name = ConfigurationPropertyName
+				.of("foo.shared.name");
+		assertThat(ConfigurationPropertyName.adapt("foo.shared.name", '.'))
+				.isSameAs(name);
+		assertThat(ConfigurationPropertyName.adapt("FOO_SHARED_NAME", '_',
+				(value) -> value.toString().toLowerCase())).isSameAs(name);
+	}
+
+	@Test
+	public void adaptWhenNameIsNotCanonicalShouldNotShareInstance() {
+		ConfigurationPropertyName name = ConfigurationPropertyName
+				.adapt("foo.Uncached_Name", '.');
+		assertThat(name.getElement(1, Form.ORIGINAL)).isEqualTo("Uncached_Name");
+		assertThat(ConfigurationPropertyName.adapt("foo.Uncached_Name", '.'))
+				.isNotSameAs(name);
+		this.thrown.expect(InvalidConfigurationPropertyNameException.class);
+		ConfigurationPropertyName.of("foo.Uncached_Name");
+	}
+
 	@Test
 	public void isEmptyWhenEmptyShouldReturnTrue() {
 		assertThat(ConfigurationPropertyName.of("").isEmpty()).isTrue();
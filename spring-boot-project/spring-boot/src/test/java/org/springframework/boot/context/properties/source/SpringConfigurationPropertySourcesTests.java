@@ -16,8 +16,10 @@
 
 package org.springframework.boot.context.properties.source;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -165,6 +167,27 @@ public class SpringConfigurationPropertySourcesTests {
 		assertThat(configurationSources.iterator()).hasSize(2);
 	}
 
+	@Test
+	public void shouldReuseAdaptedSourcesWhenUnchanged() {
+		MutablePropertySources sources = new MutablePropertySources();
+		sources.addLast(new MapPropertySource("test1",
+				Collections.singletonMap("a", "b")));
+		sources.addLast(new MapPropertySource("test2",
+				Collections.singletonMap("b", "c")));
+		SpringConfigurationPropertySources configurationSources = new SpringConfigurationPropertySources(
+				sources);
+		List<ConfigurationPropertySource> first = new ArrayList<>();
+		configurationSources.forEach(first::add);
+		List<ConfigurationPropertySource> second = new ArrayList<>();
+		configurationSources.forEach(second::add);
+		assertThat(second).hasSize(2);
+		assertThat(second.get(0)).isSameAs(first.get(0));
+		assertThat(second.get(1)).isSameAs(first.get(1));
+		sources.remove("test1");
+		assertThat(configurationSources.iterator().next())
+				.isSameAs(first.get(1));
+	}
+
 	@Test
 	public void shouldTrackWhenSourceHasIdenticalName() {
 		MutablePropertySources sources = new MutablePropertySources();
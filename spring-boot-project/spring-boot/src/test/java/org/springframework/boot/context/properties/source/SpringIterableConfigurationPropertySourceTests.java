@@ -16,6 +16,7 @@
 
 package org.springframework.boot.context.properties.source;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -23,11 +24,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
 import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginLookup;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -157,6 +161,124 @@ public class SpringIterableConfigurationPropertySourceTests {
 				.isEqualTo(ConfigurationPropertyState.ABSENT);
 	}
 
+	@Test
+	public void getValueWhenMultipleMappingsShouldUseFirstMatch() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1", "value1");
+		source.put("key2", "value2");
+		EnumerablePropertySource<?> propertySource = new MapPropertySource("test",
+				source);
+		TestPropertyMapper mapper = new TestPropertyMapper();
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("my.key");
+		mapper.addFromPropertySource("key1", "my.key");
+		mapper.addFromPropertySource("key2", "my.key");
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, mapper);
+		assertThat(adapter.getConfigurationProperty(name).getValue())
+				.isEqualTo("value1");
+		source.remove("key1");
+		assertThat(adapter.getConfigurationProperty(name).getValue())
+				.isEqualTo("value2");
+	}
+
+	@Test
+	public void getValueWhenMapSourceChangesShouldReflectChange() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1", "value1");
+		EnumerablePropertySource<?> propertySource = new MapPropertySource("test",
+				source);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.getConfigurationProperty(
+				ConfigurationPropertyName.of("key2"))).isNull();
+		source.put("key2", "value2");
+		assertThat(adapter.getConfigurationProperty(ConfigurationPropertyName.of("key2"))
+				.getValue()).isEqualTo("value2");
+		assertThat(adapter.iterator()).extracting(Object::toString)
+				.containsExactly("key1", "key2");
+	}
+
+	@Test
+	public void getValueWhenMutableOriginTrackedSourceChangesShouldReflectChange() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1", "value1");
+		EnumerablePropertySource<?> propertySource = new OriginTrackedMapPropertySource(
+				"test", source);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.iterator()).extracting(Object::toString)
+				.containsExactly("key1");
+		source.put("key2", "value2");
+		assertThat(adapter.iterator()).extracting(Object::toString)
+				.containsExactly("key1", "key2");
+	}
+
+	@Test
+	public void getValueWhenImmutableSourceShouldUseCachedMappings() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1", "value1");
+		EnumerablePropertySource<?> propertySource = new OriginTrackedMapPropertySource(
+				"test", source, true);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.iterator()).extracting(Object::toString)
+				.containsExactly("key1");
+		source.put("key2", "value2");
+		assertThat(adapter.iterator()).extracting(Object::toString)
+				.containsExactly("key1");
+	}
+
+	@Test
+	public void getValueWhenImmutableSourceShouldCacheLookups() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1.a", "value1");
+		EnumerablePropertySource<?> propertySource = new OriginTrackedMapPropertySource(
+				"test", source, true);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("key1.a");
+		ConfigurationProperty property = adapter.getConfigurationProperty(name);
+		assertThat(property.getValue()).isEqualTo("value1");
+		assertThat(adapter.getConfigurationProperty(name)).isSameAs(property);
+		assertThat(adapter.getConfigurationProperty(ConfigurationPropertyName.of("key2")))
+				.isNull();
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("key1")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("key2")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+	}
+
+	@Test
+	public void containsDescendantOfWhenMapSourceChangesShouldReflectChange() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1.a", "value1");
+		EnumerablePropertySource<?> propertySource = new MapPropertySource("test",
+				source);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("key2");
+		assertThat(adapter.containsDescendantOf(name))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		source.put("key2.a", "value2");
+		assertThat(adapter.containsDescendantOf(name))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+	}
+
+	@Test
+	public void getValueWhenUnmodifiableSystemEnvironmentShouldCacheLookups() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("KEY1_A", "value1");
+		EnumerablePropertySource<?> propertySource = new SystemEnvironmentPropertySource(
+				StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+				Collections.unmodifiableMap(source));
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, SystemEnvironmentPropertyMapper.INSTANCE);
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("key1.a");
+		ConfigurationProperty property = adapter.getConfigurationProperty(name);
+		assertThat(property.getValue()).isEqualTo("value1");
+		assertThat(adapter.getConfigurationProperty(name)).isSameAs(property);
+	}
+
 	/**
 	 * Test {@link PropertySource} that's also an {@link OriginLookup}.
 	 */
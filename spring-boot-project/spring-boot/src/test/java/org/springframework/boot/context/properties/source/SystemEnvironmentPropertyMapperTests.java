@@ -57,6 +57,14 @@ public class SystemEnvironmentPropertyMapperTests extends AbstractPropertyMapper
 				"FOO_THE_BAR");
 	}
 
+	@Test
+	public void mapShouldReuseIndexedMappings() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("server.port");
+		assertThat(getMapper().map(name)).isSameAs(getMapper().map(name));
+		assertThat(getMapper().map("SERVER_PORT"))
+				.isSameAs(getMapper().map("SERVER_PORT"));
+	}
+
 	@Test
 	public void underscoreShouldNotMapToEmptyString() {
 		PropertyMapping[] mappings = getMapper().map("_");
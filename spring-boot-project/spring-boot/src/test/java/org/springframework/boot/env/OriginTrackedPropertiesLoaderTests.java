@@ -248,6 +248,14 @@ public class OriginTrackedPropertiesLoaderTests {
 		assertThat(getValue(value)).isEqualTo("æ×ÈÅÞßáñÀÿ");
 	}
 
+	@Test
+	public void getOriginShouldReturnResourceOrigin() {
+		OriginTrackedValue value = this.properties.get("test");
+		TextResourceOrigin origin = (TextResourceOrigin) value.getOrigin();
+		assertThat(origin.getResource()).isEqualTo(this.resource);
+		assertThat(value.getOrigin()).isSameAs(origin);
+	}
+
 	private Object getValue(OriginTrackedValue value) {
 		return (value != null ? value.getValue() : null);
 	}
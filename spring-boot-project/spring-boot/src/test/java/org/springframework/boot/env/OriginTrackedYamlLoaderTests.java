@@ -20,10 +20,13 @@ import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 import org.springframework.boot.origin.OriginTrackedValue;
 import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 
@@ -37,6 +40,9 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class OriginTrackedYamlLoaderTests {
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	private OriginTrackedYamlLoader loader;
 
 	private List<Map<String, Object>> result;
@@ -117,6 +123,63 @@ public class OriginTrackedYamlLoaderTests {
 		assertThat(getLocation(nullValue)).isEqualTo("28:13");
 	}
 
+	@Test
+	public void processNonStringValues() {
+		OriginTrackedValue employed = getValue("employed");
+		assertThat(employed.getValue()).isEqualTo(true);
+		assertThat(getLocation(employed)).isEqualTo("6:11");
+	}
+
+	@Test
+	public void processWithAliasesAndMergeKeys() {
+		Resource resource = new ByteArrayResource(
+				("base: &base\n  name: test\n" + "copy: *base\n"
+						+ "merged:\n  <<: *base\n  url: example.com\n").getBytes());
+		Map<String, Object> result = new OriginTrackedYamlLoader(resource).load()
+				.get(0);
+		assertThat(result).containsOnlyKeys("base.name", "copy.name", "merged.name",
+				"merged.url");
+		assertThat(getLocation((OriginTrackedValue) result.get("merged.url")))
+				.isEqualTo("6:8");
+	}
+
+	@Test
+	public void processWithNonStringKeys() {
+		Resource resource = new ByteArrayResource("map:\n  1: one\n".getBytes());
+		Map<String, Object> result = new OriginTrackedYamlLoader(resource).load()
+				.get(0);
+		assertThat(result.get("map[1]").toString()).isEqualTo("one");
+	}
+
+	@Test
+	public void processWithDuplicateKeysShouldFail() {
+		Resource resource = new ByteArrayResource(
+				"a:\n  b: 1\na:\n  c: 2\n".getBytes());
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("duplicate key");
+		new OriginTrackedYamlLoader(resource).load();
+	}
+
+	@Test
+	public void processWithTrailingDocumentSeparatorShouldSkipEmptyDocument() {
+		Resource resource = new ByteArrayResource("a: 1\n---\n".getBytes());
+		List<Map<String, Object>> result = new OriginTrackedYamlLoader(resource)
+				.load();
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0)).containsOnlyKeys("a");
+	}
+
+	@Test
+	public void processWithEmptyMiddleDocumentShouldSkipIt() {
+		Resource resource = new ByteArrayResource(
+				"a: 1\n---\n# only a comment\n---\nb: 2\n".getBytes());
+		List<Map<String, Object>> result = new OriginTrackedYamlLoader(resource)
+				.load();
+		assertThat(result).hasSize(2);
+		assertThat(result.get(0)).containsOnlyKeys("a");
+		assertThat(result.get(1)).containsOnlyKeys("b");
+	}
+
 	private OriginTrackedValue getValue(String name) {
 		if (this.result == null) {
 			this.result = this.loader.load();